@@ -0,0 +1,115 @@
+package com.gogidix.centralconfiguration.configserver.benchmark;
+
+import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationData;
+import com.gogidix.centralconfiguration.configserver.domain.port.ConfigurationPort;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Deterministic property maps and an in-memory backend shared by the benchmarks.
+ * Keys look like the usual dotted Spring keys and values mix the types the backends return.
+ */
+final class BenchmarkFixtures {
+
+    private static final String[] GROUPS = {"spring.datasource", "spring.jpa", "management.endpoints", "logging.level",
+        "server.tomcat", "feature.flags", "client.http", "cache.policy"};
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Property map with the given number of keys; the same size always yields the same map.
+     */
+    static Map<String, Object> properties(int size) {
+        Map<String, Object> properties = new HashMap<>(size * 4 / 3 + 1);
+        for (int i = 0; i < size; i++) {
+            String key = GROUPS[i % GROUPS.length] + ".setting" + i;
+            properties.put(key, switch (i % 4) {
+                case 0 -> "value-" + i;
+                case 1 -> i;
+                case 2 -> i % 8 == 2;
+                default -> "jdbc:postgresql://db-" + (i % 16) + ".internal:5432/app" + i;
+            });
+        }
+        return properties;
+    }
+
+    /**
+     * Stored layer with a revision, as the backends return it.
+     */
+    static ConfigurationData data(String application, String profile, Map<String, Object> properties, long revision) {
+        ConfigurationData data = new ConfigurationData(application, profile, properties);
+        data.setRevision(revision);
+        return data;
+    }
+
+    /**
+     * Backend answering from a map, so the benchmarks measure the server and not a database.
+     */
+    static final class InMemoryConfigurationPort implements ConfigurationPort {
+
+        private final ConcurrentMap<String, ConfigurationData> stored = new ConcurrentHashMap<>();
+
+        void put(ConfigurationData data) {
+            stored.put(data.getApplication() + ":" + data.getProfile(), data);
+        }
+
+        @Override
+        public Optional<ConfigurationData> findByApplicationAndProfile(String application, String profile) {
+            return Optional.ofNullable(stored.get(application + ":" + profile));
+        }
+
+        @Override
+        public List<ConfigurationData> findByApplication(String application) {
+            List<ConfigurationData> found = new ArrayList<>();
+            stored.values().forEach(data -> {
+                if (data.getApplication().equals(application)) {
+
+                    found.add(data);
+                }
+            });
+            return found;
+        }
+
+        @Override
+        public void save(ConfigurationData configurationData) {
+            put(configurationData);
+        }
+
+        @Override
+        public long compareAndSave(ConfigurationData configurationData, long expectedRevision) {
+            put(configurationData);
+            return configurationData.getRevision();
+        }
+
+        @Override
+        public void delete(String application, String profile) {
+            stored.remove(application + ":" + profile);
+        }
+
+        @Override
+        public List<String> getAllApplications() {
+            return stored.values().stream().map(ConfigurationData::getApplication).distinct().sorted().toList();
+        }
+
+        @Override
+        public List<String> getProfilesForApplication(String application) {
+            return findByApplication(application).stream().map(ConfigurationData::getProfile).sorted().toList();
+        }
+
+        @Override
+        public void clearCache() {
+        }
+
+        @Override
+        public boolean exists(String application, String profile) {
+            return stored.containsKey(application + ":" + profile);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.gogidix.centralconfiguration.configserver.benchmark;
+
+import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Construction of {@link ConfigurationData}, which compacts the property map, and its equality and hash code.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConfigurationDataBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    private int size;
+
+    private Map<String, Object> properties;
+    private ConfigurationData data;
+    private ConfigurationData sameData;
+
+    @Setup
+    public void setUp() {
+        properties = BenchmarkFixtures.properties(size);
+        data = new ConfigurationData("orders", "dev", properties);
+        sameData = new ConfigurationData("orders", "dev", BenchmarkFixtures.properties(size));
+    }
+
+    @Benchmark
+    public ConfigurationData construct() {
+        return new ConfigurationData("orders", "dev", properties);
+    }
+
+    @Benchmark
+    public boolean equality() {
+        return data.equals(sameData);
+    }
+
+    @Benchmark
+    public int hashCodeOf() {
+        return data.hashCode();
+    }
+}
@@ -0,0 +1,84 @@
+package com.gogidix.centralconfiguration.configserver.benchmark;
+
+import com.gogidix.centralconfiguration.configserver.application.cache.ConfigurationSnapshotCache;
+import com.gogidix.centralconfiguration.configserver.application.cache.DecryptedPropertyCache;
+import com.gogidix.centralconfiguration.configserver.application.cache.NegativeLookupCache;
+import com.gogidix.centralconfiguration.configserver.application.history.ConfigurationChangeLog;
+import com.gogidix.centralconfiguration.configserver.application.merge.ConfigurationMergeEngine;
+import com.gogidix.centralconfiguration.configserver.application.service.ConfigurationService;
+import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationQuery;
+import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ConfigurationService#getConfiguration(ConfigurationQuery)} over an in-memory backend, wired as in the
+ * application: a read served by current snapshots, and a read after a refresh, which reloads every layer.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConfigurationServiceBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    private int size;
+
+    private ConfigurationService configurationService;
+    private ConfigurationSnapshotCache snapshotCache;
+    private ConfigurationQuery query;
+
+    @Setup
+    public void setUp() {
+        BenchmarkFixtures.InMemoryConfigurationPort configurationPort = new BenchmarkFixtures.InMemoryConfigurationPort();
+        configurationPort.put(BenchmarkFixtures.data("orders", "default", BenchmarkFixtures.properties(size), 1L));
+        configurationPort.put(BenchmarkFixtures.data("orders", "dev", Map.of("spring.datasource.setting0", "dev-db"), 1L));
+
+        NegativeLookupCache negativeLookupCache = new NegativeLookupCache();
+        ReflectionTestUtils.setField(negativeLookupCache, "configurationPort", configurationPort);
+        snapshotCache = new ConfigurationSnapshotCache();
+
+        configurationService = new ConfigurationService();
+        ReflectionTestUtils.setField(configurationService, "configurationPort", configurationPort);
+        ReflectionTestUtils.setField(configurationService, "snapshotCache", snapshotCache);
+        ReflectionTestUtils.setField(configurationService, "changeLog", new ConfigurationChangeLog());
+        ReflectionTestUtils.setField(configurationService, "mergeEngine", new ConfigurationMergeEngine());
+        ReflectionTestUtils.setField(configurationService, "negativeLookupCache", negativeLookupCache);
+        ReflectionTestUtils.setField(configurationService, "decryptedPropertyCache", new DecryptedPropertyCache());
+
+        query = new ConfigurationQuery("orders", "dev", "master", true, null);
+        configurationService.getConfiguration(query);
+    }
+
+    @TearDown
+    public void tearDown() {
+        snapshotCache.shutdown();
+    }
+
+    @Benchmark
+    public ConfigurationResult cachedRead() {
+        return configurationService.getConfiguration(query);
+    }
+
+    @Benchmark
+    public ConfigurationResult readAfterRefresh() {
+        snapshotCache.advanceGeneration();
+        return configurationService.getConfiguration(query);
+    }
+}
@@ -0,0 +1,59 @@
+package com.gogidix.centralconfiguration.configserver.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gogidix.centralconfiguration.configserver.adapter.in.web.mapper.ConfigurationMapper;
+import com.gogidix.centralconfiguration.configserver.api.dto.ConfigurationResponse;
+import com.gogidix.centralconfiguration.configserver.domain.model.CompactPropertyMap;
+import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Turning a served result into response bytes: {@link ConfigurationMapper#toApiResponse} and the JSON encoding
+ * of the {@link ConfigurationResponse}, done once per snapshot by the response cache.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResponseEncodingBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    private int size;
+
+    private final ConfigurationMapper configurationMapper = new ConfigurationMapper();
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private ConfigurationResult result;
+    private ConfigurationResponse response;
+
+    @Setup
+    public void setUp() {
+        result = new ConfigurationResult("orders", "dev", "master", "1.0.0",
+            CompactPropertyMap.of(BenchmarkFixtures.properties(size)), null, 1L);
+        response = configurationMapper.toApiResponse(result);
+    }
+
+    @Benchmark
+    public ConfigurationResponse toApiResponse() {
+        return configurationMapper.toApiResponse(result);
+    }
+
+    @Benchmark
+    public byte[] serializeResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,40 @@
+package com.gogidix.centralconfiguration.configserver.adapter.in.bus;
+
+import com.gogidix.centralconfiguration.configserver.adapter.out.bus.ConfigurationInvalidationRemoteEvent;
+import com.gogidix.centralconfiguration.configserver.application.cache.ClusterCacheInvalidator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.bus.ConditionalOnBusEnabled;
+import org.springframework.cloud.bus.ServiceMatcher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bus adapter applying invalidations sent by other nodes to this node's caches.
+ * Events sent by this node are ignored; it applied them before sending.
+ */
+@Component
+@ConditionalOnBusEnabled
+public class BusConfigurationInvalidationListener {
+
+    private static final Logger log = LoggerFactory.getLogger(BusConfigurationInvalidationListener.class);
+
+    @Autowired
+    private ServiceMatcher serviceMatcher;
+
+    @Autowired
+    private ClusterCacheInvalidator clusterCacheInvalidator;
+
+    @EventListener
+    public void onInvalidation(ConfigurationInvalidationRemoteEvent event) {
+        if (serviceMatcher.isFromSelf(event) || !serviceMatcher.isForSelf(event)) {
+
+            return;
+        }
+        if (clusterCacheInvalidator.apply(event.toInvalidation())) {
+
+            log.debug("Applied {} from {}", event.toInvalidation(), event.getOriginService());
+        }
+    }
+}
@@ -0,0 +1,9 @@
+/**
+ * com.gogidix.centralconfiguration.configserver.adapter.in.bus package.
+ *
+ * <p>This package contains components for the com.gogidix.centralconfiguration.configserver.adapter.in.bus module
+ * within the Gogidix ecosystem.</p>
+ *
+ * @since 1.0.0
+ */
+package com.gogidix.centralconfiguration.configserver.adapter.in.bus;
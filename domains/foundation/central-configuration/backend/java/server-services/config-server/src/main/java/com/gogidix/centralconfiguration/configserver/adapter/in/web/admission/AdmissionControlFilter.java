@@ -0,0 +1,199 @@
+package com.gogidix.centralconfiguration.configserver.adapter.in.web.admission;
+
+import com.gogidix.centralconfiguration.configserver.application.cache.NegativeLookupCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sheds load on the configuration API with 429 and {@code Retry-After} once a budget is spent: each application
+ * on {@code /api/config/properties/{application}} has its own token bucket, and {@code POST /api/config/refresh}
+ * shares a stricter one. Runs after authentication, so anonymous callers cannot spend an application's budget.
+ * Paths are matched decoded, and only applications known to storage get their own bucket; names never stored
+ * share one, so made-up or re-encoded names can neither mint fresh budgets nor crowd out real applications.
+ */
+@Component
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    static final String PROPERTIES_PREFIX = "/api/config/properties/";
+    static final String REFRESH_PATH = "/api/config/refresh";
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private NegativeLookupCache negativeLookupCache;
+
+    @Value("${config-server.admission.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${config-server.admission.application-rate:50}")
+    private double applicationRate = 50;
+
+    @Value("${config-server.admission.application-burst:100}")
+    private int applicationBurst = 100;
+
+    @Value("${config-server.admission.refresh-rate:0.2}")
+    private double refreshRate = 0.2;
+
+    @Value("${config-server.admission.refresh-burst:2}")
+    private int refreshBurst = 2;
+
+    @Value("${config-server.admission.max-tracked-applications:10000}")
+    private int maxTrackedApplications = 10000;
+
+    private final ConcurrentMap<String, TokenBucket> applicationBuckets = new ConcurrentHashMap<>();
+    private final AtomicLong lastSweep = new AtomicLong(System.nanoTime());
+    private TokenBucket overflowBucket;
+    private TokenBucket unknownBucket;
+    private TokenBucket refreshBucket;
+    private Counter rejectedApplicationRequests;
+    private Counter rejectedRefreshes;
+
+    @PostConstruct
+    public void start() {
+        long now = System.nanoTime();
+        overflowBucket = new TokenBucket(applicationRate, applicationBurst, now);
+        unknownBucket = new TokenBucket(applicationRate, applicationBurst, now);
+        refreshBucket = new TokenBucket(refreshRate, refreshBurst, now);
+        rejectedApplicationRequests = rejectedCounter("application");
+        rejectedRefreshes = rejectedCounter("refresh");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String path = UrlPathHelper.defaultInstance.getPathWithinApplication(request);
+        long wait = 0L;
+        if (REFRESH_PATH.equals(path) && HttpMethod.POST.matches(request.getMethod())) {
+
+            wait = refreshBucket.tryAcquire(System.nanoTime());
+            if (wait > 0) {
+
+                rejectedRefreshes.increment();
+            }
+        } else if (path.startsWith(PROPERTIES_PREFIX)) {
+            String application = application(path);
+            if (application != null) {
+
+                wait = admit(application);
+            }
+        }
+        if (wait > 0) {
+
+            reject(response, wait);
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    /**
+     * Charge one request to an application's budget; returns 0 when admitted, otherwise the nanoseconds until
+     * a token is available. Batch lookups pass the filter as one request, so each of their items is charged here.
+     */
+    public long admit(String application) {
+        if (!enabled) {
+
+            return 0L;
+        }
+        long now = System.nanoTime();
+        long wait = applicationBucket(application, now).tryAcquire(now);
+        if (wait > 0) {
+
+            rejectedApplicationRequests.increment();
+        }
+        return wait;
+    }
+
+    /**
+     * Whole seconds a client should wait before retrying, at least one.
+     */
+    public static long retryAfterSeconds(long waitNanos) {
+        return Math.max(1L, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    int getTrackedApplications() {
+        return applicationBuckets.size();
+    }
+
+    /**
+     * Application segment of a properties path; batch lookups are charged per item through {@link #admit}.
+     */
+    private static String application(String path) {
+        int end = path.indexOf('/', PROPERTIES_PREFIX.length());
+        String application = end < 0 ? path.substring(PROPERTIES_PREFIX.length())
+            : path.substring(PROPERTIES_PREFIX.length(), end);
+        return application.isEmpty() || "batch".equals(application) ? null : application;
+    }
+
+    /**
+     * Bucket of an application; names never stored share one bucket. Once the tracked limit is reached, full
+     * buckets are dropped at most once a second and applications that still find no room share another.
+     */
+    private TokenBucket applicationBucket(String application, long now) {
+        TokenBucket bucket = applicationBuckets.get(application);
+        if (bucket != null) {
+
+            return bucket;
+        }
+        if (!negativeLookupCache.mightExist(application)) {
+
+            return unknownBucket;
+        }
+        if (applicationBuckets.size() >= maxTrackedApplications) {
+
+            long swept = lastSweep.get();
+            if (now - swept >= SWEEP_INTERVAL_NANOS && lastSweep.compareAndSet(swept, now)) {
+                applicationBuckets.values().removeIf(candidate -> candidate.isIdle(now));
+            }
+            if (applicationBuckets.size() >= maxTrackedApplications) {
+
+                return overflowBucket;
+            }
+        }
+        return applicationBuckets.computeIfAbsent(application,
+            key -> new TokenBucket(applicationRate, applicationBurst, now));
+    }
+
+    private void reject(HttpServletResponse response, long waitNanos) throws IOException {
+        long seconds = retryAfterSeconds(waitNanos);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(seconds));
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write("Request rate exceeded; retry after " + seconds + "s");
+    }
+
+    private Counter rejectedCounter(String budget) {
+        return Counter.builder("config.requests.rejected")
+            .description("Configuration API requests shed by admission control")
+            .tag("budget", budget)
+            .register(meterRegistry);
+    }
+}
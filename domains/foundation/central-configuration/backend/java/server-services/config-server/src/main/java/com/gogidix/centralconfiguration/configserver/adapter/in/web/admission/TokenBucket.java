@@ -0,0 +1,48 @@
+package com.gogidix.centralconfiguration.configserver.adapter.in.web.admission;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket kept as a single theoretical arrival time (the generic cell rate algorithm):
+ * a request is admitted while that time is at most {@code burst - 1} intervals ahead of now, and admitting it
+ * moves the time one interval further. Each decision is one compare-and-set; there are no refill threads.
+ */
+final class TokenBucket {
+
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final AtomicLong theoreticalArrival;
+
+    // Constructor
+    TokenBucket(double permitsPerSecond, int burst, long now) {
+        this.intervalNanos = Math.max(1L, (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond));
+        this.toleranceNanos = (Math.max(1, burst) - 1) * intervalNanos;
+        this.theoreticalArrival = new AtomicLong(now);
+    }
+
+    /**
+     * Take a token at {@code now}; returns 0 when admitted, otherwise the nanoseconds until one is available.
+     */
+    long tryAcquire(long now) {
+        while (true) {
+            long arrival = theoreticalArrival.get();
+            long wait = arrival - toleranceNanos - now;
+            if (wait > 0) {
+
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(arrival, Math.max(arrival, now) + intervalNanos)) {
+
+                return 0L;
+            }
+        }
+    }
+
+    /**
+     * Whether the bucket is full again, so dropping it loses nothing.
+     */
+    boolean isIdle(long now) {
+        return theoreticalArrival.get() - now <= 0;
+    }
+}
@@ -0,0 +1,59 @@
+package com.gogidix.centralconfiguration.configserver.adapter.in.web.cache;
+
+import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationResult;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encoded JSON body of a configuration response for one snapshot.
+ * The gzip variant is produced on first request and then reused.
+ */
+public final class SerializedResponse {
+
+    private final ConfigurationResult source;
+    private final byte[] json;
+    private volatile byte[] gzip;
+
+    // Constructor
+    SerializedResponse(ConfigurationResult source, byte[] json) {
+        this.source = source;
+        this.json = json;
+    }
+
+    // Business logic methods
+    boolean isFor(ConfigurationResult result) {
+        return source == result;
+    }
+
+    public byte[] getGzip() {
+        byte[] encoded = gzip;
+        if (encoded == null) {
+
+            encoded = compress(json);
+            gzip = encoded;
+        }
+        return encoded;
+    }
+
+    private static byte[] compress(byte[] content) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, content.length / 4));
+        try (GZIPOutputStream gzipOut = new GZIPOutputStream(out)) {
+            gzipOut.write(content);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to gzip configuration response", e);
+        }
+        return out.toByteArray();
+    }
+
+    // Getters (immutable)
+    public ConfigurationResult getSource() {
+        return source;
+    }
+
+    public byte[] getJson() {
+        return json;
+    }
+}
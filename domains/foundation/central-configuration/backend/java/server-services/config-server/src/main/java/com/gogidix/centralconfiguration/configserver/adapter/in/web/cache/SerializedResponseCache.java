@@ -0,0 +1,91 @@
+package com.gogidix.centralconfiguration.configserver.adapter.in.web.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gogidix.centralconfiguration.configserver.adapter.in.web.mapper.ConfigurationMapper;
+import com.gogidix.centralconfiguration.configserver.domain.event.ConfigurationChangedEvent;
+import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationResult;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Cache of fully encoded configuration responses keyed by configuration key.
+ * An entry is only reused for the exact snapshot it was encoded from, so it is
+ * invalidated together with the snapshot and its revision. Entries of a changed application are dropped,
+ * and the map is bounded, so deleted or one-off keys do not keep their bytes.
+ */
+@Component
+public class SerializedResponseCache {
+
+    @Value("${config-server.response-cache.max-entries:4096}")
+    private int maxEntries = 4096;
+
+    private final ObjectMapper objectMapper;
+    private final ConfigurationMapper configurationMapper;
+    private final ConcurrentMap<String, SerializedResponse> responses = new ConcurrentHashMap<>();
+
+    // Constructor
+    public SerializedResponseCache(ObjectMapper objectMapper, ConfigurationMapper configurationMapper) {
+        this.objectMapper = objectMapper;
+        this.configurationMapper = configurationMapper;
+    }
+
+    /**
+     * Get the encoded response for a snapshot, encoding it once per snapshot.
+     */
+    public SerializedResponse get(String key, ConfigurationResult result) {
+        SerializedResponse cached = responses.get(key);
+        if (cached != null && cached.isFor(result)) {
+
+            return cached;
+        }
+
+        SerializedResponse encoded = new SerializedResponse(result, encode(result));
+        if (cached == null && responses.size() >= maxEntries) {
+
+            // Clients rotating keys would otherwise grow the map; dropping everything avoids LRU bookkeeping
+            responses.clear();
+        }
+        responses.put(key, encoded);
+        return encoded;
+    }
+
+    /**
+     * Encode a one-off response, such as a filtered subtree, without caching it.
+     */
+    public SerializedResponse encodeUncached(ConfigurationResult result) {
+        return new SerializedResponse(result, encode(result));
+    }
+
+    /**
+     * Drop the responses of changed applications, or every response when anything may have changed.
+     */
+    @EventListener
+    public void onConfigurationChanged(ConfigurationChangedEvent event) {
+        if (event.isAll()) {
+
+            responses.clear();
+            return;
+        }
+        for (ConfigurationChangedEvent.Target target : event.getTargets()) {
+            String prefix = target.getApplication() + ":";
+            responses.keySet().removeIf(key -> key.startsWith(prefix));
+        }
+    }
+
+    public int size() {
+        return responses.size();
+    }
+
+    private byte[] encode(ConfigurationResult result) {
+        try {
+            return objectMapper.writeValueAsBytes(configurationMapper.toApiResponse(result));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to encode configuration response for " + result, e);
+        }
+    }
+}
@@ -1,12 +1,19 @@
 package com.gogidix.centralconfiguration.configserver.adapter.in.web.mapper;
 
+import com.gogidix.centralconfiguration.configserver.api.dto.ConfigurationDeltaResponse;
 import com.gogidix.centralconfiguration.configserver.api.dto.ConfigurationRequest;
 import com.gogidix.centralconfiguration.configserver.api.dto.ConfigurationResponse;
+import com.gogidix.centralconfiguration.configserver.api.dto.ConfigurationUpdateRequest;
+import com.gogidix.centralconfiguration.configserver.api.dto.PropertySearchResponse;
+import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationDelta;
 import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationQuery;
 import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationResult;
 import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationData;
+import com.gogidix.centralconfiguration.configserver.domain.model.PropertyKeyMatch;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+
 /**
  * Adapter mapper to convert between API DTOs and domain models.
  * Handles the translation layer between external API and internal domain.
@@ -46,6 +53,8 @@ public class ConfigurationMapper {
         response.setProfile(result.getProfile());
         response.setLabel(result.getLabel());
         response.setVersion(result.getVersion());
+        response.setRevision(result.getRevision());
+        response.setStoredRevision(result.getStoredRevision());
         response.setProperties(result.getProperties());
         response.setTimestamp(result.getTimestamp());
         response.setServerInfo(result.getServerInfo());
@@ -53,6 +62,54 @@ public class ConfigurationMapper {
         return response;
     }
 
+    /**
+     * Convert domain delta to API delta response DTO.
+     */
+    public ConfigurationDeltaResponse toApiDeltaResponse(ConfigurationDelta delta) {
+        if (delta == null) {
+        
+            return null;
+        }
+        
+        ConfigurationResult current = delta.getCurrent();
+        ConfigurationDeltaResponse response = new ConfigurationDeltaResponse();
+        response.setApplication(current.getApplication());
+        response.setProfile(current.getProfile());
+        response.setLabel(current.getLabel());
+        response.setFromRevision(delta.getFromRevision());
+        response.setRevision(delta.getRevision());
+        response.setFull(delta.isFull());
+        response.setTimestamp(current.getTimestamp());
+        if (delta.isFull()) {
+        
+            response.setProperties(current.getProperties());
+        } else {
+            response.setAdded(delta.getAdded());
+            response.setChanged(delta.getChanged());
+            response.setRemoved(new ArrayList<>(delta.getRemoved()));
+        }
+        
+        return response;
+    }
+
+    /**
+     * Convert domain key search hit to API search response DTO.
+     */
+    public PropertySearchResponse toApiSearchResponse(PropertyKeyMatch match) {
+        if (match == null) {
+        
+            return null;
+        }
+        
+        PropertySearchResponse response = new PropertySearchResponse();
+        response.setApplication(match.getApplication());
+        response.setProfile(match.getProfile());
+        response.setLabel(match.getLabel());
+        response.setKeys(match.getKeys());
+        
+        return response;
+    }
+
     /**
      * Convert API request to domain configuration data.
      */
@@ -72,14 +129,44 @@ public class ConfigurationMapper {
         return data;
     }
 
+    /**
+     * Convert an API update request to domain configuration data.
+     */
+    public ConfigurationData toDomainData(ConfigurationUpdateRequest request) {
+        if (request == null) {
+        
+            return null;
+        }
+        
+        ConfigurationData data = new ConfigurationData(
+            request.getApplication(),
+            request.getProfile(),
+            request.getProperties()
+        );
+        data.setLabel(request.getLabel());
+        if (request.getVersion() != null) {
+
+            data.setVersion(request.getVersion());
+        }
+        
+        return data;
+    }
+
     /**
      * Create domain query from application and profile.
      */
     public ConfigurationQuery toDomainQuery(String application, String profile) {
+        return toDomainQuery(application, profile, "master");
+    }
+
+    /**
+     * Create domain query from application, profile and label.
+     */
+    public ConfigurationQuery toDomainQuery(String application, String profile, String label) {
         return new ConfigurationQuery(
             application,
             profile,
-            "master",
+            label,
             true,
             null
         );
@@ -0,0 +1,34 @@
+package com.gogidix.centralconfiguration.configserver.adapter.out.bus;
+
+import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationInvalidation;
+import com.gogidix.centralconfiguration.configserver.domain.port.ConfigurationInvalidationPublisher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.bus.ConditionalOnBusEnabled;
+import org.springframework.cloud.bus.ServiceMatcher;
+import org.springframework.cloud.bus.event.Destination;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bus adapter implementing the invalidation publisher port: each invalidation becomes a
+ * {@link ConfigurationInvalidationRemoteEvent} addressed to every node, which the bus sends through the broker.
+ */
+@Component
+@ConditionalOnBusEnabled
+public class BusConfigurationInvalidationPublisher implements ConfigurationInvalidationPublisher {
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ServiceMatcher serviceMatcher;
+
+    @Autowired
+    private Destination.Factory destinationFactory;
+
+    @Override
+    public void publish(ConfigurationInvalidation invalidation) {
+        eventPublisher.publishEvent(new ConfigurationInvalidationRemoteEvent(
+            this, serviceMatcher.getBusId(), destinationFactory.getDestination(null), invalidation));
+    }
+}
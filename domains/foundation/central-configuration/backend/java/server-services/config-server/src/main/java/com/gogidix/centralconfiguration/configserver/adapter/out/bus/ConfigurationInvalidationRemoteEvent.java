@@ -0,0 +1,72 @@
+package com.gogidix.centralconfiguration.configserver.adapter.out.bus;
+
+import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationInvalidation;
+import org.springframework.cloud.bus.event.Destination;
+import org.springframework.cloud.bus.event.RemoteApplicationEvent;
+
+/**
+ * Bus message carrying a {@link ConfigurationInvalidation} to every config-server node.
+ * A null application marks a full refresh.
+ */
+public class ConfigurationInvalidationRemoteEvent extends RemoteApplicationEvent {
+
+    private String application;
+    private String profile;
+    private String label;
+    private long revision;
+
+    // Constructor for deserialization
+    @SuppressWarnings("unused")
+    private ConfigurationInvalidationRemoteEvent() {
+    }
+
+    // Constructor
+    public ConfigurationInvalidationRemoteEvent(Object source, String originService, Destination destination,
+                                                ConfigurationInvalidation invalidation) {
+        super(source, originService, destination);
+        this.application = invalidation.getApplication();
+        this.profile = invalidation.getProfile();
+        this.label = invalidation.getLabel();
+        this.revision = invalidation.getRevision();
+    }
+
+    // Business logic methods
+    public ConfigurationInvalidation toInvalidation() {
+        return application != null
+            ? new ConfigurationInvalidation(application, profile, label, revision)
+            : ConfigurationInvalidation.all();
+    }
+
+    // Getters and Setters
+    public String getApplication() {
+        return application;
+    }
+
+    public void setApplication(String application) {
+        this.application = application;
+    }
+
+    public String getProfile() {
+        return profile;
+    }
+
+    public void setProfile(String profile) {
+        this.profile = profile;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public void setLabel(String label) {
+        this.label = label;
+    }
+
+    public long getRevision() {
+        return revision;
+    }
+
+    public void setRevision(long revision) {
+        this.revision = revision;
+    }
+}
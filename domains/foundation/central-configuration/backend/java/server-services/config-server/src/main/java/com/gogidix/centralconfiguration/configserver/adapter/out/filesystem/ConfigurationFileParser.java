@@ -0,0 +1,164 @@
+package com.gogidix.centralconfiguration.configserver.adapter.out.filesystem;
+
+import org.yaml.snakeyaml.DumperOptions;
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.constructor.SafeConstructor;
+import org.yaml.snakeyaml.representer.Representer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Reads and writes the YAML and properties files of a native configuration repository as flat property maps.
+ * Nested YAML keys are joined with dots and list items indexed as {@code key[0]}.
+ * Files at or above the mapping threshold are parsed from a memory-mapped buffer instead of being copied to the heap.
+ */
+final class ConfigurationFileParser {
+
+    static final String YAML = ".yml";
+    static final String YAML_LONG = ".yaml";
+    static final String PROPERTIES = ".properties";
+
+    private final long mmapThreshold;
+
+    // Constructor
+    ConfigurationFileParser(long mmapThreshold) {
+        this.mmapThreshold = mmapThreshold;
+    }
+
+    static boolean isSupported(String fileName) {
+        return fileName.endsWith(YAML) || fileName.endsWith(YAML_LONG) || fileName.endsWith(PROPERTIES);
+    }
+
+    /**
+     * Parse a file into a flat property map; multi-document YAML files are merged in document order.
+     */
+    Map<String, Object> parse(Path file) throws IOException {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+             Reader reader = open(channel)) {
+            if (file.getFileName().toString().endsWith(PROPERTIES)) {
+
+                Properties loaded = new Properties();
+                loaded.load(reader);
+                loaded.forEach((key, value) -> properties.put((String) key, value));
+                return properties;
+            }
+            for (Object document : newYaml().loadAll(reader)) {
+                if (document instanceof Map<?, ?> map) {
+
+                    flatten("", map, properties);
+                }
+            }
+        }
+        return properties;
+    }
+
+    /**
+     * Replace a file with the given properties, written to a temporary sibling and moved into place.
+     * The temporary file name starts with a dot, so repository scans ignore it.
+     */
+    void write(Path file, Map<String, Object> properties) throws IOException {
+        Files.createDirectories(file.getParent());
+        Path temporary = file.resolveSibling("." + file.getFileName() + ".tmp");
+        try (Writer writer = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+            if (file.getFileName().toString().endsWith(PROPERTIES)) {
+
+                Properties stored = new Properties();
+                properties.forEach((key, value) -> stored.setProperty(key, value != null ? String.valueOf(value) : ""));
+                stored.store(writer, null);
+            } else {
+                newYaml().dump(new TreeMap<>(properties), writer);
+            }
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private Reader open(FileChannel channel) throws IOException {
+        long size = channel.size();
+        if (size < mmapThreshold || size > Integer.MAX_VALUE) {
+
+            return Channels.newReader(channel, StandardCharsets.UTF_8);
+        }
+        return new InputStreamReader(new BufferInputStream(channel.map(FileChannel.MapMode.READ_ONLY, 0, size)),
+            StandardCharsets.UTF_8);
+    }
+
+    private static Yaml newYaml() {
+        DumperOptions dumperOptions = new DumperOptions();
+        dumperOptions.setDefaultFlowStyle(DumperOptions.FlowStyle.BLOCK);
+        return new Yaml(new SafeConstructor(new LoaderOptions()), new Representer(dumperOptions), dumperOptions);
+    }
+
+    private static void flatten(String prefix, Map<?, ?> source, Map<String, Object> target) {
+        for (Map.Entry<?, ?> entry : source.entrySet()) {
+            String key = prefix.isEmpty() ? String.valueOf(entry.getKey()) : prefix + "." + entry.getKey();
+            flattenValue(key, entry.getValue(), target);
+        }
+    }
+
+    private static void flattenValue(String key, Object value, Map<String, Object> target) {
+        if (value instanceof Map<?, ?> map && !map.isEmpty()) {
+
+            flatten(key, map, target);
+        } else if (value instanceof List<?> list && !list.isEmpty()) {
+            for (int i = 0; i < list.size(); i++) {
+                flattenValue(key + "[" + i + "]", list.get(i), target);
+            }
+        } else if (value instanceof Map<?, ?> || value instanceof List<?>) {
+            target.put(key, "");
+        } else {
+            target.put(key, value);
+        }
+    }
+
+    /**
+     * Stream over a mapped buffer, so the decoder reads the file pages directly.
+     */
+    private static final class BufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        BufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (!buffer.hasRemaining()) {
+
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
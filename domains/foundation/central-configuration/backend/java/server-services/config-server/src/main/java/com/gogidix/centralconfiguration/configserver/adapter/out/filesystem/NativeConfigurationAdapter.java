@@ -0,0 +1,570 @@
+package com.gogidix.centralconfiguration.configserver.adapter.out.filesystem;
+
+import com.gogidix.centralconfiguration.configserver.domain.event.ConfigurationChangedEvent;
+import com.gogidix.centralconfiguration.configserver.domain.event.ConfigurationSourceChangedEvent;
+import com.gogidix.centralconfiguration.configserver.domain.exception.ConfigurationConflictException;
+import com.gogidix.centralconfiguration.configserver.domain.model.CompactPropertyMap;
+import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationData;
+import com.gogidix.centralconfiguration.configserver.domain.port.ConfigurationPort;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
+
+/**
+ * Native adapter implementing the configuration port on a local directory of YAML and properties files,
+ * laid out as {@code {root}/{application}/{profile}.yml} ({@code .yaml} and {@code .properties} also read).
+ * Files are parsed once and held in memory; a {@link WatchService} re-parses only the files that change and
+ * publishes a {@link ConfigurationSourceChangedEvent} for their application and profile, so no global refresh is needed.
+ */
+@Component
+@ConditionalOnProperty(name = "config-server.backend", havingValue = "native")
+public class NativeConfigurationAdapter implements ConfigurationPort {
+
+    private static final Logger log = LoggerFactory.getLogger(NativeConfigurationAdapter.class);
+
+    static final String DEFAULT_LABEL = "master";
+
+    /**
+     * Extensions in precedence order, for when one profile has files of several formats.
+     */
+    private static final List<String> EXTENSIONS = List.of(
+        ConfigurationFileParser.YAML, ConfigurationFileParser.YAML_LONG, ConfigurationFileParser.PROPERTIES);
+
+    private static final Pattern NAME = Pattern.compile("[A-Za-z0-9_][A-Za-z0-9_.-]*");
+
+    private static final int EMPTY_SETTLE_ROUNDS = 5;
+    private static final int MAX_SETTLE_ROUNDS = 40;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${config-server.native.root:config-repo}")
+    private String root = "config-repo";
+
+    @Value("${config-server.native.watch:true}")
+    private boolean watch = true;
+
+    @Value("${config-server.native.settle:50ms}")
+    private Duration settle = Duration.ofMillis(50);
+
+    @Value("${config-server.native.mmap-threshold:1MB}")
+    private DataSize mmapThreshold = DataSize.ofMegabytes(1);
+
+    private final ConcurrentMap<String, StoredFile> files = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Long> retiredRevisions = new ConcurrentHashMap<>();
+    private final Object lock = new Object();
+    private Path rootPath;
+    private ConfigurationFileParser parser;
+    private volatile WatchService watchService;
+
+    @PostConstruct
+    public void start() throws IOException {
+        rootPath = Paths.get(root).toAbsolutePath().normalize();
+        parser = new ConfigurationFileParser(mmapThreshold.toBytes());
+        Files.createDirectories(rootPath);
+        if (watch) {
+
+            watchService = rootPath.getFileSystem().newWatchService();
+            register(rootPath);
+        }
+        scanAll();
+        if (watch) {
+
+            Thread watcher = new Thread(this::watchLoop, "config-watcher");
+            watcher.setDaemon(true);
+            watcher.start();
+        }
+        log.info("Native configuration repository {} holds {} files", rootPath, files.size());
+    }
+
+    @PreDestroy
+    public void shutdown() throws IOException {
+        WatchService service = watchService;
+        if (service != null) {
+
+            service.close();
+        }
+    }
+
+    @Override
+    public Optional<ConfigurationData> findByApplicationAndProfile(String application, String profile) {
+        return Optional.ofNullable(files.get(keyOf(application, profile))).map(StoredFile::toDomain);
+    }
+
+    @Override
+    public List<ConfigurationData> findByApplication(String application) {
+        List<ConfigurationData> found = new ArrayList<>();
+        for (StoredFile file : files.values()) {
+            if (file.application.equals(application)) {
+
+                found.add(file.toDomain());
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public void save(ConfigurationData configurationData) {
+        compareAndSave(configurationData, ConfigurationData.ANY_REVISION);
+    }
+
+    /**
+     * Write the file of an application and profile while its revision matches, keeping the existing file's format.
+     * The file is re-read at once, so the new revision does not wait for the watcher; the watcher then finds it unchanged.
+     */
+    @Override
+    public long compareAndSave(ConfigurationData configurationData, long expectedRevision) {
+        String application = configurationData.getApplication();
+        String profile = configurationData.getProfile();
+        String label = configurationData.getLabel() != null ? configurationData.getLabel() : DEFAULT_LABEL;
+        if (!DEFAULT_LABEL.equals(label)) {
+
+            throw new IllegalArgumentException("Native configuration backend stores only label " + DEFAULT_LABEL);
+        }
+        checkName(application);
+        checkName(profile);
+
+        String key = keyOf(application, profile);
+        synchronized (lock) {
+            StoredFile current = files.get(key);
+            long currentRevision = current != null ? current.revision : ConfigurationData.NO_REVISION;
+            if (expectedRevision != ConfigurationData.ANY_REVISION && expectedRevision != currentRevision) {
+
+                throw new ConfigurationConflictException(key + ":" + label, expectedRevision, currentRevision);
+            }
+            Map<String, Object> properties = configurationData.getProperties() != null ? configurationData.getProperties() : Map.of();
+            if (current != null && current.properties.equals(properties)) {
+
+                return currentRevision;
+            }
+            Path path = current != null ? current.path : rootPath.resolve(application).resolve(profile + ConfigurationFileParser.YAML);
+            try {
+                parser.write(path, properties);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot write configuration file " + path, e);
+            }
+            reload(application, profile);
+            StoredFile stored = files.get(key);
+            return stored != null ? stored.revision : ConfigurationData.NO_REVISION;
+        }
+    }
+
+    @Override
+    public void delete(String application, String profile) {
+        checkName(application);
+        checkName(profile);
+        synchronized (lock) {
+            try {
+                for (String extension : EXTENSIONS) {
+                    Files.deleteIfExists(rootPath.resolve(application).resolve(profile + extension));
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot delete configuration " + keyOf(application, profile), e);
+            }
+            reload(application, profile);
+        }
+    }
+
+    @Override
+    public List<String> getAllApplications() {
+        Set<String> applications = new TreeSet<>();
+        files.values().forEach(file -> applications.add(file.application));
+        return new ArrayList<>(applications);
+    }
+
+    @Override
+    public List<String> getProfilesForApplication(String application) {
+        Set<String> profiles = new TreeSet<>();
+        for (StoredFile file : files.values()) {
+            if (file.application.equals(application)) {
+
+                profiles.add(file.profile);
+            }
+        }
+        return new ArrayList<>(profiles);
+    }
+
+    /**
+     * Rescan the whole repository, picking up changes the watcher may have missed.
+     */
+    @Override
+    public void clearCache() {
+        scanAll();
+    }
+
+    @Override
+    public boolean exists(String application, String profile) {
+        return files.containsKey(keyOf(application, profile));
+    }
+
+    /**
+     * Watcher loop: wait for events, let writers settle, then re-read the files named by every pending event
+     * and announce the ones whose content changed, together.
+     */
+    private void watchLoop() {
+        WatchService service = watchService;
+        while (!Thread.currentThread().isInterrupted()) {
+            List<WatchKey> ready = new ArrayList<>();
+            try {
+                ready.add(service.take());
+                // A save is often several events (create, truncate, write); read the file once they are done
+                Thread.sleep(settle.toMillis());
+                WatchKey next;
+                while ((next = service.poll()) != null) {
+                    ready.add(next);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ClosedWatchServiceException e) {
+                return;
+            }
+
+            Set<ConfigurationChangedEvent.Target> changed = new LinkedHashSet<>();
+            for (WatchKey watchKey : ready) {
+                changed.addAll(process(watchKey));
+            }
+            announce(changed);
+        }
+    }
+
+    private Set<ConfigurationChangedEvent.Target> process(WatchKey watchKey) {
+        Path directory = (Path) watchKey.watchable();
+        Set<ConfigurationChangedEvent.Target> changed = new LinkedHashSet<>();
+        try {
+            for (WatchEvent<?> event : watchKey.pollEvents()) {
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+
+                    // Events were dropped; compare every file instead
+                    changed.addAll(scanAll());
+                    continue;
+                }
+                Path child = directory.resolve((Path) event.context());
+                if (directory.equals(rootPath)) {
+
+                    // An application directory was created, removed or renamed
+                    if (Files.isDirectory(child)) {
+
+                        register(child);
+                    }
+                    changed.addAll(scanApplication(child.getFileName().toString(), true));
+                    continue;
+                }
+                String profile = profileOf(child.getFileName().toString());
+                if (profile != null) {
+
+                    String application = directory.getFileName().toString();
+                    if (!awaitSettled(child)) {
+
+                        break;
+                    }
+                    if (reload(application, profile)) {
+
+                        changed.add(new ConfigurationChangedEvent.Target(application, profile));
+                    }
+                }
+            }
+        } catch (RuntimeException | IOException e) {
+            log.warn("Cannot process changes in configuration directory {}: {}", directory, e.toString());
+        }
+        if (!watchKey.reset() && !directory.equals(rootPath)) {
+
+            changed.addAll(scanApplication(directory.getFileName().toString(), true));
+        }
+        return changed;
+    }
+
+    /**
+     * Wait until a file's size and modification time stay the same for the settle period, so a file caught between
+     * create and write is not read; an empty file must stay empty for longer, as it is usually one just created.
+     * Returns false when interrupted.
+     */
+    private boolean awaitSettled(Path file) {
+        try {
+            FileState previous = FileState.of(file);
+            int stableRounds = 0;
+            for (int round = 0; round < MAX_SETTLE_ROUNDS; round++) {
+                Thread.sleep(settle.toMillis());
+                FileState current = FileState.of(file);
+                stableRounds = current.equals(previous) ? stableRounds + 1 : 0;
+                if (current.missing || (stableRounds > 0 && (current.size > 0 || stableRounds >= EMPTY_SETTLE_ROUNDS))) {
+
+                    return true;
+                }
+                previous = current;
+            }
+            log.warn("Configuration file {} is still changing, reading it anyway", file);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Compare every file of the repository with what is held, returning the application/profile pairs that changed.
+     */
+    private List<ConfigurationChangedEvent.Target> scanAll() {
+        Set<String> applications = new TreeSet<>();
+        files.values().forEach(file -> applications.add(file.application));
+        try (DirectoryStream<Path> directories = Files.newDirectoryStream(rootPath, Files::isDirectory)) {
+            for (Path directory : directories) {
+                applications.add(directory.getFileName().toString());
+                if (watchService != null) {
+
+                    register(directory);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Cannot list configuration repository {}: {}", rootPath, e.toString());
+        }
+
+        List<ConfigurationChangedEvent.Target> changed = new ArrayList<>();
+        for (String application : applications) {
+            changed.addAll(scanApplication(application, false));
+        }
+        return changed;
+    }
+
+    /**
+     * Compare the files of one application directory with what is held; when {@code settled} is set, each file is
+     * first given time for its writer to finish, as for a directory the watcher has just seen created.
+     */
+    private List<ConfigurationChangedEvent.Target> scanApplication(String application, boolean settled) {
+        Set<String> profiles = new TreeSet<>(getProfilesForApplication(application));
+        Path directory = rootPath.resolve(application);
+        if (Files.isDirectory(directory)) {
+
+            try (DirectoryStream<Path> children = Files.newDirectoryStream(directory)) {
+                for (Path child : children) {
+                    String profile = profileOf(child.getFileName().toString());
+                    if (profile != null) {
+
+                        if (settled && !awaitSettled(child)) {
+
+                            break;
+                        }
+                        profiles.add(profile);
+                    }
+                }
+            } catch (IOException e) {
+                log.warn("Cannot list configuration directory {}: {}", directory, e.toString());
+            }
+        }
+
+        List<ConfigurationChangedEvent.Target> changed = new ArrayList<>();
+        for (String profile : profiles) {
+            if (reload(application, profile)) {
+
+                changed.add(new ConfigurationChangedEvent.Target(application, profile));
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Re-read the file of an application and profile; true when its content or presence changed.
+     * A file that cannot be parsed, for example one caught half-written, keeps its last good content.
+     */
+    private boolean reload(String application, String profile) {
+        if (!NAME.matcher(application).matches() || !NAME.matcher(profile).matches()) {
+
+            return false;
+        }
+        String key = keyOf(application, profile);
+        synchronized (lock) {
+            StoredFile current = files.get(key);
+            Path path = locate(application, profile);
+            if (path == null) {
+
+                if (current == null) {
+
+                    return false;
+                }
+                files.remove(key);
+                retiredRevisions.put(key, current.revision);
+                return true;
+            }
+
+            Map<String, Object> properties;
+            long modified;
+            try {
+                modified = Files.getLastModifiedTime(path).toMillis();
+                properties = parser.parse(path);
+            } catch (IOException | RuntimeException e) {
+                log.warn("Cannot parse configuration file {}, keeping its last good content: {}", path, e.toString());
+                return false;
+            }
+            if (current != null && current.path.equals(path) && current.properties.equals(properties)) {
+
+                return false;
+            }
+
+            // Seeded from the modification time, so an unchanged file keeps its revision across restarts
+            long previous = current != null ? current.revision : retiredRevisions.getOrDefault(key, 0L);
+            long revision = Math.max(modified * 1000, previous + 1);
+            LocalDateTime modifiedAt = LocalDateTime.ofInstant(Instant.ofEpochMilli(modified), ZoneId.systemDefault());
+            files.put(key, new StoredFile(application, profile, path, CompactPropertyMap.of(properties), revision, modifiedAt));
+            return true;
+        }
+    }
+
+    private Path locate(String application, String profile) {
+        Path directory = rootPath.resolve(application);
+        for (String extension : EXTENSIONS) {
+            Path path = directory.resolve(profile + extension);
+            if (Files.isRegularFile(path)) {
+
+                return path;
+            }
+        }
+        return null;
+    }
+
+    private void announce(Set<ConfigurationChangedEvent.Target> changed) {
+        if (changed.isEmpty()) {
+
+            return;
+        }
+        log.info("Configuration files changed: {}", changed);
+        try {
+            eventPublisher.publishEvent(new ConfigurationSourceChangedEvent(new ArrayList<>(changed)));
+        } catch (RuntimeException e) {
+            log.warn("Change event for {} failed: {}", changed, e.getMessage());
+        }
+    }
+
+    private void register(Path directory) throws IOException {
+        directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY,
+            StandardWatchEventKinds.ENTRY_DELETE);
+    }
+
+    /**
+     * Profile named by a file, or null for temporary, hidden and unsupported files.
+     */
+    private static String profileOf(String fileName) {
+        if (fileName.startsWith(".") || !ConfigurationFileParser.isSupported(fileName)) {
+
+            return null;
+        }
+        return fileName.substring(0, fileName.lastIndexOf('.'));
+    }
+
+    private static void checkName(String name) {
+        if (name == null || !NAME.matcher(name).matches()) {
+
+            throw new IllegalArgumentException("Invalid configuration name for a native repository: " + name);
+        }
+    }
+
+    private static String keyOf(String application, String profile) {
+        return application + ":" + profile;
+    }
+
+    /**
+     * Size and modification time of a file, compared to tell when a writer is done.
+     */
+    private static final class FileState {
+
+        private final boolean missing;
+        private final long size;
+        private final long modified;
+
+        private FileState(boolean missing, long size, long modified) {
+            this.missing = missing;
+            this.size = size;
+            this.modified = modified;
+        }
+
+        static FileState of(Path file) {
+            try {
+                BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                return new FileState(false, attributes.size(), attributes.lastModifiedTime().toMillis());
+            } catch (IOException e) {
+                return new FileState(true, 0L, 0L);
+            }
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof FileState state && missing == state.missing && size == state.size &&
+                modified == state.modified;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(missing, size, modified);
+        }
+    }
+
+    /**
+     * Parsed content of one file.
+     */
+    private static final class StoredFile {
+
+        private final String application;
+        private final String profile;
+        private final Path path;
+        private final Map<String, Object> properties;
+        private final long revision;
+        private final LocalDateTime modifiedAt;
+
+        StoredFile(String application, String profile, Path path, Map<String, Object> properties, long revision,
+                   LocalDateTime modifiedAt) {
+            this.application = application;
+            this.profile = profile;
+            this.path = path;
+            this.properties = properties;
+            this.revision = revision;
+            this.modifiedAt = modifiedAt;
+        }
+
+        /**
+         * A fresh domain object per read; the immutable property map is shared.
+         */
+        ConfigurationData toDomain() {
+            ConfigurationData data = new ConfigurationData(application, profile, properties);
+            data.setId(application + "-" + profile);
+            data.setLabel(DEFAULT_LABEL);
+            data.setRevision(revision);
+            data.setCreatedAt(modifiedAt);
+            data.setUpdatedAt(modifiedAt);
+            return data;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.gogidix.centralconfiguration.configserver.adapter.out.persistence;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+/**
+ * JPA entity for one property of a configuration set.
+ * The value is stored as a JSON literal so numbers, booleans and nested values keep their type.
+ */
+@Entity
+@Table(name = "config_property", indexes = {
+    @Index(name = "ux_config_property_set_key", columnList = "set_id, property_key", unique = true)
+})
+public class ConfigurationPropertyEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "config_property_seq")
+    @SequenceGenerator(name = "config_property_seq", sequenceName = "config_property_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "set_id", nullable = false)
+    private ConfigurationSetEntity configurationSet;
+
+    @Column(name = "property_key", nullable = false, length = 512)
+    private String key;
+
+    @Column(name = "property_value", length = 8192)
+    private String value;
+
+    // Default constructor
+    protected ConfigurationPropertyEntity() {
+    }
+
+    // Constructor with essential fields
+    public ConfigurationPropertyEntity(ConfigurationSetEntity configurationSet, String key, String value) {
+        this.configurationSet = configurationSet;
+        this.key = key;
+        this.value = value;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public ConfigurationSetEntity getConfigurationSet() {
+        return configurationSet;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public void setValue(String value) {
+        this.value = value;
+    }
+}
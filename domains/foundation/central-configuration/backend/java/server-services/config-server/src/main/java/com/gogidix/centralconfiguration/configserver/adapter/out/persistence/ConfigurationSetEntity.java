@@ -0,0 +1,125 @@
+package com.gogidix.centralconfiguration.configserver.adapter.out.persistence;
+
+import jakarta.persistence.CascadeType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.OrderBy;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JPA entity for one stored configuration set: an application, profile and label.
+ * Its properties live in {@link ConfigurationPropertyEntity} rows, one per key.
+ */
+@Entity
+@Table(name = "config_set", indexes = {
+    @Index(name = "ux_config_set_app_profile_label", columnList = "application, profile, label", unique = true)
+})
+public class ConfigurationSetEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "config_set_seq")
+    @SequenceGenerator(name = "config_set_seq", sequenceName = "config_set_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false, length = 128)
+    private String application;
+
+    @Column(nullable = false, length = 128)
+    private String profile;
+
+    @Column(nullable = false, length = 128)
+    private String label;
+
+    @Column(length = 64)
+    private String version;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Seeded by the adapter rather than 0, so a set deleted and created again does not repeat a revision
+    @Version
+    @Column(nullable = false)
+    private long revision;
+
+    @OneToMany(mappedBy = "configurationSet", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("key")
+    private List<ConfigurationPropertyEntity> properties = new ArrayList<>();
+
+    // Default constructor
+    protected ConfigurationSetEntity() {
+    }
+
+    // Constructor with essential fields
+    public ConfigurationSetEntity(String application, String profile, String label, long initialRevision) {
+        this.application = application;
+        this.profile = profile;
+        this.label = label;
+        this.createdAt = LocalDateTime.now();
+        this.updatedAt = this.createdAt;
+        this.revision = initialRevision;
+    }
+
+    // Business logic methods
+    public void addProperty(String key, String value) {
+        properties.add(new ConfigurationPropertyEntity(this, key, value));
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public String getApplication() {
+        return application;
+    }
+
+    public String getProfile() {
+        return profile;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public void setVersion(String version) {
+        this.version = version;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public long getRevision() {
+        return revision;
+    }
+
+    public List<ConfigurationPropertyEntity> getProperties() {
+        return properties;
+    }
+}
@@ -0,0 +1,43 @@
+package com.gogidix.centralconfiguration.configserver.adapter.out.persistence;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Spring Data repository for configuration sets.
+ * Lookups and listings are served by the (application, profile, label) index.
+ */
+public interface ConfigurationSetRepository extends JpaRepository<ConfigurationSetEntity, Long> {
+
+    @Query("select s from ConfigurationSetEntity s left join fetch s.properties " +
+           "where s.application = :application and s.profile = :profile and s.label = :label")
+    Optional<ConfigurationSetEntity> findWithProperties(@Param("application") String application,
+                                                        @Param("profile") String profile,
+                                                        @Param("label") String label);
+
+    @Query("select distinct s from ConfigurationSetEntity s left join fetch s.properties " +
+           "where s.application = :application order by s.profile, s.label")
+    List<ConfigurationSetEntity> findAllWithProperties(@Param("application") String application);
+
+    @Query("select distinct s.application from ConfigurationSetEntity s order by s.application")
+    List<String> findApplications();
+
+    @Query("select distinct s.profile from ConfigurationSetEntity s where s.application = :application order by s.profile")
+    List<String> findProfiles(@Param("application") String application);
+
+    boolean existsByApplicationAndProfile(String application, String profile);
+
+    @Modifying
+    @Query("delete from ConfigurationPropertyEntity p where p.configurationSet.id in " +
+           "(select s.id from ConfigurationSetEntity s where s.application = :application and s.profile = :profile)")
+    int deleteProperties(@Param("application") String application, @Param("profile") String profile);
+
+    @Modifying
+    @Query("delete from ConfigurationSetEntity s where s.application = :application and s.profile = :profile")
+    int deleteSets(@Param("application") String application, @Param("profile") String profile);
+}
@@ -0,0 +1,307 @@
+package com.gogidix.centralconfiguration.configserver.adapter.out.persistence;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gogidix.centralconfiguration.configserver.domain.exception.ConfigurationConflictException;
+import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationData;
+import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationWrite;
+import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationWriteResult;
+import com.gogidix.centralconfiguration.configserver.domain.port.ConfigurationPort;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * JPA adapter implementing the configuration port on a relational database.
+ * Properties are stored as one row per key; saves write only the rows that changed,
+ * and Hibernate batches those statements.
+ */
+@Component
+@ConditionalOnProperty(name = "config-server.backend", havingValue = "jdbc", matchIfMissing = true)
+@Transactional
+public class JpaConfigurationAdapter implements ConfigurationPort {
+
+    static final String DEFAULT_LABEL = "master";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicLong issuedRevision = new AtomicLong();
+
+    @Autowired
+    private ConfigurationSetRepository setRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<ConfigurationData> findByApplicationAndProfile(String application, String profile) {
+        return findByApplicationProfileAndLabel(application, profile, DEFAULT_LABEL);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<ConfigurationData> findByApplicationProfileAndLabel(String application, String profile, String label) {
+        return setRepository.findWithProperties(application, profile, label).map(this::toDomain);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ConfigurationData> findByApplication(String application) {
+        return setRepository.findAllWithProperties(application).stream().map(this::toDomain).toList();
+    }
+
+    @Override
+    public void save(ConfigurationData configurationData) {
+        compareAndSave(configurationData, ConfigurationData.ANY_REVISION);
+    }
+
+    /**
+     * Save configuration data while the stored revision matches, diffing against the stored rows so unchanged
+     * keys are not rewritten. The revision only advances when something changed; a writer that commits between
+     * the check and the flush is caught by the version column.
+     */
+    @Override
+    public long compareAndSave(ConfigurationData configurationData, long expectedRevision) {
+        String label = labelOf(configurationData);
+        ConfigurationSetEntity set = setRepository
+            .findWithProperties(configurationData.getApplication(), configurationData.getProfile(), label)
+            .orElse(null);
+        StagedWrite staged = stage(configurationData, expectedRevision, set);
+        if (!staged.changed) {
+
+            return staged.set.getRevision();
+        }
+        try {
+            return issued(setRepository.saveAndFlush(staged.set).getRevision());
+        } catch (ObjectOptimisticLockingFailureException | DataIntegrityViolationException e) {
+            // Another writer updated or created the same set first
+            throw new ConfigurationConflictException(staged.key, expectedRevision, e);
+        }
+    }
+
+    /**
+     * Save a batch in one transaction, flushing once so Hibernate can batch the statements of every write.
+     * Stored sets are all read before anything is modified; otherwise each read would flush the writes before it.
+     * A second write to a set already changed in the batch flushes first, so it is checked against the new revision.
+     */
+    @Override
+    public List<ConfigurationWriteResult> saveAll(List<ConfigurationWrite> writes) {
+        Map<String, ConfigurationSetEntity> sets = new HashMap<>();
+        for (ConfigurationWrite write : writes) {
+            ConfigurationData data = write.getData();
+            String label = labelOf(data);
+            sets.computeIfAbsent(keyOf(data.getApplication(), data.getProfile(), label),
+                key -> setRepository.findWithProperties(data.getApplication(), data.getProfile(), label).orElse(null));
+        }
+
+        List<ConfigurationWriteResult> results = new ArrayList<>(writes.size());
+        Map<Integer, StagedWrite> unflushed = new LinkedHashMap<>();
+        Set<String> changedKeys = new HashSet<>();
+        for (ConfigurationWrite write : writes) {
+            ConfigurationData data = write.getData();
+            String key = keyOf(data.getApplication(), data.getProfile(), labelOf(data));
+            if (changedKeys.contains(key)) {
+
+                flush(writes.size(), unflushed, results);
+                changedKeys.clear();
+            }
+            try {
+                StagedWrite staged = stage(data, write.getExpectedRevision(), sets.get(key));
+                if (staged.changed) {
+
+                    sets.put(key, setRepository.save(staged.set));
+                    changedKeys.add(key);
+                }
+                unflushed.put(results.size(), staged);
+                results.add(null);
+            } catch (ConfigurationConflictException e) {
+                results.add(ConfigurationWriteResult.failed(e));
+            }
+        }
+        flush(writes.size(), unflushed, results);
+        return results;
+    }
+
+    /**
+     * Delete every label stored for an application and profile with two bulk statements.
+     */
+    @Override
+    public void delete(String application, String profile) {
+        setRepository.deleteProperties(application, profile);
+        setRepository.deleteSets(application, profile);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<String> getAllApplications() {
+        return setRepository.findApplications();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<String> getProfilesForApplication(String application) {
+        return setRepository.findProfiles(application);
+    }
+
+    @Override
+    public void clearCache() {
+        // Rows are read per request; there is nothing cached in this adapter
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public boolean exists(String application, String profile) {
+        return setRepository.existsByApplicationAndProfile(application, profile);
+    }
+
+    private ConfigurationData toDomain(ConfigurationSetEntity set) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        for (ConfigurationPropertyEntity property : set.getProperties()) {
+            properties.put(property.getKey(), decode(property.getValue()));
+        }
+
+        ConfigurationData data = new ConfigurationData();
+        data.setId(String.valueOf(set.getId()));
+        data.setApplication(set.getApplication());
+        data.setProfile(set.getProfile());
+        data.setLabel(set.getLabel());
+        data.setVersion(set.getVersion());
+        data.setRevision(set.getRevision());
+        data.setCreatedAt(set.getCreatedAt());
+        data.setUpdatedAt(set.getUpdatedAt());
+        data.setProperties(properties);
+        return data;
+    }
+
+    /**
+     * Seed for a new set: microseconds of wall-clock time, kept above every revision this node has issued,
+     * so a set deleted and created again starts past its old revisions.
+     */
+    private long initialRevision() {
+        long seed = System.currentTimeMillis() * 1000;
+        return issuedRevision.accumulateAndGet(seed, (issued, clock) -> Math.max(issued + 1, clock));
+    }
+
+    /**
+     * Check the expected revision and apply the data to the stored set, or to a new one when none is stored.
+     */
+    private StagedWrite stage(ConfigurationData configurationData, long expectedRevision, ConfigurationSetEntity existing) {
+        String application = configurationData.getApplication();
+        String profile = configurationData.getProfile();
+        String label = labelOf(configurationData);
+        String key = keyOf(application, profile, label);
+        long currentRevision = existing != null ? existing.getRevision() : ConfigurationData.NO_REVISION;
+        if (expectedRevision != ConfigurationData.ANY_REVISION && expectedRevision != currentRevision) {
+
+            throw new ConfigurationConflictException(key, expectedRevision, currentRevision);
+        }
+        ConfigurationSetEntity set = existing != null ? existing : new ConfigurationSetEntity(application, profile, label, initialRevision());
+
+        boolean changed = existing == null;
+        Map<String, String> pending = encode(configurationData.getProperties());
+        Iterator<ConfigurationPropertyEntity> stored = set.getProperties().iterator();
+        while (stored.hasNext()) {
+            ConfigurationPropertyEntity property = stored.next();
+            String value = pending.remove(property.getKey());
+            if (value == null) {
+
+                stored.remove();
+                changed = true;
+            } else if (!value.equals(property.getValue())) {
+                property.setValue(value);
+                changed = true;
+            }
+        }
+        changed |= !pending.isEmpty();
+        pending.forEach(set::addProperty);
+        if (!Objects.equals(set.getVersion(), configurationData.getVersion())) {
+
+            set.setVersion(configurationData.getVersion());
+            changed = true;
+        }
+        if (changed) {
+
+            set.setUpdatedAt(LocalDateTime.now());
+        }
+        return new StagedWrite(key, set, changed);
+    }
+
+    /**
+     * Flush the staged writes and record the revision each one was stored with.
+     */
+    private void flush(int batchSize, Map<Integer, StagedWrite> unflushed, List<ConfigurationWriteResult> results) {
+        try {
+            setRepository.flush();
+        } catch (ObjectOptimisticLockingFailureException | DataIntegrityViolationException e) {
+            throw new ConfigurationConflictException("batch of " + batchSize + " writes", ConfigurationData.ANY_REVISION, e);
+        }
+        unflushed.forEach((index, staged) -> results.set(index, ConfigurationWriteResult.saved(issued(staged.set.getRevision()))));
+        unflushed.clear();
+    }
+
+    private long issued(long revision) {
+        issuedRevision.accumulateAndGet(revision, Math::max);
+        return revision;
+    }
+
+    private static String labelOf(ConfigurationData configurationData) {
+        return configurationData.getLabel() != null ? configurationData.getLabel() : DEFAULT_LABEL;
+    }
+
+    private static String keyOf(String application, String profile, String label) {
+        return application + ":" + profile + ":" + label;
+    }
+
+    private Map<String, String> encode(Map<String, Object> properties) {
+        Map<String, String> encoded = new LinkedHashMap<>();
+        if (properties == null) {
+
+            return encoded;
+        }
+        try {
+            for (Map.Entry<String, Object> entry : properties.entrySet()) {
+                encoded.put(entry.getKey(), objectMapper.writeValueAsString(entry.getValue()));
+            }
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Configuration property is not serializable", e);
+        }
+        return encoded;
+    }
+
+    private Object decode(String value) {
+        try {
+            return value != null ? objectMapper.readValue(value, Object.class) : null;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored configuration property is not valid JSON", e);
+        }
+    }
+
+    /**
+     * A set with one write applied, not yet flushed.
+     */
+    private static final class StagedWrite {
+
+        private final String key;
+        private final ConfigurationSetEntity set;
+        private final boolean changed;
+
+        StagedWrite(String key, ConfigurationSetEntity set, boolean changed) {
+            this.key = key;
+            this.set = set;
+            this.changed = changed;
+        }
+    }
+}
@@ -1,24 +1,52 @@
 package com.gogidix.centralconfiguration.configserver.api.controller;
 
+import com.gogidix.centralconfiguration.configserver.api.dto.ConfigurationDeltaResponse;
 import com.gogidix.centralconfiguration.configserver.api.dto.ConfigurationRequest;
 import com.gogidix.centralconfiguration.configserver.api.dto.ConfigurationResponse;
+import com.gogidix.centralconfiguration.configserver.api.dto.ConfigurationUpdateRequest;
 import com.gogidix.centralconfiguration.configserver.api.dto.HealthCheckResponse;
+import com.gogidix.centralconfiguration.configserver.api.dto.PropertySearchResponse;
+import com.gogidix.centralconfiguration.configserver.application.service.ConfigurationBatchResolver;
 import com.gogidix.centralconfiguration.configserver.domain.port.ConfigurationServicePort;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gogidix.centralconfiguration.configserver.adapter.in.web.admission.AdmissionControlFilter;
+import com.gogidix.centralconfiguration.configserver.adapter.in.web.cache.SerializedResponse;
+import com.gogidix.centralconfiguration.configserver.adapter.in.web.cache.SerializedResponseCache;
 import com.gogidix.centralconfiguration.configserver.adapter.in.web.mapper.ConfigurationMapper;
+import com.gogidix.centralconfiguration.configserver.domain.exception.ConfigurationConflictException;
+import com.gogidix.centralconfiguration.configserver.domain.exception.ConfigurationThrottledException;
+import com.gogidix.centralconfiguration.configserver.domain.exception.ConfigurationUnavailableException;
+import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationData;
+import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationDelta;
 import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationQuery;
 import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationResult;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 /**
  * REST Controller for Configuration Server API endpoints.
@@ -30,25 +58,107 @@ import java.util.Map;
 @Validated
 public class ConfigController {
 
+    static final String STALE_HEADER = "X-Config-Stale";
+    static final String REVISION_HEADER = "X-Config-Revision";
+    private static final int RETRY_AFTER_SECONDS = 5;
+
     @Autowired
     private ConfigurationServicePort configurationService;
     
     @Autowired
     private ConfigurationMapper configurationMapper;
 
+    @Autowired
+    private SerializedResponseCache responseCache;
+
+    @Autowired
+    private ConfigurationBatchResolver batchResolver;
+
+    @Autowired
+    private AdmissionControlFilter admissionControl;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${config-server.batch.timeout:5s}")
+    private Duration batchTimeout = Duration.ofSeconds(5);
+
     /**
      * Get configuration properties for a service.
+     * Replies 304 without a body when the client's If-None-Match matches the content hash;
+     * otherwise writes the JSON (or gzip) bytes encoded once per snapshot.
+     * A prefix such as {@code spring.datasource} limits the properties to that key subtree.
+     * Responses served from an outdated snapshot carry {@code X-Config-Stale: true}. The revision header holds
+     * the stored revision of this application and profile, which an update accepts as If-Match.
      */
-    @GetMapping("/properties/{application}")
-    public ResponseEntity<ConfigurationResponse> getConfiguration(
+    @GetMapping(value = "/properties/{application}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getConfiguration(
             @PathVariable @NotBlank String application,
-            @RequestParam(defaultValue = "default") @NotBlank String profile) {
+            @RequestParam(defaultValue = "default") @NotBlank String profile,
+            @RequestParam(defaultValue = "master") String label,
+            @RequestParam(required = false) String prefix,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         
-        ConfigurationResult result = configurationService.getConfiguration(application, profile);
-        ConfigurationResponse response = configurationMapper.toApiResponse(result);
+        ConfigurationQuery query = configurationMapper.toDomainQuery(application, profile, label);
+        ConfigurationResult result = configurationService.getConfiguration(query);
+        boolean filtered = prefix != null && !prefix.isBlank();
+        if (filtered) {
+
+            result = result.subtree(prefix);
+        }
+        String etag = toEtag(result);
+        if (etagMatches(ifNoneMatch, etag)) {
+
+            return staleHeader(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag), result)
+                .header(REVISION_HEADER, String.valueOf(result.getStoredRevision()))
+                .build();
+        }
+
+        SerializedResponse response = filtered
+            ? responseCache.encodeUncached(result)
+            : responseCache.get(query.getConfigurationKey(), result);
+        ResponseEntity.BodyBuilder builder = staleHeader(ResponseEntity.ok(), result)
+            .eTag(etag)
+            .header(REVISION_HEADER, String.valueOf(result.getStoredRevision()))
+            .contentType(MediaType.APPLICATION_JSON)
+            .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (acceptsGzip(acceptEncoding)) {
+
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(response.getGzip());
+        }
+        return builder.body(response.getJson());
+    }
+    
+    /**
+     * Get only the keys added, changed and removed since the client's last-seen revision.
+     * Falls back to the full properties when that revision is no longer held by the server.
+     */
+    @GetMapping("/properties/{application}/delta")
+    public ResponseEntity<ConfigurationDeltaResponse> getConfigurationDelta(
+            @PathVariable @NotBlank String application,
+            @RequestParam(defaultValue = "default") @NotBlank String profile,
+            @RequestParam(defaultValue = "master") String label,
+            @RequestParam long revision) {
+        
+        ConfigurationQuery query = configurationMapper.toDomainQuery(application, profile, label);
+        ConfigurationDelta delta = configurationService.getConfigurationDelta(query, revision);
+        ConfigurationDeltaResponse response = configurationMapper.toApiDeltaResponse(delta);
         return ResponseEntity.ok(response);
     }
     
+    /**
+     * Find which applications, profiles and labels set a key, by dotted prefix such as
+     * {@code management.endpoints.*}.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<PropertySearchResponse>> searchPropertyKeys(@RequestParam @NotBlank String key) {
+        List<PropertySearchResponse> matches = configurationService.searchPropertyKeys(key).stream()
+            .map(configurationMapper::toApiSearchResponse)
+            .toList();
+        return ResponseEntity.ok(matches);
+    }
+    
     /**
      * Get configuration using POST request with detailed parameters.
      */
@@ -59,21 +169,49 @@ public class ConfigController {
         ConfigurationQuery query = configurationMapper.toDomainQuery(request);
         ConfigurationResult result = configurationService.getConfiguration(query);
         ConfigurationResponse response = configurationMapper.toApiResponse(result);
-        return ResponseEntity.ok(response);
+        return staleHeader(ResponseEntity.ok(), result).body(response);
+    }
+    
+    /**
+     * Get configuration for many application/profile pairs in one call.
+     * Items are resolved concurrently and streamed back in completion order, each with its own status,
+     * so one slow item does not hold up the rest; items still pending at the batch timeout report 504.
+     * Each item is charged to its application's request budget and reports 429 once that is spent.
+     */
+    @PostMapping(value = "/properties/batch", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> getConfigurationBatch(
+            @RequestBody List<ConfigurationRequest> requests) {
+        
+        if (requests.size() > batchResolver.getMaxItems()) {
+
+            return ResponseEntity.badRequest().build();
+        }
+        List<ConfigurationQuery> queries = requests.stream().map(configurationMapper::toDomainQuery).toList();
+        List<CompletableFuture<ConfigurationResult>> results = batchResolver.resolve(queries, this::admission);
+        StreamingResponseBody body = out -> writeBatch(out, queries, results);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
     }
     
     /**
      * Update configuration for a service.
+     * With an expected revision (If-Match or {@code expectedRevision}, as read from the revision header of a GET)
+     * the write is a compare-and-set and replies 409 once the stored revision has moved on;
+     * {@code overwrite} skips the check.
+     * The new revision is returned in the revision header.
      */
     @PutMapping("/properties/{application}/{profile}")
     public ResponseEntity<String> updateConfiguration(
             @PathVariable @NotBlank String application,
             @PathVariable @NotBlank String profile,
-            @Valid @RequestBody ConfigurationRequest request) {
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody ConfigurationUpdateRequest request) {
         
         var configurationData = configurationMapper.toDomainData(request);
-        configurationService.updateConfiguration(application, profile, configurationData);
-        return ResponseEntity.ok("Configuration updated successfully");
+        long revision = configurationService.updateConfiguration(application, profile, configurationData,
+            expectedRevision(request, ifMatch));
+        return ResponseEntity.ok()
+            .header(REVISION_HEADER, String.valueOf(revision))
+            .body("Configuration updated successfully");
     }
     
     /**
@@ -143,4 +281,192 @@ public class ConfigController {
         ConfigurationResponse response = configurationMapper.toApiResponse(result);
         return ResponseEntity.ok(response);
     }
+
+    private void writeBatch(OutputStream out, List<ConfigurationQuery> queries,
+                            List<CompletableFuture<ConfigurationResult>> results) throws IOException {
+        BlockingQueue<Integer> completed = new LinkedBlockingQueue<>();
+        for (int i = 0; i < results.size(); i++) {
+            int index = i;
+            results.get(i).whenComplete((result, error) -> completed.add(index));
+        }
+
+        boolean[] written = new boolean[results.size()];
+        long deadline = System.nanoTime() + batchTimeout.toNanos();
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("items");
+            for (int remaining = results.size(); remaining > 0; remaining--) {
+                Integer index = completed.poll(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                if (index == null) {
+
+                    break;
+                }
+                writeBatchItem(generator, index, queries.get(index), results.get(index));
+                written[index] = true;
+                generator.flush();
+            }
+            for (int i = 0; i < written.length; i++) {
+                if (!written[i]) {
+
+                    results.get(i).cancel(false);
+                    writeBatchError(generator, i, queries.get(i), HttpStatus.GATEWAY_TIMEOUT, "Timed out");
+                }
+            }
+            generator.writeEndArray();
+            generator.writeNumberField("count", results.size());
+            generator.writeEndObject();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while streaming batch response", e);
+        }
+    }
+
+    private void writeBatchItem(JsonGenerator generator, int index, ConfigurationQuery query,
+                                CompletableFuture<ConfigurationResult> future) throws IOException {
+        ConfigurationResult result;
+        try {
+            result = future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            HttpStatus status = cause instanceof IllegalArgumentException ? HttpStatus.BAD_REQUEST
+                : cause instanceof ConfigurationThrottledException ? HttpStatus.TOO_MANY_REQUESTS
+                : cause instanceof ConfigurationUnavailableException ? HttpStatus.SERVICE_UNAVAILABLE
+                : HttpStatus.INTERNAL_SERVER_ERROR;
+            writeBatchError(generator, index, query, status, cause.getMessage());
+            return;
+        }
+
+        SerializedResponse response = responseCache.get(query.getConfigurationKey(), result);
+        generator.writeStartObject();
+        generator.writeNumberField("index", index);
+        generator.writeNumberField("status", HttpStatus.OK.value());
+        generator.writeStringField("etag", toEtag(result));
+        if (result.isStale()) {
+
+            generator.writeBooleanField("stale", true);
+        }
+        generator.writeFieldName("configuration");
+        generator.writeRawValue(new String(response.getJson(), StandardCharsets.UTF_8));
+        generator.writeEndObject();
+    }
+
+    /**
+     * Reply 503 rather than defaults when configuration cannot be loaded and nothing was cached.
+     */
+    @ExceptionHandler(ConfigurationUnavailableException.class)
+    public ResponseEntity<String> handleUnavailable(ConfigurationUnavailableException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(RETRY_AFTER_SECONDS))
+            .body(e.getMessage());
+    }
+
+    /**
+     * Reply 400 for queries the server refuses to plan, such as too many merged profiles.
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleInvalidQuery(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
+    /**
+     * Reply 409 when a compare-and-set update names an outdated revision.
+     */
+    @ExceptionHandler(ConfigurationConflictException.class)
+    public ResponseEntity<String> handleConflict(ConfigurationConflictException e) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(HttpStatus.CONFLICT);
+        if (e.getCurrentRevision() >= 0) {
+
+            builder.header(REVISION_HEADER, String.valueOf(e.getCurrentRevision()));
+        }
+        return builder.body(e.getMessage());
+    }
+
+    /**
+     * Refusal of a batch item whose application has spent its request budget, or null when it is admitted.
+     */
+    private RuntimeException admission(ConfigurationQuery query) {
+        long wait = admissionControl.admit(query.getApplication());
+        return wait > 0
+            ? new ConfigurationThrottledException(query.getConfigurationKey(), AdmissionControlFilter.retryAfterSeconds(wait))
+            : null;
+    }
+
+    private static long expectedRevision(ConfigurationUpdateRequest request, String ifMatch) {
+        if (request.isOverwrite()) {
+
+            return ConfigurationData.ANY_REVISION;
+        }
+        if (ifMatch != null && !ifMatch.isBlank() && !"*".equals(ifMatch.trim())) {
+
+            try {
+                return Long.parseLong(ifMatch.trim().replace("W/", "").replace("\"", ""));
+            } catch (NumberFormatException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "If-Match must carry a configuration revision");
+            }
+        }
+        return request.getExpectedRevision() != null ? request.getExpectedRevision() : ConfigurationData.ANY_REVISION;
+    }
+
+    private static <B extends ResponseEntity.HeadersBuilder<B>> B staleHeader(B builder, ConfigurationResult result) {
+        return result.isStale() ? builder.header(STALE_HEADER, "true") : builder;
+    }
+
+    private static void writeBatchError(JsonGenerator generator, int index, ConfigurationQuery query,
+                                        HttpStatus status, String message) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("index", index);
+        generator.writeNumberField("status", status.value());
+        if (query != null) {
+
+            generator.writeStringField("application", query.getApplication());
+            generator.writeStringField("profile", query.getProfile());
+        }
+        generator.writeStringField("error", message);
+        generator.writeEndObject();
+    }
+
+    /**
+     * Weak entity tag for a configuration result; the body also carries a timestamp.
+     */
+    private static String toEtag(ConfigurationResult result) {
+        return "W/\"" + result.getContentHash() + "\"";
+    }
+
+    /**
+     * Weak comparison of an If-None-Match header against an entity tag.
+     */
+    private static boolean etagMatches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+
+            return false;
+        }
+        String opaqueTag = stripWeakPrefix(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if ("*".equals(tag) || stripWeakPrefix(tag).equals(opaqueTag)) {
+
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String value = coding.trim();
+            if (value.startsWith("gzip") && !value.replace(" ", "").endsWith(";q=0")) {
+
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String stripWeakPrefix(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
 }
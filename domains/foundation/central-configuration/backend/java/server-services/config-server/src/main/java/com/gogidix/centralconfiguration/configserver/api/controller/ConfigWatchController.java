@@ -0,0 +1,95 @@
+package com.gogidix.centralconfiguration.configserver.api.controller;
+
+import com.gogidix.centralconfiguration.configserver.adapter.in.web.mapper.ConfigurationMapper;
+import com.gogidix.centralconfiguration.configserver.api.dto.ConfigurationDeltaResponse;
+import com.gogidix.centralconfiguration.configserver.application.watch.ConfigurationWatch;
+import com.gogidix.centralconfiguration.configserver.application.watch.ConfigurationWatchRegistry;
+import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationQuery;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import jakarta.validation.constraints.NotBlank;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * REST Controller for long-poll configuration watches.
+ * Requests are parked as servlet async requests, so idle watchers hold no request thread.
+ */
+@RestController
+@RequestMapping("/api/config")
+@CrossOrigin(origins = "*")
+@Validated
+public class ConfigWatchController {
+
+    @Autowired
+    private ConfigurationWatchRegistry watchRegistry;
+
+    @Autowired
+    private ConfigurationMapper configurationMapper;
+
+    @Value("${config-server.watch.max-timeout:120s}")
+    private Duration maxTimeout = Duration.ofSeconds(120);
+
+    /**
+     * Wait until a watched key changes after the client's revision.
+     * Replies with the delta of the watched keys, or 304 when the timeout elapses without a change.
+     * A revision issued by another node is answered with the full configuration, and the If-None-Match content
+     * hash (the ETag of a read) keeps the watch parked until that content actually changes.
+     */
+    @GetMapping("/watch/{application}")
+    public DeferredResult<ResponseEntity<ConfigurationDeltaResponse>> watch(
+            @PathVariable @NotBlank String application,
+            @RequestParam(defaultValue = "default") @NotBlank String profile,
+            @RequestParam(defaultValue = "master") String label,
+            @RequestParam long revision,
+            @RequestParam(required = false) List<String> keys,
+            @RequestParam(name = "timeout", defaultValue = "30") long timeoutSeconds,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+        // Clamp the seconds first: converting an arbitrary client value to milliseconds would overflow
+        long seconds = Math.min(Math.max(timeoutSeconds, 1), Math.max(maxTimeout.toSeconds(), 1));
+        long timeoutMillis = Math.min(Duration.ofSeconds(seconds).toMillis(), maxTimeout.toMillis());
+        DeferredResult<ResponseEntity<ConfigurationDeltaResponse>> result = new DeferredResult<>(
+            timeoutMillis, () -> ResponseEntity.status(HttpStatus.NOT_MODIFIED).build());
+
+        ConfigurationQuery query = configurationMapper.toDomainQuery(application, profile, label);
+        Set<String> watchedKeys = keys != null ? Set.copyOf(keys) : Set.of();
+        ConfigurationWatch watch = watchRegistry.watch(query, revision, watchedKeys, contentHash(ifNoneMatch),
+            delta -> result.setResult(ResponseEntity.ok()
+                .eTag("W/\"" + delta.getCurrent().getContentHash() + "\"")
+                .body(configurationMapper.toApiDeltaResponse(delta))));
+        result.onCompletion(() -> watchRegistry.cancel(watch));
+        return result;
+    }
+
+    /**
+     * Opaque content hash of the first entity tag in an If-None-Match header, or null without one.
+     */
+    private static String contentHash(String ifNoneMatch) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+
+            return null;
+        }
+        String tag = ifNoneMatch.split(",")[0].trim();
+        if (tag.startsWith("W/")) {
+
+            tag = tag.substring(2);
+        }
+        tag = tag.replace("\"", "");
+        return tag.isEmpty() || "*".equals(tag) ? null : tag;
+    }
+}
@@ -0,0 +1,131 @@
+package com.gogidix.centralconfiguration.configserver.api.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Response DTO for configuration deltas.
+ * Contains the keys added, changed and removed since the client revision,
+ * or the full properties when the server no longer holds that revision.
+ */
+public class ConfigurationDeltaResponse {
+
+    private String application;
+    private String profile;
+    private String label;
+    private long fromRevision;
+    private long revision;
+    private boolean full;
+    private Map<String, Object> added;
+    private Map<String, Object> changed;
+    private List<String> removed;
+    private Map<String, Object> properties;
+    private LocalDateTime timestamp;
+
+    // Default constructor
+    public ConfigurationDeltaResponse() {
+        this.timestamp = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public String getApplication() {
+        return application;
+    }
+
+    public void setApplication(String application) {
+        this.application = application;
+    }
+
+    public String getProfile() {
+        return profile;
+    }
+
+    public void setProfile(String profile) {
+        this.profile = profile;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public void setLabel(String label) {
+        this.label = label;
+    }
+
+    public long getFromRevision() {
+        return fromRevision;
+    }
+
+    public void setFromRevision(long fromRevision) {
+        this.fromRevision = fromRevision;
+    }
+
+    public long getRevision() {
+        return revision;
+    }
+
+    public void setRevision(long revision) {
+        this.revision = revision;
+    }
+
+    public boolean isFull() {
+        return full;
+    }
+
+    public void setFull(boolean full) {
+        this.full = full;
+    }
+
+    public Map<String, Object> getAdded() {
+        return added;
+    }
+
+    public void setAdded(Map<String, Object> added) {
+        this.added = added;
+    }
+
+    public Map<String, Object> getChanged() {
+        return changed;
+    }
+
+    public void setChanged(Map<String, Object> changed) {
+        this.changed = changed;
+    }
+
+    public List<String> getRemoved() {
+        return removed;
+    }
+
+    public void setRemoved(List<String> removed) {
+        this.removed = removed;
+    }
+
+    public Map<String, Object> getProperties() {
+        return properties;
+    }
+
+    public void setProperties(Map<String, Object> properties) {
+        this.properties = properties;
+    }
+
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(LocalDateTime timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    @Override
+    public String toString() {
+        return "ConfigurationDeltaResponse{" +
+                "application='" + application + '\'' +
+                ", profile='" + profile + '\'' +
+                ", label='" + label + '\'' +
+                ", fromRevision=" + fromRevision +
+                ", revision=" + revision +
+                ", full=" + full +
+                '}';
+    }
+}
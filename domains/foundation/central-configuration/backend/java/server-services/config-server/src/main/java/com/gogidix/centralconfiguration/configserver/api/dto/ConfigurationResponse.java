@@ -15,6 +15,8 @@ public class ConfigurationResponse {
     private Map<String, Object> properties;
     private LocalDateTime timestamp;
     private String version;
+    private long revision;
+    private long storedRevision;
     private String serverInfo;
 
     // Default constructor
@@ -79,6 +81,22 @@ public class ConfigurationResponse {
         this.version = version;
     }
 
+    public long getRevision() {
+        return revision;
+    }
+
+    public void setRevision(long revision) {
+        this.revision = revision;
+    }
+
+    public long getStoredRevision() {
+        return storedRevision;
+    }
+
+    public void setStoredRevision(long storedRevision) {
+        this.storedRevision = storedRevision;
+    }
+
     public String getServerInfo() {
         return serverInfo;
     }
@@ -95,6 +113,8 @@ public class ConfigurationResponse {
                 ", label='" + label + '\'' +
                 ", timestamp=" + timestamp +
                 ", version='" + version + '\'' +
+                ", revision=" + revision +
+                ", storedRevision=" + storedRevision +
                 '}';
     }
 }
@@ -28,6 +28,10 @@ public class ConfigurationUpdateRequest {
     @Size(max = 20, message = "Version must not exceed 20 characters")
     private String version;
     
+    // Revision the client last read; the update fails with 409 if the stored revision has moved on
+    private Long expectedRevision;
+    
+    // Write regardless of the stored revision
     private boolean overwrite = false;
     
     // Default constructor
@@ -85,6 +89,14 @@ public class ConfigurationUpdateRequest {
         this.version = version;
     }
     
+    public Long getExpectedRevision() {
+        return expectedRevision;
+    }
+    
+    public void setExpectedRevision(Long expectedRevision) {
+        this.expectedRevision = expectedRevision;
+    }
+    
     public boolean isOverwrite() {
         return overwrite;
     }
@@ -100,6 +112,7 @@ public class ConfigurationUpdateRequest {
                 ", profile='" + profile + '\'' +
                 ", label='" + label + '\'' +
                 ", version='" + version + '\'' +
+                ", expectedRevision=" + expectedRevision +
                 ", overwrite=" + overwrite +
                 '}';
     }
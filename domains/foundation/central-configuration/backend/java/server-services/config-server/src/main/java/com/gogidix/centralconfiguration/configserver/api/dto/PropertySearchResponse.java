@@ -0,0 +1,62 @@
+package com.gogidix.centralconfiguration.configserver.api.dto;
+
+import java.util.List;
+
+/**
+ * Response DTO for property key searches.
+ * One entry per stored application, profile and label that sets a matching key.
+ */
+public class PropertySearchResponse {
+
+    private String application;
+    private String profile;
+    private String label;
+    private List<String> keys;
+
+    // Default constructor
+    public PropertySearchResponse() {
+    }
+
+    // Getters and Setters
+    public String getApplication() {
+        return application;
+    }
+
+    public void setApplication(String application) {
+        this.application = application;
+    }
+
+    public String getProfile() {
+        return profile;
+    }
+
+    public void setProfile(String profile) {
+        this.profile = profile;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public void setLabel(String label) {
+        this.label = label;
+    }
+
+    public List<String> getKeys() {
+        return keys;
+    }
+
+    public void setKeys(List<String> keys) {
+        this.keys = keys;
+    }
+
+    @Override
+    public String toString() {
+        return "PropertySearchResponse{" +
+                "application='" + application + '\'' +
+                ", profile='" + profile + '\'' +
+                ", label='" + label + '\'' +
+                ", keys=" + keys +
+                '}';
+    }
+}
@@ -0,0 +1,132 @@
+package com.gogidix.centralconfiguration.configserver.application.cache;
+
+import com.gogidix.centralconfiguration.configserver.domain.event.ConfigurationChangedEvent;
+import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationInvalidation;
+import com.gogidix.centralconfiguration.configserver.domain.port.ConfigurationInvalidationPublisher;
+import com.gogidix.centralconfiguration.configserver.domain.port.ConfigurationPort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps the caches of every node in step with writes made on any node.
+ * Writes are broadcast as invalidations scoped to application, profile, label and revision; received invalidations
+ * evict only the snapshots they name. An invalidation whose revision was already applied is skipped, so duplicate
+ * and reordered deliveries are harmless. Without a publisher, for example with the bus disabled, caches stay local.
+ */
+@Component
+public class ClusterCacheInvalidator {
+
+    private static final Logger log = LoggerFactory.getLogger(ClusterCacheInvalidator.class);
+
+    @Autowired(required = false)
+    private ConfigurationInvalidationPublisher invalidationPublisher;
+
+    @Autowired
+    private ConfigurationPort configurationPort;
+
+    @Autowired
+    private ConfigurationSnapshotCache snapshotCache;
+
+    @Autowired
+    private NegativeLookupCache negativeLookupCache;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${config-server.bus.max-tracked-keys:10000}")
+    private int maxTrackedKeys = 10000;
+
+    private final ConcurrentMap<String, Long> appliedRevisions = new ConcurrentHashMap<>();
+    private final LongAdder applied = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+
+    /**
+     * Tell the other nodes about a change this node already applied locally.
+     * A failed send is logged: the write is durable, and other nodes pick it up on their next refresh.
+     */
+    public void broadcast(ConfigurationInvalidation invalidation) {
+        if (!invalidation.isAll()) {
+
+            // This node is already current; an older revision arriving from another node later changes nothing
+            track(invalidation);
+        }
+        ConfigurationInvalidationPublisher publisher = invalidationPublisher;
+        if (publisher == null) {
+
+            return;
+        }
+        try {
+            publisher.publish(invalidation);
+        } catch (RuntimeException e) {
+            log.warn("Cannot broadcast {}: {}", invalidation, e.getMessage());
+        }
+    }
+
+    /**
+     * Apply an invalidation received from another node; false when it was already applied.
+     */
+    public boolean apply(ConfigurationInvalidation invalidation) {
+        if (invalidation.isAll()) {
+
+            configurationPort.clearCache();
+            snapshotCache.advanceGeneration();
+            negativeLookupCache.reset();
+            eventPublisher.publishEvent(ConfigurationChangedEvent.all());
+            applied.increment();
+            return true;
+        }
+        if (!track(invalidation)) {
+
+            skipped.increment();
+            return false;
+        }
+        negativeLookupCache.markKnown(invalidation.getApplication(), invalidation.getProfile());
+        snapshotCache.invalidate(invalidation.getApplication(), invalidation.getProfile());
+        eventPublisher.publishEvent(ConfigurationChangedEvent.of(invalidation.getApplication(), invalidation.getProfile()));
+        applied.increment();
+        return true;
+    }
+
+    public long getAppliedCount() {
+        return applied.sum();
+    }
+
+    public long getSkippedCount() {
+        return skipped.sum();
+    }
+
+    /**
+     * Record the revision of an invalidation; false when the same or a newer revision was recorded before.
+     * Invalidations without a known revision are always applied.
+     */
+    private boolean track(ConfigurationInvalidation invalidation) {
+        long revision = invalidation.getRevision();
+        if (revision <= 0) {
+
+            return true;
+        }
+        if (appliedRevisions.size() >= maxTrackedKeys) {
+
+            // Forgetting revisions only costs a redundant eviction when an old one arrives again
+            appliedRevisions.clear();
+        }
+        boolean[] newer = new boolean[1];
+        appliedRevisions.compute(invalidation.getKey(), (key, previous) -> {
+            if (previous == null || revision > previous) {
+
+                newer[0] = true;
+                return revision;
+            }
+            return previous;
+        });
+        return newer[0];
+    }
+}
@@ -0,0 +1,122 @@
+package com.gogidix.centralconfiguration.configserver.application.cache;
+
+import com.gogidix.centralconfiguration.configserver.domain.port.ConfigurationPort;
+import com.gogidix.centralconfiguration.configserver.domain.port.ConfigurationServicePort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Loads every stored application and profile into the snapshot cache at boot.
+ * Runs as an application runner, which Spring Boot completes before readiness reports accepting traffic, so the
+ * first client requests after a deploy are served from the cache. Loads run on a bounded pool; those still running
+ * at the timeout are abandoned and load on first use instead.
+ */
+@Component
+public class ConfigurationCacheWarmer implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ConfigurationCacheWarmer.class);
+
+    @Autowired
+    private ConfigurationPort configurationPort;
+
+    @Autowired
+    private ConfigurationServicePort configurationService;
+
+    @Value("${config-server.warm-up.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${config-server.warm-up.parallelism:8}")
+    private int parallelism = 8;
+
+    @Value("${config-server.warm-up.timeout:30s}")
+    private Duration timeout = Duration.ofSeconds(30);
+
+    private volatile long lastDurationMillis;
+    private volatile int lastLoaded;
+    private volatile int lastFailed;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (enabled) {
+
+            warmUp();
+        }
+    }
+
+    /**
+     * Load every application and profile; returns the number of configurations loaded.
+     */
+    public int warmUp() {
+        long started = System.nanoTime();
+        AtomicInteger loaded = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, parallelism), runnable -> {
+            Thread thread = new Thread(runnable, "config-warm-up-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> loads = new ArrayList<>();
+            for (String application : configurationPort.getAllApplications()) {
+                for (String profile : configurationPort.getProfilesForApplication(application)) {
+                    loads.add(pool.submit(() -> {
+                        try {
+                            configurationService.getConfiguration(application, profile);
+                            loaded.incrementAndGet();
+                        } catch (RuntimeException e) {
+                            failed.incrementAndGet();
+                            log.warn("Warm-up of {}:{} failed: {}", application, profile, e.getMessage());
+                        }
+                    }));
+                }
+            }
+            pool.shutdown();
+            if (!pool.awaitTermination(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+
+                long abandoned = loads.stream().filter(load -> !load.isDone()).count();
+                log.warn("Configuration warm-up timed out after {}; {} loads left to first use", timeout, abandoned);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            // Listing failed: the server still starts and loads on demand
+            log.warn("Configuration warm-up skipped: {}", e.getMessage());
+        } finally {
+            pool.shutdownNow();
+        }
+
+        lastDurationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        lastLoaded = loaded.get();
+        lastFailed = failed.get();
+        log.info("Configuration warm-up loaded {} configurations ({} failed) in {} ms",
+            lastLoaded, lastFailed, lastDurationMillis);
+        return lastLoaded;
+    }
+
+    public long getLastDurationMillis() {
+        return lastDurationMillis;
+    }
+
+    public int getLastLoaded() {
+        return lastLoaded;
+    }
+
+    public int getLastFailed() {
+        return lastFailed;
+    }
+}
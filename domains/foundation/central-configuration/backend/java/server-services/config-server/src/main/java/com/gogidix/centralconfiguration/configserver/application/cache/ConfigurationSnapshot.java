@@ -0,0 +1,81 @@
+package com.gogidix.centralconfiguration.configserver.application.cache;
+
+import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationResult;
+
+/**
+ * Immutable snapshot held by the configuration snapshot cache.
+ * Pairs a configuration result with the cache generation it was published under.
+ * An invalidated snapshot keeps its result as the last known good one.
+ * A warm snapshot was restored from the warm-start file and is served until the backend confirms it.
+ */
+public final class ConfigurationSnapshot {
+
+    private final String key;
+    private final ConfigurationResult result;
+    private final long generation;
+    private final boolean invalidated;
+    private final boolean warm;
+
+    // Constructor
+    public ConfigurationSnapshot(String key, ConfigurationResult result, long generation) {
+        this(key, result, generation, false, false);
+    }
+
+    private ConfigurationSnapshot(String key, ConfigurationResult result, long generation, boolean invalidated, boolean warm) {
+        this.key = key;
+        this.result = result;
+        this.generation = generation;
+        this.invalidated = invalidated;
+        this.warm = warm;
+    }
+
+    /**
+     * Snapshot restored from the warm-start file; it belongs to no generation, so the first read revalidates it.
+     */
+    public static ConfigurationSnapshot warm(String key, ConfigurationResult result) {
+        return new ConfigurationSnapshot(key, result, -1L, false, true);
+    }
+
+    // Business logic methods
+    public boolean isCurrent(long currentGeneration) {
+        return !isInvalidated() && !warm && generation == currentGeneration;
+    }
+
+    public boolean isWarm() {
+        return warm;
+    }
+
+    public boolean isInvalidated() {
+        return invalidated || result == null;
+    }
+
+    /**
+     * The same snapshot marked invalid, keeping its result as the last known good one.
+     */
+    public ConfigurationSnapshot invalidate() {
+        return new ConfigurationSnapshot(key, result, generation, true, warm);
+    }
+
+    // Getters (immutable)
+    public String getKey() {
+        return key;
+    }
+
+    public ConfigurationResult getResult() {
+        return result;
+    }
+
+    public long getGeneration() {
+        return generation;
+    }
+
+    @Override
+    public String toString() {
+        return "ConfigurationSnapshot{" +
+                "key='" + key + '\'' +
+                ", generation=" + generation +
+                ", invalidated=" + isInvalidated() +
+                ", warm=" + warm +
+                '}';
+    }
+}
@@ -0,0 +1,450 @@
+package com.gogidix.centralconfiguration.configserver.application.cache;
+
+import com.gogidix.centralconfiguration.configserver.domain.event.ConfigurationChangedEvent;
+import com.gogidix.centralconfiguration.configserver.domain.exception.ConfigurationUnavailableException;
+import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationResult;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of immutable configuration snapshots keyed by configuration key
+ * ({@code application:profile:label}). Snapshots are published under a generation counter;
+ * a refresh advances the generation instead of flushing the map, and readers never block on writers.
+ * In stale-while-revalidate mode an outdated snapshot is served at once, marked stale, while a
+ * bounded background load replaces it, so backend latency does not reach clients.
+ */
+@Component
+public class ConfigurationSnapshotCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ConfigurationSnapshotCache.class);
+
+    @Autowired(required = false)
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${config-server.cache.stale-while-revalidate:false}")
+    private boolean staleWhileRevalidate = false;
+
+    @Value("${config-server.cache.refresh-timeout:5s}")
+    private Duration refreshTimeout = Duration.ofSeconds(5);
+
+    @Value("${config-server.cache.refresh-threads:4}")
+    private int refreshThreads = 4;
+
+    @Value("${config-server.cache.max-entries:10000}")
+    private int maxEntries = 10000;
+
+    private final AtomicLong generation = new AtomicLong();
+    private final ConcurrentMap<String, ConfigurationSnapshot> snapshots = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Set<String>> keysByGroup = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Long> invalidationStamps = new ConcurrentHashMap<>();
+    private final AtomicLong invalidations = new AtomicLong();
+    private volatile long prunedStamp;
+    private final ConcurrentMap<String, LoadFlight> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder coalescedLoads = new LongAdder();
+    private final LongAdder failedLoads = new LongAdder();
+    private final LongAdder staleServed = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder failedRefreshes = new LongAdder();
+    private volatile ThreadPoolExecutor refreshExecutor;
+
+    /**
+     * Get the current snapshot result for a key, loading it when missing or outdated.
+     * Concurrent misses on a key share one load. If the load fails, the last known good result is
+     * served as stale; without one, every waiting caller gets a {@link ConfigurationUnavailableException}.
+     */
+    public ConfigurationResult get(String key, Supplier<ConfigurationResult> loader) {
+        long currentGeneration = generation.get();
+        ConfigurationSnapshot snapshot = snapshots.get(key);
+        if (snapshot != null && snapshot.isCurrent(currentGeneration)) {
+
+            hits.increment();
+            return snapshot.getResult();
+        }
+
+        String group = groupOf(key);
+        long stamp = stampOf(group);
+        ConfigurationResult lastGood = snapshot != null ? snapshot.getResult() : null;
+        if (lastGood != null && (staleWhileRevalidate || snapshot.isWarm()) && !snapshot.isInvalidated()) {
+
+            // Only refresh-outdated and warm-start snapshots: after a write the caller should read its own change
+            revalidate(key, group, loader, lastGood, currentGeneration, stamp);
+            staleServed.increment();
+            return lastGood.asStale();
+        }
+
+        LoadFlight flight = new LoadFlight(currentGeneration, stamp);
+        while (true) {
+            LoadFlight existing = inFlight.putIfAbsent(key, flight);
+            if (existing == null) {
+
+                break;
+            }
+            if (existing.canServe(currentGeneration, stamp)) {
+
+                coalescedLoads.increment();
+                return existing.await();
+            }
+            // Started before a refresh or write this caller must observe; take over the key
+            if (inFlight.replace(key, existing, flight)) {
+
+                break;
+            }
+        }
+
+        loads.increment();
+        try {
+            ConfigurationResult result = publish(key, group, loader.get(), currentGeneration, stamp);
+            flight.result.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            failedLoads.increment();
+            if (lastGood != null) {
+
+                log.warn("Serving stale configuration {} after load failure: {}", key, e.getMessage());
+                staleServed.increment();
+                flight.result.complete(lastGood.asStale());
+                return lastGood.asStale();
+            }
+            ConfigurationUnavailableException unavailable = e instanceof ConfigurationUnavailableException u
+                ? u : new ConfigurationUnavailableException(key, e);
+            flight.result.completeExceptionally(unavailable);
+            throw unavailable;
+        } catch (Error e) {
+            failedLoads.increment();
+            flight.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    /**
+     * Get the snapshot currently held for a key, whether or not it is still current.
+     */
+    public ConfigurationSnapshot peek(String key) {
+        return snapshots.get(key);
+    }
+
+    /**
+     * Restore snapshots saved by an earlier run. They are served, marked stale, until the first read of each key
+     * has revalidated it against the backend; keys already loaded by this run are left alone.
+     */
+    public int preload(Map<String, ConfigurationResult> results) {
+        int restored = 0;
+        for (Map.Entry<String, ConfigurationResult> entry : results.entrySet()) {
+            keysOf(groupOf(entry.getKey())).add(entry.getKey());
+            if (snapshots.putIfAbsent(entry.getKey(), ConfigurationSnapshot.warm(entry.getKey(), entry.getValue())) == null) {
+
+                restored++;
+            }
+        }
+        return restored;
+    }
+
+    /**
+     * Results of every snapshot still believed current or awaiting revalidation, for the warm-start file.
+     */
+    public Map<String, ConfigurationResult> export() {
+        Map<String, ConfigurationResult> exported = new TreeMap<>();
+        snapshots.forEach((key, snapshot) -> {
+            if (!snapshot.isInvalidated()) {
+
+                exported.put(key, snapshot.getResult());
+            }
+        });
+        return exported;
+    }
+
+    /**
+     * Invalidate every label cached for an application and profile, found through the key index of that group.
+     * Loads that started before the call are discarded rather than published.
+     */
+    public void invalidate(String application, String profile) {
+        String group = application + ":" + profile;
+        synchronized (invalidationStamps) {
+            if (invalidationStamps.size() >= maxEntries && !invalidationStamps.containsKey(group)) {
+                // Bounded like the snapshots: forget every stamp, and treat loads started before now as invalidated
+                prunedStamp = invalidations.get();
+                invalidationStamps.clear();
+            }
+            invalidationStamps.put(group, invalidations.incrementAndGet());
+        }
+
+        Set<String> keys = keysByGroup.get(group);
+        if (keys != null) {
+
+            for (String key : keys) {
+                if (snapshots.computeIfPresent(key, (k, snapshot) -> snapshot.invalidate()) != null) {
+
+                    evictions.increment();
+                }
+            }
+        }
+    }
+
+    /**
+     * Advance the generation, marking every published snapshot as outdated.
+     */
+    public long advanceGeneration() {
+        return generation.incrementAndGet();
+    }
+
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    public int size() {
+        return snapshots.size();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public long getLoadCount() {
+        return loads.sum();
+    }
+
+    public long getCoalescedLoadCount() {
+        return coalescedLoads.sum();
+    }
+
+    public long getFailedLoadCount() {
+        return failedLoads.sum();
+    }
+
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    public long getStaleServedCount() {
+        return staleServed.sum();
+    }
+
+    public long getRefreshCount() {
+        return refreshes.sum();
+    }
+
+    public long getFailedRefreshCount() {
+        return failedRefreshes.sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ThreadPoolExecutor executor = refreshExecutor;
+        if (executor != null) {
+
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Start a background load of an outdated key unless one is already running.
+     * The load is cancelled and its thread interrupted after the refresh timeout, so a hung backend call
+     * gives its refresh thread back instead of starving later attempts. A changed result is announced
+     * with a change event, since readers were told nothing had changed while it loaded.
+     */
+    private void revalidate(String key, String group, Supplier<ConfigurationResult> loader,
+                            ConfigurationResult lastGood, long loadGeneration, long stamp) {
+        LoadFlight flight = new LoadFlight(loadGeneration, stamp);
+        LoadFlight existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null && (existing.canServe(loadGeneration, stamp) || !inFlight.replace(key, existing, flight))) {
+
+            return;
+        }
+
+        refreshes.increment();
+        CompletableFuture<ConfigurationResult> outcome = new CompletableFuture<>();
+        try {
+            Future<?> load = refreshExecutor().submit(() -> {
+                try {
+                    ConfigurationResult result = publish(key, group, loader.get(), loadGeneration, stamp);
+                    if (result != lastGood) {
+
+                        announceChange(group);
+                    }
+                    outcome.complete(result);
+                } catch (RuntimeException | Error e) {
+                    outcome.completeExceptionally(e);
+                }
+            });
+            CompletableFuture.delayedExecutor(refreshTimeout.toMillis(), TimeUnit.MILLISECONDS).execute(() -> {
+                if (outcome.completeExceptionally(new TimeoutException("Refresh exceeded " + refreshTimeout))) {
+
+                    load.cancel(true);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Refresh pool saturated by a slow backend; the next read tries again
+            inFlight.remove(key, flight);
+            failedRefreshes.increment();
+            flight.result.completeExceptionally(e);
+            return;
+        }
+        outcome.whenComplete((result, error) -> {
+            inFlight.remove(key, flight);
+            if (error != null) {
+
+                failedRefreshes.increment();
+                log.warn("Background refresh of configuration {} failed: {}", key, error.toString());
+                flight.result.completeExceptionally(error);
+            } else {
+                flight.result.complete(result);
+            }
+        });
+    }
+
+    private void announceChange(String group) {
+        ApplicationEventPublisher publisher = eventPublisher;
+        int separator = group.indexOf(':');
+        if (publisher != null && separator > 0) {
+
+            publisher.publishEvent(ConfigurationChangedEvent.of(group.substring(0, separator), group.substring(separator + 1)));
+        }
+    }
+
+    private ThreadPoolExecutor refreshExecutor() {
+        ThreadPoolExecutor executor = refreshExecutor;
+        if (executor == null) {
+
+            synchronized (this) {
+                executor = refreshExecutor;
+                if (executor == null) {
+
+                    AtomicInteger threadCount = new AtomicInteger();
+                    executor = new ThreadPoolExecutor(refreshThreads, refreshThreads, 60L, TimeUnit.SECONDS,
+                        new ArrayBlockingQueue<>(256), runnable -> {
+                            Thread thread = new Thread(runnable, "config-refresh-" + threadCount.incrementAndGet());
+                            thread.setDaemon(true);
+                            return thread;
+                        });
+                    executor.allowCoreThreadTimeOut(true);
+                    refreshExecutor = executor;
+                }
+            }
+        }
+        return executor;
+    }
+
+    private ConfigurationResult publish(String key, String group, ConfigurationResult result, long loadGeneration, long stamp) {
+        ConfigurationSnapshot published = snapshots.compute(key, (k, existing) -> {
+            if (existing == null) {
+
+                if (snapshots.size() >= maxEntries) {
+                    // Full: keep the snapshots already cached and serve this key uncached
+                    return null;
+                }
+                // Indexed before the stamp check, so an invalidation racing this publish finds the key
+                keysOf(group).add(k);
+            }
+            if (stampOf(group) != stamp) {
+                // Invalidated while loading: the loaded result may predate the write
+                return existing;
+            }
+            if (existing != null && !existing.isInvalidated() && existing.getGeneration() >= loadGeneration) {
+                return existing;
+            }
+            if (existing != null && existing.getResult() != null && sameContent(existing.getResult(), result)) {
+                // Unchanged after a refresh or write: keep the old instance so results derived from it stay valid
+                return new ConfigurationSnapshot(k, existing.getResult(), loadGeneration);
+            }
+            return new ConfigurationSnapshot(k, result, loadGeneration);
+        });
+        return published != null && published.getResult() != null && sameContent(published.getResult(), result)
+            ? published.getResult() : result;
+    }
+
+    private static boolean sameContent(ConfigurationResult left, ConfigurationResult right) {
+        if (left.getRevision() > 0 && right.getRevision() > 0) {
+
+            // Stored revisions advance on every change, so they stand in for the content
+            return left.getRevision() == right.getRevision();
+        }
+        return Objects.equals(left.getProperties(), right.getProperties()) &&
+               Objects.equals(left.getVersion(), right.getVersion()) &&
+               Objects.equals(left.getLabel(), right.getLabel());
+    }
+
+    /**
+     * A backend load in progress, joined by callers that miss on the same key meanwhile.
+     */
+    private static final class LoadFlight {
+
+        private final long generation;
+        private final long stamp;
+        private final CompletableFuture<ConfigurationResult> result = new CompletableFuture<>();
+
+        LoadFlight(long generation, long stamp) {
+            this.generation = generation;
+            this.stamp = stamp;
+        }
+
+        boolean canServe(long callerGeneration, long callerStamp) {
+            return generation >= callerGeneration && stamp == callerStamp;
+        }
+
+        ConfigurationResult await() {
+            try {
+                return result.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+
+                    throw cause;
+                }
+                if (e.getCause() instanceof Error cause) {
+
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Invalidation stamp of a group; groups forgotten when the stamps were pruned share the stamp of that moment.
+     */
+    private long stampOf(String group) {
+        return invalidationStamps.getOrDefault(group, prunedStamp);
+    }
+
+    private Set<String> keysOf(String group) {
+        return keysByGroup.computeIfAbsent(group, g -> ConcurrentHashMap.newKeySet());
+    }
+
+    private static String groupOf(String key) {
+        int separator = key.lastIndexOf(':');
+        return separator > 0 ? key.substring(0, separator) : key;
+    }
+}
@@ -0,0 +1,246 @@
+package com.gogidix.centralconfiguration.configserver.application.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gogidix.centralconfiguration.configserver.domain.model.CompactPropertyMap;
+import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.CRC32C;
+
+/**
+ * Binary format of the warm-start file: a header with magic, format version and entry count, followed by one
+ * length-prefixed, CRC32C-checked entry per snapshot. Entries failing their checksum are skipped on read; a file
+ * with another magic or version is ignored as a whole, so a format change only costs one cold start.
+ */
+final class ConfigurationSnapshotFile {
+
+    private static final Logger log = LoggerFactory.getLogger(ConfigurationSnapshotFile.class);
+
+    static final int MAGIC = 0x47435346;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 4 + 4 + 8 + 4;
+
+    private static final byte NULL = 0;
+    private static final byte STRING = 1;
+    private static final byte INTEGER = 2;
+    private static final byte LONG = 3;
+    private static final byte DOUBLE = 4;
+    private static final byte BOOLEAN = 5;
+    private static final byte JSON = 6;
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private ConfigurationSnapshotFile() {
+    }
+
+    /**
+     * Write snapshot results to a temporary file and move it over the target, so readers never see a partial file.
+     */
+    static void write(Path file, Map<String, ConfigurationResult> results) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+
+            Files.createDirectories(parent);
+        }
+        Path temporary = file.resolveSibling("." + file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(System.currentTimeMillis());
+            out.writeInt(results.size());
+
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            CRC32C checksum = new CRC32C();
+            for (Map.Entry<String, ConfigurationResult> entry : results.entrySet()) {
+                buffer.reset();
+                writeEntry(new DataOutputStream(buffer), entry.getKey(), entry.getValue());
+                checksum.reset();
+                checksum.update(buffer.toByteArray());
+                out.writeInt(buffer.size());
+                out.writeInt((int) checksum.getValue());
+                buffer.writeTo(out);
+            }
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Read every intact entry from a memory-mapped file; empty when the file is missing or of another format.
+     */
+    static Map<String, ConfigurationResult> read(Path file) throws IOException {
+        if (!Files.isRegularFile(file)) {
+
+            return Map.of();
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+
+                log.warn("Ignoring warm-start file {} of {} bytes", file, size);
+                return Map.of();
+            }
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            int magic = buffer.getInt();
+            int version = buffer.getInt();
+            if (magic != MAGIC || version != VERSION) {
+
+                log.warn("Ignoring warm-start file {} with format {}/{}", file, Integer.toHexString(magic), version);
+                return Map.of();
+            }
+            buffer.getLong();
+            int count = buffer.getInt();
+
+            Map<String, ConfigurationResult> results = new LinkedHashMap<>();
+            CRC32C checksum = new CRC32C();
+            int corrupt = 0;
+            for (int i = 0; i < count && buffer.remaining() >= 8; i++) {
+                int length = buffer.getInt();
+                int expected = buffer.getInt();
+                if (length < 0 || length > buffer.remaining()) {
+
+                    // Truncated: nothing after this point can be framed
+                    corrupt += count - i;
+                    break;
+                }
+                ByteBuffer entry = buffer.slice(buffer.position(), length);
+                buffer.position(buffer.position() + length);
+                checksum.reset();
+                checksum.update(entry.duplicate());
+                if ((int) checksum.getValue() != expected) {
+
+                    corrupt++;
+                    continue;
+                }
+                try {
+                    readEntry(entry, results);
+                } catch (RuntimeException | IOException e) {
+                    corrupt++;
+                }
+            }
+            if (corrupt > 0) {
+
+                log.warn("Skipped {} corrupt entries of warm-start file {}", corrupt, file);
+            }
+            return results;
+        }
+    }
+
+    private static void writeEntry(DataOutputStream out, String key, ConfigurationResult result) throws IOException {
+        writeString(out, key);
+        writeString(out, result.getApplication());
+        writeString(out, result.getProfile());
+        writeString(out, result.getLabel());
+        writeString(out, result.getVersion());
+        out.writeLong(result.getRevision());
+
+        Map<String, Object> properties = result.getProperties();
+        if (properties == null) {
+
+            out.writeInt(-1);
+            return;
+        }
+        out.writeInt(properties.size());
+        for (Map.Entry<String, Object> property : properties.entrySet()) {
+            writeString(out, property.getKey());
+            writeValue(out, property.getValue());
+        }
+    }
+
+    private static void readEntry(ByteBuffer in, Map<String, ConfigurationResult> results) throws IOException {
+        String key = readString(in);
+        String application = readString(in);
+        String profile = readString(in);
+        String label = readString(in);
+        String version = readString(in);
+        long revision = in.getLong();
+
+        int count = in.getInt();
+        Map<String, Object> properties = null;
+        if (count >= 0) {
+
+            properties = new HashMap<>(Math.max(4, count * 4 / 3 + 1));
+            for (int i = 0; i < count; i++) {
+                properties.put(readString(in), readValue(in));
+            }
+            properties = CompactPropertyMap.of(properties);
+        }
+        results.put(key, new ConfigurationResult(application, profile, label, version, properties, null, revision));
+    }
+
+    private static void writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value == null) {
+
+            out.writeByte(NULL);
+        } else if (value instanceof String string) {
+            out.writeByte(STRING);
+            writeString(out, string);
+        } else if (value instanceof Integer number) {
+            out.writeByte(INTEGER);
+            out.writeInt(number);
+        } else if (value instanceof Long number) {
+            out.writeByte(LONG);
+            out.writeLong(number);
+        } else if (value instanceof Double number) {
+            out.writeByte(DOUBLE);
+            out.writeDouble(number);
+        } else if (value instanceof Boolean flag) {
+            out.writeByte(BOOLEAN);
+            out.writeBoolean(flag);
+        } else {
+            // Lists, maps and anything else the backend stored as JSON
+            out.writeByte(JSON);
+            writeString(out, objectMapper.writeValueAsString(value));
+        }
+    }
+
+    private static Object readValue(ByteBuffer in) throws IOException {
+        byte type = in.get();
+        return switch (type) {
+            case NULL -> null;
+            case STRING -> readString(in);
+            case INTEGER -> in.getInt();
+            case LONG -> in.getLong();
+            case DOUBLE -> in.getDouble();
+            case BOOLEAN -> in.get() != 0;
+            case JSON -> objectMapper.readValue(readString(in), Object.class);
+            default -> throw new IOException("Unknown value type " + type);
+        };
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
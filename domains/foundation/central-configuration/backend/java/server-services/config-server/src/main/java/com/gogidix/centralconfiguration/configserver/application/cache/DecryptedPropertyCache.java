@@ -0,0 +1,169 @@
+package com.gogidix.centralconfiguration.configserver.application.cache;
+
+import com.gogidix.centralconfiguration.configserver.domain.event.ConfigurationChangedEvent;
+import com.gogidix.centralconfiguration.configserver.domain.model.CompactPropertyMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.crypto.encrypt.TextEncryptor;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decrypts {@code {cipher}} property values of a configuration layer once per stored revision.
+ * Plaintext layers are kept in a bounded map keyed by configuration key and evicted when the layer changes,
+ * so reloads of an unchanged revision reuse them instead of decrypting again.
+ * Without a {@link TextEncryptor} bean, values are served as stored.
+ */
+@Component
+public class DecryptedPropertyCache {
+
+    private static final Logger log = LoggerFactory.getLogger(DecryptedPropertyCache.class);
+
+    public static final String CIPHER_PREFIX = "{cipher}";
+
+    @Autowired
+    private ObjectProvider<TextEncryptor> textEncryptor;
+
+    @Value("${config-server.decrypt.max-entries:4096}")
+    private int maxEntries = 4096;
+
+    private final ConcurrentMap<String, DecryptedLayer> layers = new ConcurrentHashMap<>();
+    private final Set<String> secretKeys = ConcurrentHashMap.newKeySet();
+    private final LongAdder decrypts = new LongAdder();
+    private final LongAdder avoidedDecrypts = new LongAdder();
+
+    /**
+     * Get the properties of a layer with every {@code {cipher}} value decrypted.
+     * A layer decrypted before at the same revision, or with the same stored values, is served from the cache.
+     */
+    public Map<String, Object> decrypt(String key, long revision, Map<String, Object> properties) {
+        if (properties == null || properties.isEmpty()) {
+
+            return properties;
+        }
+        DecryptedLayer cached = layers.get(key);
+        if (cached != null && cached.matches(revision, properties)) {
+
+            avoidedDecrypts.add(cached.cipherCount);
+            return cached.plaintext;
+        }
+
+        TextEncryptor encryptor = textEncryptor != null ? textEncryptor.getIfUnique() : null;
+        Map<String, Object> plaintext = null;
+        int cipherCount = 0;
+        for (Map.Entry<String, Object> entry : properties.entrySet()) {
+            if (!(entry.getValue() instanceof String value) || !value.startsWith(CIPHER_PREFIX) || encryptor == null) {
+
+                continue;
+            }
+            if (plaintext == null) {
+
+                plaintext = new HashMap<>(properties);
+            }
+            cipherCount++;
+            decrypts.increment();
+            try {
+                plaintext.put(entry.getKey(), encryptor.decrypt(value.substring(CIPHER_PREFIX.length())));
+            } catch (RuntimeException e) {
+                // Wrong key or corrupt value: serve it as stored rather than fail the whole layer
+                log.warn("Cannot decrypt property {} of {}: {}", entry.getKey(), key, e.getMessage());
+            }
+        }
+        if (plaintext == null) {
+
+            return properties;
+        }
+
+        Map<String, Object> result = CompactPropertyMap.of(plaintext);
+        secretKeys.add(key);
+        if (layers.size() >= maxEntries) {
+
+            layers.clear();
+        }
+        layers.put(key, new DecryptedLayer(revision, properties, result, cipherCount));
+        return result;
+    }
+
+    /**
+     * Drop the plaintext of every label cached for an application and profile.
+     */
+    public void evict(String application, String profile) {
+        String prefix = application + ":" + profile + ":";
+        layers.keySet().removeIf(key -> key.startsWith(prefix));
+        secretKeys.removeIf(key -> key.startsWith(prefix));
+    }
+
+    /**
+     * Whether the layer was last loaded with decrypted values. Unlike the plaintext itself, this survives the size
+     * bound, so callers persisting layers can keep secrets off disk.
+     */
+    public boolean holdsSecrets(String key) {
+        return secretKeys.contains(key);
+    }
+
+    /**
+     * Evict changed layers. A full refresh keeps the cache: entries are checked against the reloaded revision anyway.
+     */
+    @EventListener
+    public void onConfigurationChanged(ConfigurationChangedEvent event) {
+        for (ConfigurationChangedEvent.Target target : event.getTargets()) {
+            if (target.getProfile() != null) {
+
+                evict(target.getApplication(), target.getProfile());
+            } else {
+                layers.keySet().removeIf(key -> key.startsWith(target.getApplication() + ":"));
+                secretKeys.removeIf(key -> key.startsWith(target.getApplication() + ":"));
+            }
+        }
+    }
+
+    public long getDecryptCount() {
+        return decrypts.sum();
+    }
+
+    public long getAvoidedDecryptCount() {
+        return avoidedDecrypts.sum();
+    }
+
+    public int size() {
+        return layers.size();
+    }
+
+    /**
+     * Plaintext of one layer, with the revision and stored values it was decrypted from.
+     */
+    private static final class DecryptedLayer {
+
+        private final long revision;
+        private final Map<String, Object> source;
+        private final Map<String, Object> plaintext;
+        private final int cipherCount;
+
+        DecryptedLayer(long revision, Map<String, Object> source, Map<String, Object> plaintext, int cipherCount) {
+            this.revision = revision;
+            this.source = source;
+            this.plaintext = plaintext;
+            this.cipherCount = cipherCount;
+        }
+
+        boolean matches(long otherRevision, Map<String, Object> otherSource) {
+            if (revision > 0 && otherRevision > 0) {
+
+                // Stored revisions advance on every change, so they stand in for the content
+                return revision == otherRevision;
+            }
+            return source == otherSource || Objects.equals(source, otherSource);
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.gogidix.centralconfiguration.configserver.application.cache;
+
+import com.gogidix.centralconfiguration.configserver.domain.event.ConfigurationChangedEvent;
+import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationQuery;
+import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationResult;
+import com.gogidix.centralconfiguration.configserver.domain.port.ConfigurationPort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Answers lookups for unknown applications and profiles without touching storage.
+ * A Bloom filter over stored {@code application} and {@code application:profile} keys is built on first use
+ * and grown by writes; results for definite misses are kept in a small bounded map.
+ */
+@Component
+public class NegativeLookupCache {
+
+    private static final Logger log = LoggerFactory.getLogger(NegativeLookupCache.class);
+
+    @Autowired
+    private ConfigurationPort configurationPort;
+
+    @Value("${config-server.negative-cache.expected-keys:10000}")
+    private int expectedKeys = 10000;
+
+    @Value("${config-server.negative-cache.false-positive-rate:0.01}")
+    private double falsePositiveRate = 0.01;
+
+    @Value("${config-server.negative-cache.max-entries:1024}")
+    private int maxEntries = 1024;
+
+    private final ReentrantLock buildLock = new ReentrantLock();
+    private final ConcurrentMap<String, ConfigurationResult> misses = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private volatile BloomFilter filter;
+
+    /**
+     * Check whether an application may have stored configuration.
+     * Answers true until the filter has been built, so storage stays authoritative meanwhile.
+     */
+    public boolean mightExist(String application) {
+        BloomFilter current = filter();
+        return current == null || current.mightContain(application);
+    }
+
+    /**
+     * Check whether an application and profile may have stored configuration, counting definite misses.
+     */
+    public boolean mightExist(String application, String profile) {
+        BloomFilter current = filter();
+        if (current == null || current.mightContain(application + ":" + profile)) {
+
+            return true;
+        }
+        hits.increment();
+        return false;
+    }
+
+    /**
+     * Get the result served for a query whose application is definitely unknown.
+     * Entries are only consulted after a filter miss, so they never hide configuration saved later.
+     */
+    public ConfigurationResult getMiss(ConfigurationQuery query, Function<ConfigurationQuery, ConfigurationResult> factory) {
+        hits.increment();
+        String key = query.getConfigurationKey();
+        ConfigurationResult result = misses.get(key);
+        if (result != null) {
+
+            return result;
+        }
+        if (misses.size() >= maxEntries) {
+            // Scanners rotate names; dropping everything keeps the map bounded without LRU bookkeeping
+            misses.clear();
+        }
+        result = factory.apply(query);
+        misses.put(key, result);
+        return result;
+    }
+
+    /**
+     * Record a stored application and profile. Waits for a filter build in progress,
+     * so a key saved while storage was being listed is never lost.
+     */
+    public void markKnown(String application, String profile) {
+        buildLock.lock();
+        try {
+            BloomFilter current = filter;
+            if (current != null) {
+
+                current.put(application);
+                current.put(application + ":" + profile);
+            }
+        } finally {
+            buildLock.unlock();
+        }
+    }
+
+    /**
+     * Drop the filter; it is rebuilt from storage on the next lookup. Deleted keys leave it this way.
+     */
+    public void reset() {
+        buildLock.lock();
+        try {
+            filter = null;
+        } finally {
+            buildLock.unlock();
+        }
+        misses.clear();
+    }
+
+    /**
+     * Keep the filter in step with writes that reach storage through other paths.
+     */
+    @EventListener
+    public void onConfigurationChanged(ConfigurationChangedEvent event) {
+        if (event.isAll()) {
+
+            reset();
+            return;
+        }
+        for (ConfigurationChangedEvent.Target target : event.getTargets()) {
+            if (target.getProfile() != null) {
+
+                markKnown(target.getApplication(), target.getProfile());
+            }
+        }
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public int size() {
+        return misses.size();
+    }
+
+    public boolean isBuilt() {
+        return filter != null;
+    }
+
+    private BloomFilter filter() {
+        BloomFilter current = filter;
+        if (current != null || !buildLock.tryLock()) {
+
+            // Another caller is building; fall through to storage rather than wait
+            return current;
+        }
+        try {
+            if (filter == null) {
+
+                filter = build();
+            }
+            return filter;
+        } catch (RuntimeException e) {
+            log.warn("Could not build the known-configuration filter, lookups go to storage: {}", e.getMessage());
+            return null;
+        } finally {
+            buildLock.unlock();
+        }
+    }
+
+    private BloomFilter build() {
+        List<String> applications = configurationPort.getAllApplications();
+        Map<String, List<String>> profiles = new HashMap<>();
+        int keys = 0;
+        for (String application : applications) {
+            List<String> applicationProfiles = configurationPort.getProfilesForApplication(application);
+            profiles.put(application, applicationProfiles);
+            keys += 1 + applicationProfiles.size();
+        }
+
+        // Headroom for keys added by writes before the next rebuild
+        BloomFilter built = new BloomFilter(Math.max(expectedKeys, keys * 2), falsePositiveRate);
+        profiles.forEach((application, applicationProfiles) -> {
+            built.put(application);
+            for (String profile : applicationProfiles) {
+                built.put(application + ":" + profile);
+            }
+        });
+        misses.clear();
+        return built;
+    }
+}
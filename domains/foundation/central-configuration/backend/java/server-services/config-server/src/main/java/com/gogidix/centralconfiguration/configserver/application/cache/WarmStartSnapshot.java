@@ -0,0 +1,138 @@
+package com.gogidix.centralconfiguration.configserver.application.cache;
+
+import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationResult;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Persists the snapshot cache to a local file and restores it on boot, so a restarted server answers from the
+ * previous run's layers at once instead of waiting for the backend. Restored layers are served as stale until their
+ * first read has revalidated them. Layers holding decrypted values are never written to disk.
+ */
+@Component
+public class WarmStartSnapshot {
+
+    private static final Logger log = LoggerFactory.getLogger(WarmStartSnapshot.class);
+
+    @Autowired
+    private ConfigurationSnapshotCache snapshotCache;
+
+    @Autowired
+    private DecryptedPropertyCache decryptedPropertyCache;
+
+    @Value("${config-server.warm-start.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${config-server.warm-start.file:data/config-snapshot.bin}")
+    private String file = "data/config-snapshot.bin";
+
+    @Value("${config-server.warm-start.export-interval:60s}")
+    private Duration exportInterval = Duration.ofSeconds(60);
+
+    private volatile Map<String, ConfigurationResult> lastExported = Map.of();
+    private ScheduledExecutorService exporter;
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+
+            return;
+        }
+        restore();
+        exporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "config-snapshot-exporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = exportInterval.toMillis();
+        exporter.scheduleWithFixedDelay(this::exportQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (exporter != null) {
+
+            exporter.shutdownNow();
+            exportQuietly();
+        }
+    }
+
+    /**
+     * Load the file of an earlier run into the snapshot cache; a missing or unreadable file means a cold start.
+     */
+    public int restore() {
+        try {
+            Map<String, ConfigurationResult> results = ConfigurationSnapshotFile.read(Path.of(file));
+            int restored = snapshotCache.preload(results);
+            lastExported = results;
+            if (restored > 0) {
+
+                log.info("Restored {} configuration snapshots from {}", restored, file);
+            }
+            return restored;
+        } catch (IOException e) {
+            log.warn("Cannot read warm-start file {}: {}", file, e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * Write the cached layers to the file; false when nothing changed since the last export.
+     */
+    public synchronized boolean export() throws IOException {
+        Map<String, ConfigurationResult> results = new TreeMap<>();
+        snapshotCache.export().forEach((key, result) -> {
+            if (!decryptedPropertyCache.holdsSecrets(key)) {
+
+                results.put(key, result);
+            }
+        });
+        if (unchanged(results)) {
+
+            return false;
+        }
+        ConfigurationSnapshotFile.write(Path.of(file), results);
+        lastExported = results;
+        return true;
+    }
+
+    private void exportQuietly() {
+        try {
+            export();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Cannot write warm-start file {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Results are immutable and a reload with the same content keeps the cached instance, so identity suffices.
+     */
+    private boolean unchanged(Map<String, ConfigurationResult> results) {
+        Map<String, ConfigurationResult> previous = lastExported;
+        if (previous.size() != results.size()) {
+
+            return false;
+        }
+        for (Map.Entry<String, ConfigurationResult> entry : results.entrySet()) {
+            if (previous.get(entry.getKey()) != entry.getValue()) {
+
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,9 @@
+/**
+ * com.gogidix.centralconfiguration.configserver.application.cache package.
+ *
+ * <p>This package contains components for the com.gogidix.centralconfiguration.configserver.application.cache module
+ * within the Gogidix ecosystem.</p>
+ *
+ * @since 1.0.0
+ */
+package com.gogidix.centralconfiguration.configserver.application.cache;
@@ -0,0 +1,205 @@
+package com.gogidix.centralconfiguration.configserver.application.history;
+
+import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationDelta;
+import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationResult;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded per-key revision history of configuration changes.
+ * Each recorded revision keeps only the keys it added, changed and removed, so a delta
+ * since any retained revision can be folded without storing full property maps.
+ * Revisions carry a random epoch of this process in their high bits, so a revision issued by another node
+ * or an earlier process never matches one issued here and gets a full payload instead of a wrong delta.
+ * Below the epoch, revisions of every key come from one counter, and the number of tracked keys is bounded.
+ */
+@Component
+public class ConfigurationChangeLog {
+
+    static final int EPOCH_SHIFT = 39;
+    private static final long EPOCH_MASK = -1L << EPOCH_SHIFT;
+
+    private final long epoch = newEpoch();
+
+    @Value("${config-server.history.max-revisions:64}")
+    private int maxRevisions = 64;
+
+    @Value("${config-server.history.max-keys:10000}")
+    private int maxKeys = 10000;
+
+    private final ConcurrentMap<String, KeyHistory> histories = new ConcurrentHashMap<>();
+    private final AtomicLong lastRevision = new AtomicLong(epoch);
+
+    /**
+     * Record the properties observed for a key and return their revision.
+     * Unchanged content keeps the current revision.
+     */
+    public long record(String key, Map<String, Object> properties) {
+        KeyHistory history = histories.get(key);
+        if (history == null) {
+
+            if (histories.size() >= maxKeys) {
+                // Revisions come from one counter, so a key tracked again starts past everything it issued before
+                histories.clear();
+            }
+            history = histories.computeIfAbsent(key, k -> new KeyHistory(lastRevision.incrementAndGet()));
+        }
+        synchronized (history) {
+            return history.record(properties, maxRevisions, lastRevision);
+        }
+    }
+
+    /**
+     * Compute the delta between a client revision and the given current result.
+     * Falls back to a full payload when the client revision is unknown or no longer retained.
+     */
+    public ConfigurationDelta delta(String key, long sinceRevision, ConfigurationResult current) {
+        KeyHistory history = histories.get(key);
+        if (history == null || (sinceRevision & EPOCH_MASK) != epoch) {
+
+            return ConfigurationDelta.full(current, sinceRevision);
+        }
+        synchronized (history) {
+            return history.delta(sinceRevision, current);
+        }
+    }
+
+    /**
+     * Forget the history of a key.
+     */
+    public void remove(String key) {
+        histories.remove(key);
+    }
+
+    /**
+     * Epoch bits of this process: a random, non-zero value in the bits above a key's change counter.
+     */
+    private static long newEpoch() {
+        long bits = 1 + new SecureRandom().nextInt((1 << (Long.SIZE - 1 - EPOCH_SHIFT)) - 1);
+        return bits << EPOCH_SHIFT;
+    }
+
+    /**
+     * Revision history of a single configuration key; its revisions are drawn from the log's counter.
+     */
+    private static final class KeyHistory {
+
+        private final Deque<Change> changes = new ArrayDeque<>();
+        private long floorRevision;
+        private long revision;
+        private Map<String, Object> lastProperties;
+
+        private KeyHistory(long seed) {
+            this.floorRevision = seed;
+            this.revision = seed;
+        }
+
+        private long record(Map<String, Object> properties, int maxRevisions, AtomicLong lastRevision) {
+            Map<String, Object> next = properties != null ? properties : Map.of();
+            if (lastProperties == null) {
+
+                lastProperties = new HashMap<>(next);
+                return revision;
+            }
+            if (lastProperties.equals(next)) {
+
+                return revision;
+            }
+
+            Set<String> added = new HashSet<>();
+            Set<String> changed = new HashSet<>();
+            Set<String> removed = new HashSet<>();
+            next.forEach((k, v) -> {
+                if (!lastProperties.containsKey(k)) {
+
+                    added.add(k);
+                } else if (!Objects.equals(lastProperties.get(k), v)) {
+                    changed.add(k);
+                }
+            });
+            for (String k : lastProperties.keySet()) {
+                if (!next.containsKey(k)) {
+
+                    removed.add(k);
+                }
+            }
+
+            revision = lastRevision.incrementAndGet();
+            changes.addLast(new Change(revision, added, changed, removed));
+            while (changes.size() > maxRevisions) {
+                floorRevision = changes.removeFirst().revision;
+            }
+            lastProperties = new HashMap<>(next);
+            return revision;
+        }
+
+        private ConfigurationDelta delta(long sinceRevision, ConfigurationResult current) {
+            long target = current.getRevision();
+            if (sinceRevision < floorRevision || sinceRevision > target || target > revision) {
+
+                return ConfigurationDelta.full(current, sinceRevision);
+            }
+
+            // Kind of the first event seen per key decides whether the key existed at the client revision
+            Map<String, Boolean> existedAtSince = new HashMap<>();
+            for (Change change : changes) {
+                if (change.revision <= sinceRevision || change.revision > target) {
+
+                    continue;
+                }
+                change.added.forEach(k -> existedAtSince.putIfAbsent(k, Boolean.FALSE));
+                change.changed.forEach(k -> existedAtSince.putIfAbsent(k, Boolean.TRUE));
+                change.removed.forEach(k -> existedAtSince.putIfAbsent(k, Boolean.TRUE));
+            }
+
+            Map<String, Object> currentProperties = current.getProperties() != null ? current.getProperties() : Map.of();
+            Map<String, Object> added = new LinkedHashMap<>();
+            Map<String, Object> changed = new LinkedHashMap<>();
+            Set<String> removed = new TreeSet<>();
+            existedAtSince.forEach((k, existed) -> {
+                boolean existsNow = currentProperties.containsKey(k);
+                if (existed && existsNow) {
+
+                    changed.put(k, currentProperties.get(k));
+                } else if (existsNow) {
+                    added.put(k, currentProperties.get(k));
+                } else if (existed) {
+                    removed.add(k);
+                }
+            });
+            return ConfigurationDelta.incremental(current, sinceRevision, added, changed, removed);
+        }
+    }
+
+    /**
+     * Keys touched by a single revision.
+     */
+    private static final class Change {
+
+        private final long revision;
+        private final Set<String> added;
+        private final Set<String> changed;
+        private final Set<String> removed;
+
+        private Change(long revision, Set<String> added, Set<String> changed, Set<String> removed) {
+            this.revision = revision;
+            this.added = added;
+            this.changed = changed;
+            this.removed = removed;
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.gogidix.centralconfiguration.configserver.application.index;
+
+import com.gogidix.centralconfiguration.configserver.domain.event.ConfigurationChangedEvent;
+import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationData;
+import com.gogidix.centralconfiguration.configserver.domain.model.PropertyKeyMatch;
+import com.gogidix.centralconfiguration.configserver.domain.model.PropertyTrie;
+import com.gogidix.centralconfiguration.configserver.domain.port.ConfigurationPort;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Cross-application index of stored property keys, answering "who sets {@code management.endpoints.*}".
+ * Built on first search and kept current per application: change events only mark an application stale,
+ * and the next search re-reads just that application before walking the matching subtree.
+ */
+@Component
+public class PropertyKeyIndex {
+
+    private static final String DEFAULT_LABEL = "master";
+
+    @Autowired
+    private ConfigurationPort configurationPort;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Set<String> staleApplications = ConcurrentHashMap.newKeySet();
+    private volatile boolean stale = true;
+
+    // Guarded by lock
+    private PropertyTrie<Set<Source>> trie = new PropertyTrie<>();
+    private final Map<String, Map<Source, Set<String>>> keysByApplication = new HashMap<>();
+
+    /**
+     * Find every stored application, profile and label setting a key equal to the prefix or below it.
+     */
+    public List<PropertyKeyMatch> search(String keyPrefix) {
+        catchUp();
+
+        Map<Source, List<String>> grouped = new TreeMap<>(Source.ORDER);
+        lock.readLock().lock();
+        try {
+            trie.forEachUnder(keyPrefix, (key, sources) -> {
+                for (Source source : sources) {
+                    grouped.computeIfAbsent(source, s -> new ArrayList<>()).add(key);
+                }
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<PropertyKeyMatch> matches = new ArrayList<>(grouped.size());
+        grouped.forEach((source, keys) -> {
+            keys.sort(null);
+            matches.add(new PropertyKeyMatch(source.application, source.profile, source.label, keys));
+        });
+        return matches;
+    }
+
+    /**
+     * Mark the changed applications for re-indexing on the next search.
+     */
+    @EventListener
+    public void onConfigurationChanged(ConfigurationChangedEvent event) {
+        if (event.isAll()) {
+
+            stale = true;
+            return;
+        }
+        for (ConfigurationChangedEvent.Target target : event.getTargets()) {
+            staleApplications.add(target.getApplication());
+        }
+    }
+
+    public int getKeyCount() {
+        lock.readLock().lock();
+        try {
+            return trie.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void catchUp() {
+        if (!stale && staleApplications.isEmpty()) {
+
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (stale) {
+
+                // Cleared before reading, so a change during the rebuild marks the index stale again
+                stale = false;
+                staleApplications.clear();
+                trie = new PropertyTrie<>();
+                keysByApplication.clear();
+                for (String application : configurationPort.getAllApplications()) {
+                    index(application);
+                }
+                return;
+            }
+            Iterator<String> applications = staleApplications.iterator();
+            while (applications.hasNext()) {
+                String application = applications.next();
+                applications.remove();
+                unindex(application);
+                index(application);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void index(String application) {
+        Map<Source, Set<String>> sets = new HashMap<>();
+        for (ConfigurationData data : configurationPort.findByApplication(application)) {
+            if (data.getProperties() == null) {
+
+                continue;
+            }
+            Source source = new Source(application, data.getProfile(),
+                data.getLabel() != null ? data.getLabel() : DEFAULT_LABEL);
+            Set<String> keys = new HashSet<>(data.getProperties().keySet());
+            for (String key : keys) {
+                Set<Source> sources = trie.get(key);
+                if (sources == null) {
+
+                    sources = new HashSet<>(2);
+                    trie.put(key, sources);
+                }
+                sources.add(source);
+            }
+            sets.put(source, keys);
+        }
+        if (!sets.isEmpty()) {
+
+            keysByApplication.put(application, sets);
+        }
+    }
+
+    private void unindex(String application) {
+        Map<Source, Set<String>> sets = keysByApplication.remove(application);
+        if (sets == null) {
+
+            return;
+        }
+        sets.forEach((source, keys) -> {
+            for (String key : keys) {
+                Set<Source> sources = trie.get(key);
+                if (sources != null && sources.remove(source) && sources.isEmpty()) {
+
+                    trie.remove(key);
+                }
+            }
+        });
+    }
+
+    /**
+     * Stored application, profile and label that a key belongs to.
+     */
+    private static final class Source {
+
+        static final Comparator<Source> ORDER = Comparator
+            .comparing((Source s) -> s.application)
+            .thenComparing(s -> s.profile)
+            .thenComparing(s -> s.label);
+
+        private final String application;
+        private final String profile;
+        private final String label;
+
+        Source(String application, String profile, String label) {
+            this.application = application;
+            this.profile = profile;
+            this.label = label;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) return false;
+            Source that = (Source) o;
+            return application.equals(that.application) &&
+                   profile.equals(that.profile) &&
+                   label.equals(that.label);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(application, profile, label);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.gogidix.centralconfiguration.configserver.application.merge;
+
+import java.util.Objects;
+
+/**
+ * One source layer of a merged configuration: the stored data of a single application, profile and label.
+ * Layers are cached individually, so a write to one profile only reloads that layer.
+ */
+public final class ConfigurationLayer {
+
+    private final String application;
+    private final String profile;
+    private final String label;
+    private final boolean labelOverride;
+
+    // Constructor
+    public ConfigurationLayer(String application, String profile, String label, boolean labelOverride) {
+        this.application = application;
+        this.profile = profile;
+        this.label = label;
+        this.labelOverride = labelOverride;
+    }
+
+    // Business logic methods
+
+    /**
+     * Snapshot cache key of the layer, grouped by application and profile like any configuration key.
+     */
+    public String getKey() {
+        return application + ":" + profile + ":" + label;
+    }
+
+    // Getters (immutable)
+    public String getApplication() {
+        return application;
+    }
+
+    public String getProfile() {
+        return profile;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public boolean isLabelOverride() {
+        return labelOverride;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) return false;
+        ConfigurationLayer that = (ConfigurationLayer) o;
+        return labelOverride == that.labelOverride &&
+               Objects.equals(application, that.application) &&
+               Objects.equals(profile, that.profile) &&
+               Objects.equals(label, that.label);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(application, profile, label, labelOverride);
+    }
+
+    @Override
+    public String toString() {
+        return "ConfigurationLayer{" +
+                "application='" + application + '\'' +
+                ", profile='" + profile + '\'' +
+                ", label='" + label + '\'' +
+                ", labelOverride=" + labelOverride +
+                '}';
+    }
+}
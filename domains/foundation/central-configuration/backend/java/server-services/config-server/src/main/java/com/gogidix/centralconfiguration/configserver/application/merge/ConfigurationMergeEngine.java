@@ -0,0 +1,98 @@
+package com.gogidix.centralconfiguration.configserver.application.merge;
+
+import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationQuery;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Builds and caches merge plans for configuration queries.
+ * Precedence, lowest first: the {@code default} profile, each requested profile in order, then the
+ * label overrides of those profiles in the same order. Placeholders are resolved after merging,
+ * so a profile can override a value that placeholders in another layer refer to.
+ */
+@Component
+public class ConfigurationMergeEngine {
+
+    public static final String DEFAULT_PROFILE = "default";
+    public static final String DEFAULT_LABEL = "master";
+
+    @Value("${config-server.placeholders.resolve:true}")
+    private boolean resolvePlaceholders = true;
+
+    @Value("${config-server.merge.max-profiles:16}")
+    private int maxProfiles = 16;
+
+    @Value("${config-server.merge.max-plans:4096}")
+    private int maxPlans = 4096;
+
+    private final ConcurrentMap<String, MergePlan> plans = new ConcurrentHashMap<>();
+
+    /**
+     * Get the merge plan of a query, creating it on first use.
+     * Rejects queries naming more than the allowed number of profiles.
+     */
+    public MergePlan planFor(ConfigurationQuery query) {
+        String key = query.getConfigurationKey();
+        MergePlan plan = plans.get(key);
+        if (plan != null) {
+
+            return plan;
+        }
+        List<ConfigurationLayer> layers = layersOf(query);
+        long profileCount = layers.stream().filter(layer -> !layer.isLabelOverride()).count();
+        if (profileCount > maxProfiles) {
+
+            throw new IllegalArgumentException("At most " + maxProfiles + " profiles can be merged, got " + profileCount);
+        }
+        if (plans.size() >= maxPlans) {
+
+            // Clients varying profile lists and labels would otherwise grow the map; plans are cheap to rebuild
+            plans.clear();
+        }
+        plan = new MergePlan(layers, resolvePlaceholders);
+        MergePlan existing = plans.putIfAbsent(key, plan);
+        return existing != null ? existing : plan;
+    }
+
+    public int getPlanCount() {
+        return plans.size();
+    }
+
+    /**
+     * Ordered layers of a query, lowest precedence first. Profiles are comma-separated and
+     * later profiles win; a profile listed twice keeps its first position.
+     */
+    static List<ConfigurationLayer> layersOf(ConfigurationQuery query) {
+        Set<String> profiles = new LinkedHashSet<>();
+        if (query.isIncludeDefaults()) {
+
+            profiles.add(DEFAULT_PROFILE);
+        }
+        for (String profile : query.getProfile().split(",")) {
+            if (!profile.isBlank()) {
+
+                profiles.add(profile.trim());
+            }
+        }
+
+        String application = query.getApplication();
+        List<ConfigurationLayer> layers = new ArrayList<>();
+        for (String profile : profiles) {
+            layers.add(new ConfigurationLayer(application, profile, DEFAULT_LABEL, false));
+        }
+        if (!DEFAULT_LABEL.equals(query.getLabel())) {
+
+            for (String profile : profiles) {
+                layers.add(new ConfigurationLayer(application, profile, query.getLabel(), true));
+            }
+        }
+        return layers;
+    }
+}
@@ -0,0 +1,178 @@
+package com.gogidix.centralconfiguration.configserver.application.merge;
+
+import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationResult;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Merge plan of one query: its ordered layers, lowest precedence first, and the last merge of them.
+ * When some layer snapshots change, only the keys those layers hold are re-resolved; unchanged layers are not re-merged.
+ * Placeholders in the merged properties are resolved through a {@link PlaceholderGraph} kept with the merge,
+ * so the same changed keys and their dependents are all that is expanded again.
+ */
+public final class MergePlan {
+
+    private static final Object ABSENT = new Object();
+
+    private final List<ConfigurationLayer> layers;
+    private final boolean resolvePlaceholders;
+    private final AtomicReference<MergeState> state = new AtomicReference<>();
+
+    // Constructor
+    MergePlan(List<ConfigurationLayer> layers) {
+        this(layers, false);
+    }
+
+    // Constructor with placeholder resolution
+    MergePlan(List<ConfigurationLayer> layers, boolean resolvePlaceholders) {
+        this.layers = List.copyOf(layers);
+        this.resolvePlaceholders = resolvePlaceholders;
+    }
+
+    // Business logic methods
+
+    /**
+     * Merge the current layer snapshots, given in plan order. Returns the previous result untouched
+     * when every snapshot is the one merged last time; otherwise builds a new result from the merged
+     * properties, which are null when no layer holds any data.
+     */
+    public ConfigurationResult resolve(List<ConfigurationResult> layerResults,
+                                       Function<Map<String, Object>, ConfigurationResult> resultFactory) {
+        if (layerResults.size() != layers.size()) {
+
+            throw new IllegalArgumentException("Expected " + layers.size() + " layers but got " + layerResults.size());
+        }
+        ConfigurationResult[] current = layerResults.toArray(new ConfigurationResult[0]);
+        MergeState previous = state.get();
+        if (previous != null && previous.isMergeOf(current)) {
+
+            return previous.result;
+        }
+
+        Map<String, Object> merged;
+        PlaceholderGraph placeholders = null;
+        if (previous == null) {
+
+            merged = mergeAll(current);
+            placeholders = resolvePlaceholders ? PlaceholderGraph.build(merged) : null;
+        } else {
+            Set<String> touched = touchedKeys(previous, current);
+            merged = remerge(previous, current, touched);
+            if (resolvePlaceholders) {
+
+                placeholders = previous.placeholders.update(merged, touched);
+            }
+        }
+        Map<String, Object> properties = placeholders != null ? placeholders.getResolved() : merged;
+        ConfigurationResult result = resultFactory.apply(anyPresent(current) ? properties : null);
+        // A concurrent merge of newer snapshots may have won; either state is a consistent merge
+        state.compareAndSet(previous, new MergeState(current, merged, placeholders, result));
+        return result;
+    }
+
+    public List<ConfigurationLayer> getLayers() {
+        return layers;
+    }
+
+    private static Map<String, Object> mergeAll(ConfigurationResult[] layerResults) {
+        Map<String, Object> merged = new HashMap<>();
+        for (ConfigurationResult layer : layerResults) {
+            if (layer.getProperties() != null) {
+
+                merged.putAll(layer.getProperties());
+            }
+        }
+        return merged;
+    }
+
+    private static Set<String> touchedKeys(MergeState previous, ConfigurationResult[] layerResults) {
+        Set<String> touched = new HashSet<>();
+        for (int i = 0; i < layerResults.length; i++) {
+            if (previous.layers[i] != layerResults[i]) {
+
+                addKeys(touched, previous.layers[i]);
+                addKeys(touched, layerResults[i]);
+            }
+        }
+        return touched;
+    }
+
+    private static Map<String, Object> remerge(MergeState previous, ConfigurationResult[] layerResults, Set<String> touched) {
+        Map<String, Object> merged = new HashMap<>(previous.merged);
+        for (String key : touched) {
+            Object value = winningValue(key, layerResults);
+            if (value == ABSENT) {
+
+                merged.remove(key);
+            } else {
+                merged.put(key, value);
+            }
+        }
+        return merged;
+    }
+
+    private static Object winningValue(String key, ConfigurationResult[] layerResults) {
+        for (int i = layerResults.length - 1; i >= 0; i--) {
+            Map<String, Object> properties = layerResults[i].getProperties();
+            if (properties != null && properties.containsKey(key)) {
+
+                return properties.get(key);
+            }
+        }
+        return ABSENT;
+    }
+
+    private static void addKeys(Set<String> keys, ConfigurationResult layer) {
+        if (layer.getProperties() != null) {
+
+            keys.addAll(layer.getProperties().keySet());
+        }
+    }
+
+    private static boolean anyPresent(ConfigurationResult[] layerResults) {
+        for (ConfigurationResult layer : layerResults) {
+            if (layer.getProperties() != null) {
+
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Layer snapshots of the last merge, compared by identity, with the raw properties, their placeholder graph
+     * and the result built from them.
+     */
+    private static final class MergeState {
+
+        private final ConfigurationResult[] layers;
+        private final Map<String, Object> merged;
+        private final PlaceholderGraph placeholders;
+        private final ConfigurationResult result;
+
+        MergeState(ConfigurationResult[] layers, Map<String, Object> merged, PlaceholderGraph placeholders,
+                   ConfigurationResult result) {
+            this.layers = layers;
+            this.merged = Collections.unmodifiableMap(merged);
+            this.placeholders = placeholders;
+            this.result = result;
+        }
+
+        boolean isMergeOf(ConfigurationResult[] current) {
+            for (int i = 0; i < current.length; i++) {
+                if (layers[i] != current[i]) {
+
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,336 @@
+package com.gogidix.centralconfiguration.configserver.application.merge;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@code ${key}} and {@code ${key:default}} placeholders of a merged property map, compiled once together with
+ * the graph of which keys reference which. After a change only the changed keys and the keys depending on them,
+ * directly or through other placeholders, are resolved again. Keys on a reference cycle, and keys depending
+ * on one, keep their raw value.
+ * Instances are immutable; an update returns a new graph.
+ */
+public final class PlaceholderGraph {
+
+    private static final String PREFIX = "${";
+    private static final String SUFFIX = "}";
+    private static final char DEFAULT_SEPARATOR = ':';
+    private static final Object MISSING = new Object();
+    private static final Object CYCLE = new Object();
+
+    private final Map<String, Template> templates;
+    private final Map<String, Set<String>> dependents;
+    private final Map<String, Object> resolved;
+    private final Set<String> cyclicKeys;
+
+    private PlaceholderGraph(Map<String, Template> templates, Map<String, Set<String>> dependents,
+                             Map<String, Object> resolved, Set<String> cyclicKeys) {
+        this.templates = templates;
+        this.dependents = dependents;
+        this.resolved = Collections.unmodifiableMap(resolved);
+        this.cyclicKeys = Collections.unmodifiableSet(cyclicKeys);
+    }
+
+    /**
+     * Compile and resolve every placeholder of a property map.
+     */
+    public static PlaceholderGraph build(Map<String, Object> raw) {
+        Map<String, Template> templates = new HashMap<>();
+        Map<String, Set<String>> dependents = new HashMap<>();
+        raw.forEach((key, value) -> compileInto(key, value, templates, dependents));
+
+        Resolution resolution = new Resolution(raw, templates, new HashMap<>(raw), new HashSet<>(), templates.keySet());
+        resolution.run();
+        return new PlaceholderGraph(templates, dependents, resolution.resolved, resolution.cyclic);
+    }
+
+    /**
+     * Graph of the new raw properties, where only the given keys may have changed since this graph was built.
+     */
+    public PlaceholderGraph update(Map<String, Object> raw, Set<String> changedKeys) {
+        Map<String, Template> newTemplates = new HashMap<>(templates);
+        Map<String, Set<String>> newDependents = new HashMap<>(dependents);
+        for (String key : changedKeys) {
+            Template old = newTemplates.remove(key);
+            if (old != null) {
+
+                for (String reference : old.references) {
+                    Set<String> referrers = new HashSet<>(newDependents.getOrDefault(reference, Set.of()));
+                    referrers.remove(key);
+                    if (referrers.isEmpty()) {
+
+                        newDependents.remove(reference);
+                    } else {
+                        newDependents.put(reference, referrers);
+                    }
+                }
+            }
+            if (raw.containsKey(key)) {
+
+                compileInto(key, raw.get(key), newTemplates, newDependents);
+            }
+        }
+
+        Set<String> affected = new HashSet<>();
+        Deque<String> queue = new ArrayDeque<>(changedKeys);
+        while (!queue.isEmpty()) {
+            String key = queue.poll();
+            if (affected.add(key)) {
+
+                queue.addAll(newDependents.getOrDefault(key, Set.of()));
+            }
+        }
+
+        Map<String, Object> newResolved = new HashMap<>(resolved);
+        Set<String> newCyclic = new HashSet<>(cyclicKeys);
+        Set<String> pending = new HashSet<>();
+        for (String key : affected) {
+            newCyclic.remove(key);
+            if (raw.containsKey(key)) {
+
+                newResolved.put(key, raw.get(key));
+                if (newTemplates.containsKey(key)) {
+
+                    pending.add(key);
+                }
+            } else {
+                newResolved.remove(key);
+            }
+        }
+        Resolution resolution = new Resolution(raw, newTemplates, newResolved, newCyclic, pending);
+        resolution.run();
+        return new PlaceholderGraph(newTemplates, newDependents, newResolved, newCyclic);
+    }
+
+    /**
+     * All properties with placeholders resolved.
+     */
+    public Map<String, Object> getResolved() {
+        return resolved;
+    }
+
+    /**
+     * Keys left unresolved because they are on, or depend on, a reference cycle.
+     */
+    public Set<String> getCyclicKeys() {
+        return cyclicKeys;
+    }
+
+    private static void compileInto(String key, Object value, Map<String, Template> templates,
+                                    Map<String, Set<String>> dependents) {
+        if (!(value instanceof String text) || !text.contains(PREFIX)) {
+
+            return;
+        }
+        Template template = Template.parse(text);
+        if (template.references.isEmpty()) {
+
+            return;
+        }
+        templates.put(key, template);
+        for (String reference : template.references) {
+            Set<String> referrers = new HashSet<>(dependents.getOrDefault(reference, Set.of()));
+            referrers.add(key);
+            dependents.put(reference, referrers);
+        }
+    }
+
+    /**
+     * One resolution pass over the pending keys; keys outside it are read from the resolved map as they are.
+     */
+    private static final class Resolution {
+
+        private final Map<String, Object> raw;
+        private final Map<String, Template> templates;
+        private final Map<String, Object> resolved;
+        private final Set<String> cyclic;
+        private final Set<String> pending;
+        private final Set<String> visiting = new LinkedHashSet<>();
+
+        Resolution(Map<String, Object> raw, Map<String, Template> templates, Map<String, Object> resolved,
+                   Set<String> cyclic, Set<String> pending) {
+            this.raw = raw;
+            this.templates = templates;
+            this.resolved = resolved;
+            this.cyclic = cyclic;
+            this.pending = new HashSet<>(pending);
+        }
+
+        void run() {
+            for (String key : new ArrayList<>(pending)) {
+                resolve(key);
+            }
+        }
+
+        private Object resolve(String key) {
+            if (cyclic.contains(key)) {
+
+                return CYCLE;
+            }
+            if (!pending.contains(key)) {
+
+                return resolved.containsKey(key) ? resolved.get(key) : MISSING;
+            }
+            if (!visiting.add(key)) {
+
+                // Every key from the first visit of this one up to here is on the cycle
+                boolean onCycle = false;
+                for (String visited : visiting) {
+                    onCycle |= visited.equals(key);
+                    if (onCycle) {
+
+                        cyclic.add(visited);
+                    }
+                }
+                return CYCLE;
+            }
+
+            StringBuilder value = new StringBuilder();
+            boolean cycle = !append(templates.get(key), value);
+            visiting.remove(key);
+            pending.remove(key);
+            if (cycle || cyclic.contains(key)) {
+
+                cyclic.add(key);
+                resolved.put(key, raw.get(key));
+                return CYCLE;
+            }
+            String text = value.toString();
+            resolved.put(key, text);
+            return text;
+        }
+
+        /**
+         * Append the expansion of a template; false when it runs into a cycle.
+         */
+        private boolean append(Template template, StringBuilder out) {
+            for (Object part : template.parts) {
+                if (part instanceof String literal) {
+
+                    out.append(literal);
+                    continue;
+                }
+                Reference reference = (Reference) part;
+                Object value = resolve(reference.key);
+                if (value == CYCLE) {
+
+                    return false;
+                }
+                if (value != MISSING && value != null) {
+
+                    out.append(value);
+                } else if (reference.defaultValue != null) {
+                    if (!append(reference.defaultValue, out)) {
+
+                        return false;
+                    }
+                } else {
+                    // Unknown here; leave it for the client, which may define the key itself
+                    out.append(PREFIX).append(reference.key).append(SUFFIX);
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Compiled value: literal strings and references, in order.
+     */
+    private static final class Template {
+
+        private final List<Object> parts;
+        private final Set<String> references;
+
+        private Template(List<Object> parts, Set<String> references) {
+            this.parts = parts;
+            this.references = references;
+        }
+
+        static Template parse(String text) {
+            List<Object> parts = new ArrayList<>();
+            Set<String> references = new LinkedHashSet<>();
+            int position = 0;
+            while (position < text.length()) {
+                int start = text.indexOf(PREFIX, position);
+                int end = start >= 0 ? closingBrace(text, start + PREFIX.length()) : -1;
+                if (start < 0 || end < 0) {
+
+                    parts.add(text.substring(position));
+                    break;
+                }
+                if (start > position) {
+
+                    parts.add(text.substring(position, start));
+                }
+                String body = text.substring(start + PREFIX.length(), end);
+                int separator = defaultSeparator(body);
+                String key = separator >= 0 ? body.substring(0, separator) : body;
+                Template defaultValue = separator >= 0 ? parse(body.substring(separator + 1)) : null;
+                parts.add(new Reference(key, defaultValue));
+                references.add(key);
+                if (defaultValue != null) {
+
+                    references.addAll(defaultValue.references);
+                }
+                position = end + SUFFIX.length();
+            }
+            return new Template(parts, references);
+        }
+
+        private static int closingBrace(String text, int from) {
+            int depth = 0;
+            for (int i = from; i < text.length(); i++) {
+                if (text.startsWith(PREFIX, i)) {
+
+                    depth++;
+                    i++;
+                } else if (text.charAt(i) == '}') {
+                    if (depth == 0) {
+
+                        return i;
+                    }
+                    depth--;
+                }
+            }
+            return -1;
+        }
+
+        private static int defaultSeparator(String body) {
+            int depth = 0;
+            for (int i = 0; i < body.length(); i++) {
+                if (body.startsWith(PREFIX, i)) {
+
+                    depth++;
+                    i++;
+                } else if (body.charAt(i) == '}') {
+                    depth--;
+                } else if (body.charAt(i) == DEFAULT_SEPARATOR && depth == 0) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * Reference to another key, with the template used when that key is not set.
+     */
+    private static final class Reference {
+
+        private final String key;
+        private final Template defaultValue;
+
+        Reference(String key, Template defaultValue) {
+            this.key = key;
+            this.defaultValue = defaultValue;
+        }
+    }
+}
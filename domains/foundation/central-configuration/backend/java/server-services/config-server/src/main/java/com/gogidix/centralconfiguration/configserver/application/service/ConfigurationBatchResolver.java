@@ -0,0 +1,101 @@
+package com.gogidix.centralconfiguration.configserver.application.service;
+
+import com.gogidix.centralconfiguration.configserver.domain.exception.ConfigurationUnavailableException;
+import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationQuery;
+import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationResult;
+import com.gogidix.centralconfiguration.configserver.domain.port.ConfigurationServicePort;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Resolves many configuration queries concurrently on a bounded pool with a bounded queue.
+ * Each query gets its own future, so callers can consume results in completion order.
+ */
+@Component
+public class ConfigurationBatchResolver {
+
+    @Autowired
+    private ConfigurationServicePort configurationService;
+
+    @Value("${config-server.batch.max-items:200}")
+    private int maxItems = 200;
+
+    private final ThreadPoolExecutor executor;
+
+    // Constructor
+    public ConfigurationBatchResolver(@Value("${config-server.batch.parallelism:16}") int parallelism,
+                                      @Value("${config-server.batch.queue-capacity:1000}") int queueCapacity) {
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(parallelism, parallelism, 60L, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                Thread thread = new Thread(runnable, "config-batch-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Start resolving every query; the returned futures are in request order.
+     */
+    public List<CompletableFuture<ConfigurationResult>> resolve(List<ConfigurationQuery> queries) {
+        return resolve(queries, query -> null);
+    }
+
+    /**
+     * Start resolving every query the admission check lets through; a refused query fails with the exception
+     * the check returns. When the pool's queue is full, the items already started are cancelled and the whole
+     * batch fails with {@link ConfigurationUnavailableException}, so callers back off instead of piling up work.
+     */
+    public List<CompletableFuture<ConfigurationResult>> resolve(List<ConfigurationQuery> queries,
+                                                                Function<ConfigurationQuery, RuntimeException> admission) {
+        if (queries.size() > maxItems) {
+
+            throw new IllegalArgumentException("Batch exceeds " + maxItems + " items");
+        }
+        List<CompletableFuture<ConfigurationResult>> results = new ArrayList<>(queries.size());
+        for (ConfigurationQuery query : queries) {
+            if (query == null || !query.isValidQuery()) {
+
+                results.add(CompletableFuture.failedFuture(
+                    new IllegalArgumentException("Application and profile are required")));
+                continue;
+            }
+            RuntimeException refused = admission.apply(query);
+            if (refused != null) {
+
+                results.add(CompletableFuture.failedFuture(refused));
+                continue;
+            }
+            try {
+                results.add(CompletableFuture.supplyAsync(() -> configurationService.getConfiguration(query), executor));
+            } catch (RejectedExecutionException e) {
+                // A cancelled item is skipped when its turn comes
+                results.forEach(result -> result.cancel(false));
+                throw new ConfigurationUnavailableException("batch", e);
+            }
+        }
+        return results;
+    }
+
+    public int getMaxItems() {
+        return maxItems;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
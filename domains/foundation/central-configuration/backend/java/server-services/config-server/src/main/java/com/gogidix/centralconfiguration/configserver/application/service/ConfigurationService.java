@@ -1,19 +1,40 @@
 package com.gogidix.centralconfiguration.configserver.application.service;
 
+import com.gogidix.centralconfiguration.configserver.application.cache.ClusterCacheInvalidator;
+import com.gogidix.centralconfiguration.configserver.application.cache.ConfigurationSnapshotCache;
+import com.gogidix.centralconfiguration.configserver.application.cache.DecryptedPropertyCache;
+import com.gogidix.centralconfiguration.configserver.application.cache.NegativeLookupCache;
+import com.gogidix.centralconfiguration.configserver.application.history.ConfigurationChangeLog;
+import com.gogidix.centralconfiguration.configserver.application.index.PropertyKeyIndex;
+import com.gogidix.centralconfiguration.configserver.application.merge.ConfigurationLayer;
+import com.gogidix.centralconfiguration.configserver.application.merge.ConfigurationMergeEngine;
+import com.gogidix.centralconfiguration.configserver.application.merge.MergePlan;
+import com.gogidix.centralconfiguration.configserver.domain.event.ConfigurationChangedEvent;
+import com.gogidix.centralconfiguration.configserver.domain.event.ConfigurationSourceChangedEvent;
+import com.gogidix.centralconfiguration.configserver.domain.model.CompactPropertyMap;
+import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationDelta;
 import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationQuery;
 import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationResult;
 import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationData;
+import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationInvalidation;
+import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationWrite;
+import com.gogidix.centralconfiguration.configserver.domain.model.PropertyKeyMatch;
 import com.gogidix.centralconfiguration.configserver.domain.port.ConfigurationPort;
 import com.gogidix.centralconfiguration.configserver.domain.port.ConfigurationServicePort;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Application Service for Configuration management.
@@ -22,9 +43,47 @@ import java.util.Optional;
 @Service
 public class ConfigurationService implements ConfigurationServicePort {
 
+    /**
+     * Template of the properties served when no layer of a query is stored; each application's copy is built once.
+     */
+    private static final Map<String, Object> DEFAULT_PROPERTIES = Map.of(
+        "server.port", "8080",
+        "management.endpoints.web.exposure.include", "health,info"
+    );
+    private static final int MAX_CACHED_DEFAULTS = 1024;
+
     @Autowired
     private ConfigurationPort configurationPort;
 
+    @Autowired
+    private ConfigurationSnapshotCache snapshotCache;
+
+    @Autowired
+    private ConfigurationChangeLog changeLog;
+
+    @Autowired
+    private ConfigurationMergeEngine mergeEngine;
+
+    @Autowired
+    private PropertyKeyIndex propertyKeyIndex;
+
+    @Autowired
+    private NegativeLookupCache negativeLookupCache;
+
+    @Autowired
+    private ConfigurationWriteBatcher writeBatcher;
+
+    @Autowired
+    private DecryptedPropertyCache decryptedPropertyCache;
+
+    @Autowired
+    private ClusterCacheInvalidator clusterCacheInvalidator;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private final ConcurrentMap<String, Map<String, Object>> defaultsByApplication = new ConcurrentHashMap<>();
+
     @Value("${server.port:8888}")
     private String serverPort;
 
@@ -36,39 +95,135 @@ public class ConfigurationService implements ConfigurationServicePort {
      */
     @Override
     public ConfigurationResult getConfiguration(String application, String profile) {
-        Optional<ConfigurationData> configDataOpt = configurationPort.findByApplicationAndProfile(application, profile);
-        ConfigurationData configData = configDataOpt.orElse(null);
-        
-        Map<String, Object> properties;
-        if (configData != null) {
-        
-            properties = configData.getProperties();
-        } else {
-            // Default configuration
-            properties = new HashMap<>();
-            properties.put("server.port", "8080");
-            properties.put("spring.application.name", application);
-            properties.put("management.endpoints.web.exposure.include", "health,info");
+        return getConfiguration(new ConfigurationQuery(application, profile, null, true, null));
+    }
+
+    /**
+     * Get configuration using domain query.
+     * Comma-separated profiles are merged over the defaults, and label overrides over both.
+     * Applications that are definitely not stored get the default result without reaching storage.
+     * The result carries the stored revision of the queried set itself, which a compare-and-set update expects.
+     */
+    @Override
+    public ConfigurationResult getConfiguration(ConfigurationQuery query) {
+        if (!negativeLookupCache.mightExist(query.getApplication())) {
+
+            return negativeLookupCache.getMiss(query, this::defaultResult);
         }
-        
+
+        MergePlan plan = mergeEngine.planFor(query);
+        List<ConfigurationResult> layers = new ArrayList<>(plan.getLayers().size());
+        boolean stale = false;
+        long storedRevision = ConfigurationData.NO_REVISION;
+        String label = query.getLabel() != null ? query.getLabel() : ConfigurationMergeEngine.DEFAULT_LABEL;
+        for (ConfigurationLayer layer : plan.getLayers()) {
+            // Profiles never stored are not cached, so clients listing made-up profiles add no snapshots
+            ConfigurationResult layerResult = negativeLookupCache.mightExist(layer.getApplication(), layer.getProfile())
+                ? snapshotCache.get(layer.getKey(), () -> loadLayer(layer))
+                : loadLayer(layer);
+            stale |= layerResult.isStale();
+            if (layer.getApplication().equals(query.getApplication()) && layer.getProfile().equals(query.getProfile())
+                && layer.getLabel().equals(label)) {
+
+                storedRevision = layerResult.getRevision();
+            }
+            layers.add(layerResult);
+        }
+        boolean anyStale = stale;
+        long writableRevision = storedRevision;
+        return plan.resolve(layers, merged -> toResult(query, merged, anyStale, writableRevision));
+    }
+
+    /**
+     * Get the keys changed since a client revision, or the full configuration if that revision is unknown.
+     */
+    @Override
+    public ConfigurationDelta getConfigurationDelta(ConfigurationQuery query, long sinceRevision) {
+        ConfigurationResult current = getConfiguration(query);
+        return changeLog.delta(query.getConfigurationKey(), sinceRevision, current);
+    }
+
+    /**
+     * Load one layer from the backend; a missing layer has null properties.
+     * The layer carries the stored revision, so the snapshot cache can compare revisions instead of content.
+     * Encrypted values are decrypted here, once per stored revision of the layer.
+     */
+    private ConfigurationResult loadLayer(ConfigurationLayer layer) {
+        Optional<ConfigurationData> configDataOpt = !negativeLookupCache.mightExist(layer.getApplication(), layer.getProfile())
+            ? Optional.empty()
+            : layer.isLabelOverride()
+            ? configurationPort.findByApplicationProfileAndLabel(layer.getApplication(), layer.getProfile(), layer.getLabel())
+            : configurationPort.findByApplicationAndProfile(layer.getApplication(), layer.getProfile());
+        ConfigurationData configData = configDataOpt.orElse(null);
+        long revision = configData != null ? configData.getRevision() : ConfigurationData.NO_REVISION;
+
         return new ConfigurationResult(
-            application,
-            profile,
-            "master",
+            layer.getApplication(),
+            layer.getProfile(),
+            layer.getLabel(),
+            configData != null ? configData.getVersion() : null,
+            configData != null ? decryptedPropertyCache.decrypt(layer.getKey(), revision, configData.getProperties()) : null,
+            null,
+            revision
+        );
+    }
+
+    /**
+     * Build the served result from merged layer properties and record its revision.
+     * The result is stale when any of its layers was served from an outdated snapshot.
+     */
+    private ConfigurationResult toResult(ConfigurationQuery query, Map<String, Object> merged, boolean stale,
+                                         long storedRevision) {
+        Map<String, Object> properties = merged != null ? merged : defaultProperties(query.getApplication());
+        long revision = changeLog.record(query.getConfigurationKey(), properties);
+        ConfigurationResult result = new ConfigurationResult(
+            query.getApplication(),
+            query.getProfile(),
+            query.getLabel(),
             "1.0.0",
             properties,
+            null,
+            revision,
+            storedRevision
+        );
+        return stale ? result.asStale() : result;
+    }
+
+    /**
+     * Build the default result for an unknown application. It has no revision history, so scanners
+     * rotating through names do not grow the change log.
+     */
+    private ConfigurationResult defaultResult(ConfigurationQuery query) {
+        return new ConfigurationResult(
+            query.getApplication(),
+            query.getProfile(),
+            query.getLabel(),
+            "1.0.0",
+            defaultProperties(query.getApplication()),
             null
         );
     }
 
     /**
-     * Get configuration using domain query.
+     * Immutable default properties of an application, built once and reused until the bounded cache is cleared.
      */
-    @Override
-    public ConfigurationResult getConfiguration(ConfigurationQuery query) {
-        return getConfiguration(query.getApplication(), query.getProfile());
+    private Map<String, Object> defaultProperties(String application) {
+        Map<String, Object> properties = defaultsByApplication.get(application);
+        if (properties != null) {
+
+            return properties;
+        }
+        if (defaultsByApplication.size() >= MAX_CACHED_DEFAULTS) {
+            // Unknown names are unbounded; start over rather than grow
+            defaultsByApplication.clear();
+        }
+        return defaultsByApplication.computeIfAbsent(application, key -> {
+            Map<String, Object> built = new HashMap<>(DEFAULT_PROPERTIES);
+            built.put("spring.application.name", key);
+            return CompactPropertyMap.of(built);
+        });
     }
-    
+
     /**
      * Get server information.
      */
@@ -91,11 +246,15 @@ public class ConfigurationService implements ConfigurationServicePort {
     }
 
     /**
-     * Refresh configuration cache.
+     * Refresh configuration cache, on this node and on every other node of the cluster.
      */
     @Override
     public void refreshConfiguration() {
         configurationPort.clearCache();
+        snapshotCache.advanceGeneration();
+        negativeLookupCache.reset();
+        eventPublisher.publishEvent(ConfigurationChangedEvent.all());
+        clusterCacheInvalidator.broadcast(ConfigurationInvalidation.all());
     }
     
     /**
@@ -119,7 +278,49 @@ public class ConfigurationService implements ConfigurationServicePort {
      */
     @Override
     public void updateConfiguration(String application, String profile, ConfigurationData configurationData) {
-        configurationPort.save(configurationData);
+        configurationPort.save(addressed(application, profile, configurationData));
+        afterWrite(application, profile);
+    }
+
+    /**
+     * Update configuration only if its stored revision is still the expected one, and return the new revision.
+     * Concurrent updates are stored together in one batch; the call returns once this one is durable.
+     */
+    @Override
+    public long updateConfiguration(String application, String profile, ConfigurationData configurationData,
+                                    long expectedRevision) {
+        return writeBatcher.write(new ConfigurationWrite(application, profile,
+            addressed(application, profile, configurationData), expectedRevision));
+    }
+
+    /**
+     * The data stored under the application and profile of the request path, whatever its body named;
+     * otherwise one key would be written and another invalidated.
+     */
+    private static ConfigurationData addressed(String application, String profile, ConfigurationData configurationData) {
+        configurationData.setApplication(application);
+        configurationData.setProfile(profile);
+        return configurationData;
+    }
+
+    private void afterWrite(String application, String profile) {
+        negativeLookupCache.markKnown(application, profile);
+        snapshotCache.invalidate(application, profile);
+        eventPublisher.publishEvent(ConfigurationChangedEvent.of(application, profile));
+        clusterCacheInvalidator.broadcast(new ConfigurationInvalidation(application, profile, null, ConfigurationData.NO_REVISION));
+    }
+
+    /**
+     * Pick up configuration changed directly in the backend: invalidate only the affected snapshots,
+     * then tell clients, instead of flushing every snapshot with a refresh.
+     */
+    @EventListener
+    public void onSourceChanged(ConfigurationSourceChangedEvent event) {
+        for (ConfigurationChangedEvent.Target target : event.getTargets()) {
+            negativeLookupCache.markKnown(target.getApplication(), target.getProfile());
+            snapshotCache.invalidate(target.getApplication(), target.getProfile());
+        }
+        eventPublisher.publishEvent(ConfigurationChangedEvent.of(event.getTargets()));
     }
     
     /**
@@ -128,6 +329,9 @@ public class ConfigurationService implements ConfigurationServicePort {
     @Override
     public void deleteConfiguration(String application, String profile) {
         configurationPort.delete(application, profile);
+        snapshotCache.invalidate(application, profile);
+        eventPublisher.publishEvent(ConfigurationChangedEvent.of(application, profile));
+        clusterCacheInvalidator.broadcast(new ConfigurationInvalidation(application, profile, null, ConfigurationData.NO_REVISION));
     }
     
     /**
@@ -137,4 +341,12 @@ public class ConfigurationService implements ConfigurationServicePort {
     public boolean configurationExists(String application, String profile) {
         return configurationPort.exists(application, profile);
     }
+    
+    /**
+     * Search stored property keys across all applications by dotted prefix.
+     */
+    @Override
+    public List<PropertyKeyMatch> searchPropertyKeys(String keyPrefix) {
+        return propertyKeyIndex.search(keyPrefix);
+    }
 }
@@ -0,0 +1,259 @@
+package com.gogidix.centralconfiguration.configserver.application.service;
+
+import com.gogidix.centralconfiguration.configserver.application.cache.ClusterCacheInvalidator;
+import com.gogidix.centralconfiguration.configserver.application.cache.ConfigurationSnapshotCache;
+import com.gogidix.centralconfiguration.configserver.application.cache.NegativeLookupCache;
+import com.gogidix.centralconfiguration.configserver.domain.event.ConfigurationChangedEvent;
+import com.gogidix.centralconfiguration.configserver.domain.exception.ConfigurationUnavailableException;
+import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationInvalidation;
+import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationWrite;
+import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationWriteResult;
+import com.gogidix.centralconfiguration.configserver.domain.port.ConfigurationPort;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Coalesces configuration writes arriving within a short window into one backend batch.
+ * A single writer thread stores each batch in one transaction, invalidates the affected snapshots,
+ * publishes one change event for the batch, broadcasts the new revisions to the other nodes,
+ * and only then acknowledges the callers.
+ */
+@Component
+public class ConfigurationWriteBatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(ConfigurationWriteBatcher.class);
+
+    @Autowired
+    private ConfigurationPort configurationPort;
+
+    @Autowired
+    private ConfigurationSnapshotCache snapshotCache;
+
+    @Autowired
+    private NegativeLookupCache negativeLookupCache;
+
+    @Autowired
+    private ClusterCacheInvalidator clusterCacheInvalidator;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${config-server.write.window:10ms}")
+    private Duration window = Duration.ofMillis(10);
+
+    @Value("${config-server.write.max-batch:100}")
+    private int maxBatch = 100;
+
+    @Value("${config-server.write.timeout:10s}")
+    private Duration timeout = Duration.ofSeconds(10);
+
+    private final BlockingQueue<PendingWrite> queue = new LinkedBlockingQueue<>(10000);
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder batchedWrites = new LongAdder();
+    private volatile Thread writer;
+    private volatile boolean stopped;
+
+    /**
+     * Store a write with the next batch and wait until it is durable; return its new revision.
+     * Conflicts and backend failures of this write are rethrown to the caller, as is a shutdown before it was stored.
+     */
+    public long write(ConfigurationWrite write) {
+        PendingWrite pending = new PendingWrite(write);
+        startWriter();
+        if (!queue.offer(pending)) {
+
+            // Queue full: a burst far beyond what batching absorbs, so write through
+            process(List.of(pending));
+        } else if (stopped && queue.remove(pending)) {
+            // Queued after the writer drained the queue for the last time
+            pending.fail(new IllegalStateException("Configuration writer stopped"));
+        }
+        try {
+            return pending.result.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            // The write may still commit; the caller learns the outcome from the revision on its next read
+            throw new ConfigurationUnavailableException(write.getApplication() + ":" + write.getProfile(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConfigurationUnavailableException(write.getApplication() + ":" + write.getProfile(), e);
+        }
+    }
+
+    public long getBatchCount() {
+        return batches.sum();
+    }
+
+    public long getBatchedWriteCount() {
+        return batchedWrites.sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        stopped = true;
+        Thread thread = writer;
+        if (thread != null) {
+
+            thread.interrupt();
+        }
+    }
+
+    private void startWriter() {
+        if (writer != null) {
+
+            return;
+        }
+        synchronized (this) {
+            if (writer == null) {
+
+                Thread thread = new Thread(this::drain, "config-writer");
+                thread.setDaemon(true);
+                thread.start();
+                writer = thread;
+            }
+        }
+    }
+
+    /**
+     * Writer loop: wait for a write, keep collecting until the window closes or the batch is full, then store it.
+     * Once interrupted, the collected batch and every write still queued fail, so no caller waits out its timeout.
+     */
+    private void drain() {
+        List<PendingWrite> batch = new ArrayList<>(maxBatch);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(queue.take());
+                long deadline = System.nanoTime() + window.toNanos();
+                while (batch.size() < maxBatch) {
+                    if (queue.drainTo(batch, maxBatch - batch.size()) > 0) {
+
+                        continue;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    PendingWrite next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                    if (next == null) {
+
+                        break;
+                    }
+                    batch.add(next);
+                }
+                process(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                batch.forEach(pending -> pending.fail(e));
+            } catch (RuntimeException | Error e) {
+                log.error("Configuration write batch failed", e);
+                batch.forEach(pending -> pending.result.completeExceptionally(e));
+            } finally {
+                batch.clear();
+            }
+        }
+        List<PendingWrite> abandoned = new ArrayList<>();
+        queue.drainTo(abandoned);
+        abandoned.forEach(pending -> pending.fail(new IllegalStateException("Configuration writer stopped")));
+    }
+
+    private void process(List<PendingWrite> batch) {
+        List<ConfigurationWrite> writes = new ArrayList<>(batch.size());
+        batch.forEach(pending -> writes.add(pending.write));
+        List<ConfigurationWriteResult> results;
+        try {
+            results = configurationPort.saveAll(writes);
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+
+                batch.get(0).result.completeExceptionally(e);
+                return;
+            }
+            // Nothing in the batch was stored; retry each write on its own so one bad write fails alone
+            log.warn("Configuration write batch of {} failed, retrying writes one by one: {}", batch.size(), e.getMessage());
+            for (PendingWrite pending : batch) {
+                process(List.of(pending));
+            }
+            return;
+        }
+
+        batches.increment();
+        batchedWrites.add(batch.size());
+        Set<ConfigurationChangedEvent.Target> targets = new LinkedHashSet<>();
+        for (int i = 0; i < batch.size(); i++) {
+            if (results.get(i).isSaved()) {
+
+                ConfigurationWrite write = batch.get(i).write;
+                targets.add(new ConfigurationChangedEvent.Target(write.getApplication(), write.getProfile()));
+            }
+        }
+        for (ConfigurationChangedEvent.Target target : targets) {
+            negativeLookupCache.markKnown(target.getApplication(), target.getProfile());
+            snapshotCache.invalidate(target.getApplication(), target.getProfile());
+        }
+        if (!targets.isEmpty()) {
+
+            try {
+                eventPublisher.publishEvent(ConfigurationChangedEvent.of(new ArrayList<>(targets)));
+            } catch (RuntimeException e) {
+                // The writes are durable and the snapshots invalidated; a failing listener must not fail them
+                log.warn("Change event for {} failed: {}", targets, e.getMessage());
+            }
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            if (results.get(i).isSaved()) {
+
+                ConfigurationWrite write = batch.get(i).write;
+                clusterCacheInvalidator.broadcast(new ConfigurationInvalidation(
+                    write.getApplication(), write.getProfile(), write.getData().getLabel(), results.get(i).getRevision()));
+            }
+        }
+
+        // Acknowledge only after the batch is durable and its snapshots are invalidated
+        for (int i = 0; i < batch.size(); i++) {
+            ConfigurationWriteResult result = results.get(i);
+            if (result.isSaved()) {
+
+                batch.get(i).result.complete(result.getRevision());
+            } else {
+                batch.get(i).result.completeExceptionally(result.getFailure());
+            }
+        }
+    }
+
+    /**
+     * A queued write and the future its caller waits on.
+     */
+    private static final class PendingWrite {
+
+        private final ConfigurationWrite write;
+        private final CompletableFuture<Long> result = new CompletableFuture<>();
+
+        PendingWrite(ConfigurationWrite write) {
+            this.write = write;
+        }
+
+        void fail(Throwable cause) {
+            result.completeExceptionally(new ConfigurationUnavailableException(write.getApplication() + ":" + write.getProfile(), cause));
+        }
+    }
+}
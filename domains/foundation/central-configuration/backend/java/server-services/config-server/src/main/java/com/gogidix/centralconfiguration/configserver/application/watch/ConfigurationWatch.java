@@ -0,0 +1,108 @@
+package com.gogidix.centralconfiguration.configserver.application.watch;
+
+import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationDelta;
+import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationQuery;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * A pending watch on a configuration key.
+ * Holds no thread; it is completed at most once by the watch registry when a watched key changes.
+ */
+public final class ConfigurationWatch {
+
+    private final ConfigurationQuery query;
+    private final long sinceRevision;
+    private final Set<String> keys;
+    private final String contentHash;
+    private final Consumer<ConfigurationDelta> listener;
+    private final AtomicBoolean completed = new AtomicBoolean();
+
+    // Constructor
+    ConfigurationWatch(ConfigurationQuery query, long sinceRevision, Set<String> keys, String contentHash,
+                       Consumer<ConfigurationDelta> listener) {
+        this.query = query;
+        this.sinceRevision = sinceRevision;
+        this.keys = keys;
+        this.contentHash = contentHash;
+        this.listener = listener;
+    }
+
+    // Business logic methods
+
+    /**
+     * Whether a property key is watched. An empty key set watches every key;
+     * an entry ending in {@code *} watches every key starting with the preceding text.
+     */
+    public boolean watches(String propertyKey) {
+        if (keys.isEmpty()) {
+
+            return true;
+        }
+        for (String key : keys) {
+            if (key.endsWith("*") ? propertyKey.startsWith(key.substring(0, key.length() - 1)) : key.equals(propertyKey)) {
+
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Restrict a delta to the watched keys, or return null if none of them changed.
+     * A full payload, sent when the client's revision was issued elsewhere, is news only when its content hash
+     * differs from the one the client holds.
+     */
+    ConfigurationDelta relevantPart(ConfigurationDelta delta) {
+        if (delta.isFull()) {
+
+            return delta.getCurrent().getContentHash().equals(contentHash) ? null : delta;
+        }
+        ConfigurationDelta relevant = delta.filter(this::watches);
+        return relevant.isEmpty() ? null : relevant;
+    }
+
+    /**
+     * Claim the watch for completion; only the first caller succeeds.
+     */
+    boolean complete() {
+        return completed.compareAndSet(false, true);
+    }
+
+    void deliver(ConfigurationDelta delta) {
+        listener.accept(delta);
+    }
+
+    public boolean isCompleted() {
+        return completed.get();
+    }
+
+    // Getters (immutable)
+    public ConfigurationQuery getQuery() {
+        return query;
+    }
+
+    public long getSinceRevision() {
+        return sinceRevision;
+    }
+
+    public Set<String> getKeys() {
+        return keys;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    @Override
+    public String toString() {
+        return "ConfigurationWatch{" +
+                "key='" + query.getConfigurationKey() + '\'' +
+                ", sinceRevision=" + sinceRevision +
+                ", keys=" + keys +
+                ", completed=" + completed.get() +
+                '}';
+    }
+}
@@ -0,0 +1,157 @@
+package com.gogidix.centralconfiguration.configserver.application.watch;
+
+import com.gogidix.centralconfiguration.configserver.domain.event.ConfigurationChangedEvent;
+import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationDelta;
+import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationQuery;
+import com.gogidix.centralconfiguration.configserver.domain.port.ConfigurationServicePort;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Registry of pending configuration watches.
+ * Watches are plain objects indexed by application, since a merged profile list depends on several
+ * stored profiles; a single dispatcher thread completes the affected ones when a change event arrives,
+ * so idle watchers cost no threads.
+ */
+@Component
+public class ConfigurationWatchRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(ConfigurationWatchRegistry.class);
+
+    @Autowired
+    private ConfigurationServicePort configurationService;
+
+    private final ConcurrentMap<String, Set<ConfigurationWatch>> watches = new ConcurrentHashMap<>();
+    private final AtomicInteger watcherCount = new AtomicInteger();
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "config-watch-dispatcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Register a watch. If a watched key already changed after the given revision,
+     * the listener is called before this method returns.
+     */
+    public ConfigurationWatch watch(ConfigurationQuery query, long sinceRevision, Set<String> keys,
+                                    Consumer<ConfigurationDelta> listener) {
+        return watch(query, sinceRevision, keys, null, listener);
+    }
+
+    /**
+     * Register a watch from a client holding content with the given hash. A revision this node did not issue
+     * then completes the watch only once the content differs, so clients moving between nodes stay parked.
+     */
+    public ConfigurationWatch watch(ConfigurationQuery query, long sinceRevision, Set<String> keys, String contentHash,
+                                    Consumer<ConfigurationDelta> listener) {
+        ConfigurationWatch watch = new ConfigurationWatch(query, sinceRevision, Set.copyOf(keys), contentHash, listener);
+        watches.compute(groupOf(query), (group, existing) -> {
+            Set<ConfigurationWatch> watchers = existing != null ? existing : ConcurrentHashMap.newKeySet();
+            watchers.add(watch);
+            return watchers;
+        });
+        watcherCount.incrementAndGet();
+
+        // Registered first, checked second: a concurrent change is seen by one path or the other
+        notifyWatches(List.of(watch));
+        return watch;
+    }
+
+    /**
+     * Cancel a watch that timed out or whose client went away.
+     */
+    public void cancel(ConfigurationWatch watch) {
+        watch.complete();
+        remove(watch);
+    }
+
+    public int getWatcherCount() {
+        return watcherCount.get();
+    }
+
+    /**
+     * Dispatch a configuration change to the affected watches.
+     */
+    @EventListener
+    public void onConfigurationChanged(ConfigurationChangedEvent event) {
+        dispatcher.execute(() -> notifyWatches(affectedBy(event)));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+    }
+
+    private Set<ConfigurationWatch> affectedBy(ConfigurationChangedEvent event) {
+        // Several targets of one application share a watch group
+        Set<ConfigurationWatch> affected = new LinkedHashSet<>();
+        if (event.isAll()) {
+
+            watches.values().forEach(affected::addAll);
+            return affected;
+        }
+        for (ConfigurationChangedEvent.Target target : event.getTargets()) {
+            Set<ConfigurationWatch> group = watches.get(target.getApplication());
+            if (group != null) {
+
+                affected.addAll(group);
+            }
+        }
+        return affected;
+    }
+
+    private void notifyWatches(Collection<ConfigurationWatch> affected) {
+        // Watchers of the same key and revision share one delta computation
+        Map<String, ConfigurationDelta> deltas = new HashMap<>();
+        for (ConfigurationWatch watch : affected) {
+            if (watch.isCompleted()) {
+
+                continue;
+            }
+            try {
+                String deltaKey = watch.getQuery().getConfigurationKey() + "@" + watch.getSinceRevision();
+                ConfigurationDelta delta = deltas.computeIfAbsent(deltaKey,
+                    k -> configurationService.getConfigurationDelta(watch.getQuery(), watch.getSinceRevision()));
+                ConfigurationDelta relevant = watch.relevantPart(delta);
+                if (relevant != null && watch.complete()) {
+
+                    remove(watch);
+                    watch.deliver(relevant);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Failed to evaluate configuration watch {}", watch, e);
+            }
+        }
+    }
+
+    private void remove(ConfigurationWatch watch) {
+        watches.computeIfPresent(groupOf(watch.getQuery()), (group, existing) -> {
+            if (existing.remove(watch)) {
+
+                watcherCount.decrementAndGet();
+            }
+            return existing.isEmpty() ? null : existing;
+        });
+    }
+
+    private static String groupOf(ConfigurationQuery query) {
+        return query.getApplication();
+    }
+}
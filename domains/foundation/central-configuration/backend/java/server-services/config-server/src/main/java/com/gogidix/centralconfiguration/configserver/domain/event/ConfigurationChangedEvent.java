@@ -0,0 +1,103 @@
+package com.gogidix.centralconfiguration.configserver.domain.event;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Domain event published when stored configuration changes.
+ * Carries the affected application/profile pairs, or marks every configuration as possibly changed.
+ */
+public class ConfigurationChangedEvent {
+
+    private final List<Target> targets;
+    private final boolean all;
+
+    // Constructor
+    private ConfigurationChangedEvent(List<Target> targets, boolean all) {
+        this.targets = Collections.unmodifiableList(targets);
+        this.all = all;
+    }
+
+    /**
+     * Event for a single application and profile.
+     */
+    public static ConfigurationChangedEvent of(String application, String profile) {
+        return new ConfigurationChangedEvent(List.of(new Target(application, profile)), false);
+    }
+
+    /**
+     * Event for several application/profile pairs changed together.
+     */
+    public static ConfigurationChangedEvent of(List<Target> targets) {
+        return new ConfigurationChangedEvent(List.copyOf(targets), false);
+    }
+
+    /**
+     * Event signalling that any configuration may have changed.
+     */
+    public static ConfigurationChangedEvent all() {
+        return new ConfigurationChangedEvent(List.of(), true);
+    }
+
+    // Getters (immutable)
+    public List<Target> getTargets() {
+        return targets;
+    }
+
+    public boolean isAll() {
+        return all;
+    }
+
+    @Override
+    public String toString() {
+        return "ConfigurationChangedEvent{" +
+                "targets=" + targets +
+                ", all=" + all +
+                '}';
+    }
+
+    /**
+     * Application and profile affected by a change.
+     */
+    public static final class Target {
+
+        private final String application;
+        private final String profile;
+
+        public Target(String application, String profile) {
+            this.application = application;
+            this.profile = profile;
+        }
+
+        public String getApplication() {
+            return application;
+        }
+
+        public String getProfile() {
+            return profile;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) return false;
+            Target that = (Target) o;
+            return Objects.equals(application, that.application) &&
+                   Objects.equals(profile, that.profile);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(application, profile);
+        }
+
+        @Override
+        public String toString() {
+            return application + ":" + profile;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.gogidix.centralconfiguration.configserver.domain.event;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Domain event published by a backend whose stored configuration changed outside the service,
+ * for example files edited in a native repository. The service invalidates the affected snapshots
+ * and announces the change to clients with a {@link ConfigurationChangedEvent}.
+ */
+public class ConfigurationSourceChangedEvent {
+
+    private final List<ConfigurationChangedEvent.Target> targets;
+
+    // Constructor
+    public ConfigurationSourceChangedEvent(List<ConfigurationChangedEvent.Target> targets) {
+        this.targets = Collections.unmodifiableList(List.copyOf(targets));
+    }
+
+    // Getters (immutable)
+    public List<ConfigurationChangedEvent.Target> getTargets() {
+        return targets;
+    }
+
+    @Override
+    public String toString() {
+        return "ConfigurationSourceChangedEvent{" +
+                "targets=" + targets +
+                '}';
+    }
+}
@@ -0,0 +1,44 @@
+package com.gogidix.centralconfiguration.configserver.domain.exception;
+
+/**
+ * Thrown when a compare-and-set write names a revision that is no longer the stored one.
+ * The caller should re-read the configuration and retry against the current revision.
+ */
+public class ConfigurationConflictException extends RuntimeException {
+
+    private final String configurationKey;
+    private final long expectedRevision;
+    private final long currentRevision;
+
+    // Constructor
+    public ConfigurationConflictException(String configurationKey, long expectedRevision, long currentRevision) {
+        super("Configuration " + configurationKey + " is at revision " + currentRevision +
+              ", not the expected revision " + expectedRevision);
+        this.configurationKey = configurationKey;
+        this.expectedRevision = expectedRevision;
+        this.currentRevision = currentRevision;
+    }
+
+    // Constructor for a writer that lost a race after the revision check
+    public ConfigurationConflictException(String configurationKey, long expectedRevision, Throwable cause) {
+        super("Configuration " + configurationKey + " was changed concurrently", cause);
+        this.configurationKey = configurationKey;
+        this.expectedRevision = expectedRevision;
+        this.currentRevision = -1L;
+    }
+
+    public String getConfigurationKey() {
+        return configurationKey;
+    }
+
+    public long getExpectedRevision() {
+        return expectedRevision;
+    }
+
+    /**
+     * The stored revision, or -1 when it is not known.
+     */
+    public long getCurrentRevision() {
+        return currentRevision;
+    }
+}
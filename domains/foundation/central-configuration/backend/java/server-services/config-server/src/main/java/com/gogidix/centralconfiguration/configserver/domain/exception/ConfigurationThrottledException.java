@@ -0,0 +1,26 @@
+package com.gogidix.centralconfiguration.configserver.domain.exception;
+
+/**
+ * Thrown when a lookup is refused because its application has spent its request budget.
+ * The caller should retry after the given number of seconds.
+ */
+public class ConfigurationThrottledException extends RuntimeException {
+
+    private final String configurationKey;
+    private final long retryAfterSeconds;
+
+    // Constructor
+    public ConfigurationThrottledException(String configurationKey, long retryAfterSeconds) {
+        super("Request rate for configuration " + configurationKey + " exceeded; retry after " + retryAfterSeconds + "s");
+        this.configurationKey = configurationKey;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public String getConfigurationKey() {
+        return configurationKey;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
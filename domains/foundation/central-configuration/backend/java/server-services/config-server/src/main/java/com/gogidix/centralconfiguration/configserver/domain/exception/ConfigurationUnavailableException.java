@@ -0,0 +1,20 @@
+package com.gogidix.centralconfiguration.configserver.domain.exception;
+
+/**
+ * Thrown when configuration cannot be loaded from the backend and no earlier snapshot exists to serve.
+ * Callers must not fall back to defaults, since clients would start with the wrong settings.
+ */
+public class ConfigurationUnavailableException extends RuntimeException {
+
+    private final String configurationKey;
+
+    // Constructor
+    public ConfigurationUnavailableException(String configurationKey, Throwable cause) {
+        super("Configuration " + configurationKey + " is unavailable: " + cause.getMessage(), cause);
+        this.configurationKey = configurationKey;
+    }
+
+    public String getConfigurationKey() {
+        return configurationKey;
+    }
+}
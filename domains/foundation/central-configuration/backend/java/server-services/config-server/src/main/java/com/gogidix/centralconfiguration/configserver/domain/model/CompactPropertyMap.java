@@ -0,0 +1,184 @@
+package com.gogidix.centralconfiguration.configserver.domain.model;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiConsumer;
+
+/**
+ * Immutable property map stored as a sorted key array and a parallel value array, with binary-search lookup.
+ * Keys are interned and whole key arrays are shared between maps with the same key set, so configurations
+ * repeating the usual {@code spring.*} and {@code management.*} keys pay only for their values.
+ */
+public final class CompactPropertyMap extends AbstractMap<String, Object> {
+
+    private static final int MAX_POOLED_KEYS = 65536;
+    private static final int MAX_POOLED_LAYOUTS = 8192;
+    private static final ConcurrentMap<String, String> KEYS = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<Layout, String[]> LAYOUTS = new ConcurrentHashMap<>();
+    private static final CompactPropertyMap EMPTY = new CompactPropertyMap(new String[0], new Object[0]);
+
+    private final String[] keys;
+    private final Object[] values;
+
+    private CompactPropertyMap(String[] keys, Object[] values) {
+        this.keys = keys;
+        this.values = values;
+    }
+
+    /**
+     * Compact copy of a property map; a compact map is returned as is. Null values are kept, null keys rejected.
+     */
+    public static CompactPropertyMap of(Map<String, ?> properties) {
+        if (properties instanceof CompactPropertyMap compact) {
+
+            return compact;
+        }
+        if (properties.isEmpty()) {
+
+            return EMPTY;
+        }
+        String[] sorted = properties.keySet().toArray(new String[0]);
+        Arrays.sort(sorted);
+        Object[] values = new Object[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            values[i] = properties.get(sorted[i]);
+        }
+        return new CompactPropertyMap(layoutOf(sorted), values);
+    }
+
+    // Business logic methods
+    @Override
+    public Object get(Object key) {
+        int index = indexOf(key);
+        return index >= 0 ? values[index] : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return keys.length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return keys.length == 0;
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super String, ? super Object> action) {
+        for (int i = 0; i < keys.length; i++) {
+            action.accept(keys[i], values[i]);
+        }
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                return new Iterator<>() {
+                    private int next;
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < keys.length;
+                    }
+
+                    @Override
+                    public Entry<String, Object> next() {
+                        if (next >= keys.length) {
+
+                            throw new NoSuchElementException();
+                        }
+                        Entry<String, Object> entry = new SimpleImmutableEntry<>(keys[next], values[next]);
+                        next++;
+                        return entry;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return keys.length;
+            }
+        };
+    }
+
+    /**
+     * Whether this map shares its key array with another, i.e. both hold the same key set.
+     */
+    public boolean sharesKeysWith(CompactPropertyMap other) {
+        return keys == other.keys;
+    }
+
+    private int indexOf(Object key) {
+        return key instanceof String ? Arrays.binarySearch(keys, key) : -1;
+    }
+
+    private static String[] layoutOf(String[] sorted) {
+        for (int i = 0; i < sorted.length; i++) {
+            sorted[i] = intern(sorted[i]);
+        }
+        Layout layout = new Layout(sorted);
+        String[] shared = LAYOUTS.get(layout);
+        if (shared != null) {
+
+            return shared;
+        }
+        if (LAYOUTS.size() >= MAX_POOLED_LAYOUTS) {
+            // Pool full: the map still works, it just keeps its own key array
+            return sorted;
+        }
+        shared = LAYOUTS.putIfAbsent(layout, sorted);
+        return shared != null ? shared : sorted;
+    }
+
+    private static String intern(String key) {
+        String pooled = KEYS.get(key);
+        if (pooled != null) {
+
+            return pooled;
+        }
+        if (KEYS.size() >= MAX_POOLED_KEYS) {
+
+            return key;
+        }
+        pooled = KEYS.putIfAbsent(key, key);
+        return pooled != null ? pooled : key;
+    }
+
+    /**
+     * Pool key comparing key arrays by content.
+     */
+    private static final class Layout {
+
+        private final String[] keys;
+        private final int hash;
+
+        Layout(String[] keys) {
+            this.keys = keys;
+            this.hash = Arrays.hashCode(keys);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Layout that && hash == that.hash && Arrays.equals(keys, that.keys);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -9,6 +9,16 @@ import java.util.Objects;
  * Represents configuration data for applications.
  */
 public class ConfigurationData {
+
+    /**
+     * Expected revision that skips the compare-and-set check.
+     */
+    public static final long ANY_REVISION = -1L;
+
+    /**
+     * Revision of data that is not stored; expecting it makes a write create-only.
+     */
+    public static final long NO_REVISION = 0L;
     
     private String id;
     private String application;
@@ -18,6 +28,7 @@ public class ConfigurationData {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private String version;
+    private long revision;
 
     // Default constructor
     public ConfigurationData() {
@@ -31,7 +42,7 @@ public class ConfigurationData {
         this();
         this.application = application;
         this.profile = profile;
-        this.properties = properties;
+        this.properties = compact(properties);
         this.id = generateId(application, profile);
     }
 
@@ -48,11 +59,18 @@ public class ConfigurationData {
     public void updateProperties(Map<String, Object> newProperties) {
         if (newProperties != null) {
         
-            this.properties = newProperties;
+            this.properties = compact(newProperties);
             this.updatedAt = LocalDateTime.now();
         }
     }
 
+    /**
+     * Properties are held as an immutable compact map; instances stay in memory in their thousands.
+     */
+    private static Map<String, Object> compact(Map<String, Object> properties) {
+        return properties != null ? CompactPropertyMap.of(properties) : null;
+    }
+
     private String generateId(String application, String profile) {
         return application + "-" + profile + "-" + System.currentTimeMillis();
     }
@@ -95,7 +113,15 @@ public class ConfigurationData {
     }
 
     public void setProperties(Map<String, Object> properties) {
-        this.properties = properties;
+        this.properties = compact(properties);
+    }
+
+    public long getRevision() {
+        return revision;
+    }
+
+    public void setRevision(long revision) {
+        this.revision = revision;
     }
 
     public LocalDateTime getCreatedAt() {
@@ -149,6 +175,7 @@ public class ConfigurationData {
                 ", profile='" + profile + '\'' +
                 ", label='" + label + '\'' +
                 ", version='" + version + '\'' +
+                ", revision=" + revision +
                 ", createdAt=" + createdAt +
                 ", updatedAt=" + updatedAt +
                 '}';
@@ -0,0 +1,133 @@
+package com.gogidix.centralconfiguration.configserver.domain.model;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+
+/**
+ * Domain model for a Configuration Delta.
+ * Describes the keys added, changed and removed between a client revision and the current revision,
+ * or carries the full configuration when the client revision is no longer known.
+ */
+public class ConfigurationDelta {
+
+    private final ConfigurationResult current;
+    private final long fromRevision;
+    private final boolean full;
+    private final Map<String, Object> added;
+    private final Map<String, Object> changed;
+    private final Set<String> removed;
+
+    // Constructor
+    private ConfigurationDelta(ConfigurationResult current, long fromRevision, boolean full,
+                               Map<String, Object> added, Map<String, Object> changed, Set<String> removed) {
+        this.current = current;
+        this.fromRevision = fromRevision;
+        this.full = full;
+        this.added = Collections.unmodifiableMap(added);
+        this.changed = Collections.unmodifiableMap(changed);
+        this.removed = Collections.unmodifiableSet(removed);
+    }
+
+    /**
+     * Create a delta relative to a known client revision.
+     */
+    public static ConfigurationDelta incremental(ConfigurationResult current, long fromRevision,
+                                                 Map<String, Object> added, Map<String, Object> changed,
+                                                 Set<String> removed) {
+        return new ConfigurationDelta(current, fromRevision, false, added, changed, removed);
+    }
+
+    /**
+     * Create a full-payload fallback for an unknown or expired client revision.
+     */
+    public static ConfigurationDelta full(ConfigurationResult current, long fromRevision) {
+        return new ConfigurationDelta(current, fromRevision, true, Map.of(), Map.of(), Set.of());
+    }
+
+    // Business logic methods
+    public boolean isEmpty() {
+        return !full && added.isEmpty() && changed.isEmpty() && removed.isEmpty();
+    }
+
+    public int getChangeCount() {
+        return added.size() + changed.size() + removed.size();
+    }
+
+    /**
+     * Restrict an incremental delta to the keys accepted by a filter.
+     * Full payloads are returned unchanged.
+     */
+    public ConfigurationDelta filter(Predicate<String> keyFilter) {
+        if (full) {
+
+            return this;
+        }
+        Map<String, Object> filteredAdded = new LinkedHashMap<>();
+        added.forEach((k, v) -> {
+            if (keyFilter.test(k)) {
+
+                filteredAdded.put(k, v);
+            }
+        });
+        Map<String, Object> filteredChanged = new LinkedHashMap<>();
+        changed.forEach((k, v) -> {
+            if (keyFilter.test(k)) {
+
+                filteredChanged.put(k, v);
+            }
+        });
+        Set<String> filteredRemoved = new TreeSet<>();
+        removed.forEach(k -> {
+            if (keyFilter.test(k)) {
+
+                filteredRemoved.add(k);
+            }
+        });
+        return new ConfigurationDelta(current, fromRevision, false, filteredAdded, filteredChanged, filteredRemoved);
+    }
+
+    // Getters (immutable)
+    public ConfigurationResult getCurrent() {
+        return current;
+    }
+
+    public long getFromRevision() {
+        return fromRevision;
+    }
+
+    public long getRevision() {
+        return current.getRevision();
+    }
+
+    public boolean isFull() {
+        return full;
+    }
+
+    public Map<String, Object> getAdded() {
+        return added;
+    }
+
+    public Map<String, Object> getChanged() {
+        return changed;
+    }
+
+    public Set<String> getRemoved() {
+        return removed;
+    }
+
+    @Override
+    public String toString() {
+        return "ConfigurationDelta{" +
+                "application='" + current.getApplication() + '\'' +
+                ", profile='" + current.getProfile() + '\'' +
+                ", fromRevision=" + fromRevision +
+                ", revision=" + getRevision() +
+                ", full=" + full +
+                ", changeCount=" + getChangeCount() +
+                '}';
+    }
+}
@@ -0,0 +1,83 @@
+package com.gogidix.centralconfiguration.configserver.domain.model;
+
+import java.util.Objects;
+
+/**
+ * Cluster-wide invalidation of cached configuration, scoped to one application, profile and label at a stored revision.
+ * A null label covers every label; revision {@link ConfigurationData#NO_REVISION} means the revision is not known.
+ * The {@link #all()} invalidation has no scope and reloads everything.
+ */
+public final class ConfigurationInvalidation {
+
+    private static final ConfigurationInvalidation ALL = new ConfigurationInvalidation(null, null, null, ConfigurationData.NO_REVISION);
+
+    private final String application;
+    private final String profile;
+    private final String label;
+    private final long revision;
+
+    // Constructor
+    public ConfigurationInvalidation(String application, String profile, String label, long revision) {
+        this.application = application;
+        this.profile = profile;
+        this.label = label;
+        this.revision = revision;
+    }
+
+    public static ConfigurationInvalidation all() {
+        return ALL;
+    }
+
+    // Business logic methods
+    public boolean isAll() {
+        return application == null;
+    }
+
+    /**
+     * Key of the stored set this invalidation refers to, {@code application:profile:label}.
+     */
+    public String getKey() {
+        return application + ":" + profile + ":" + (label != null ? label : "*");
+    }
+
+    // Getters (immutable)
+    public String getApplication() {
+        return application;
+    }
+
+    public String getProfile() {
+        return profile;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public long getRevision() {
+        return revision;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) return false;
+        ConfigurationInvalidation that = (ConfigurationInvalidation) o;
+        return revision == that.revision &&
+               Objects.equals(application, that.application) &&
+               Objects.equals(profile, that.profile) &&
+               Objects.equals(label, that.label);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(application, profile, label, revision);
+    }
+
+    @Override
+    public String toString() {
+        return isAll() ? "ConfigurationInvalidation{all}" : "ConfigurationInvalidation{" + getKey() + "@" + revision + '}';
+    }
+}
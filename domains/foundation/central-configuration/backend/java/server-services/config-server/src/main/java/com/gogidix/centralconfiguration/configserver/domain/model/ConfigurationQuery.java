@@ -34,7 +34,8 @@ public class ConfigurationQuery {
     }
 
     public String getConfigurationKey() {
-        return application + ":" + profile + ":" + label;
+        String key = application + ":" + profile + ":" + label;
+        return includeDefaults ? key : key + ":nodefaults";
     }
 
     // Getters (immutable)
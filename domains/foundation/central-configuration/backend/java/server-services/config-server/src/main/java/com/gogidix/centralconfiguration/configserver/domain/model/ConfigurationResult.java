@@ -1,8 +1,15 @@
 package com.gogidix.centralconfiguration.configserver.domain.model;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.TreeMap;
 
 /**
  * Domain model for Configuration Result.
@@ -17,18 +24,58 @@ public class ConfigurationResult {
     private final Map<String, Object> properties;
     private final LocalDateTime timestamp;
     private final String serverInfo;
+    private final long revision;
+    private final long storedRevision;
+    private final boolean stale;
+    private volatile String contentHash;
+    private volatile PropertyTrie<Object> propertyTrie;
+    private volatile ConfigurationResult staleCopy;
 
     // Constructor
     public ConfigurationResult(String application, String profile, String label,
                               String version, Map<String, Object> properties, 
                               String serverInfo) {
+        this(application, profile, label, version, properties, serverInfo, 0L);
+    }
+
+    // Constructor with revision
+    public ConfigurationResult(String application, String profile, String label,
+                              String version, Map<String, Object> properties,
+                              String serverInfo, long revision) {
+        this(application, profile, label, version, properties, serverInfo, revision, ConfigurationData.NO_REVISION);
+    }
+
+    // Constructor with revision and the stored revision of the queried set
+    public ConfigurationResult(String application, String profile, String label,
+                              String version, Map<String, Object> properties,
+                              String serverInfo, long revision, long storedRevision) {
         this.application = application;
         this.profile = profile;
         this.label = label;
         this.version = version;
-        this.properties = properties;
+        this.properties = properties != null
+            ? CompactPropertyMap.of(properties) : null;
         this.timestamp = LocalDateTime.now();
         this.serverInfo = serverInfo;
+        this.revision = revision;
+        this.storedRevision = storedRevision;
+        this.stale = false;
+    }
+
+    // Copy marked as stale, sharing the immutable properties and derived state
+    private ConfigurationResult(ConfigurationResult fresh) {
+        this.application = fresh.application;
+        this.profile = fresh.profile;
+        this.label = fresh.label;
+        this.version = fresh.version;
+        this.properties = fresh.properties;
+        this.timestamp = fresh.timestamp;
+        this.serverInfo = fresh.serverInfo;
+        this.revision = fresh.revision;
+        this.storedRevision = fresh.storedRevision;
+        this.stale = true;
+        this.contentHash = fresh.contentHash;
+        this.propertyTrie = fresh.propertyTrie;
     }
 
     // Business logic methods
@@ -46,6 +93,103 @@ public class ConfigurationResult {
         return properties != null ? properties.size() : 0;
     }
 
+    /**
+     * Stable hash of the property content, independent of map iteration order.
+     * Computed once per result since the properties are immutable.
+     */
+    public String getContentHash() {
+        String hash = contentHash;
+        if (hash == null) {
+
+            hash = computeContentHash(properties);
+            contentHash = hash;
+        }
+        return hash;
+    }
+
+    /**
+     * The same result marked as served from an outdated snapshot while the backend is revalidated.
+     * Created once per result, so the stale copy keeps a stable identity.
+     */
+    public ConfigurationResult asStale() {
+        if (stale) {
+
+            return this;
+        }
+        ConfigurationResult copy = staleCopy;
+        if (copy == null) {
+
+            copy = new ConfigurationResult(this);
+            staleCopy = copy;
+        }
+        return copy;
+    }
+
+    /**
+     * Copy of this result holding only the keys equal to the prefix or below it.
+     * The key trie is built once per result, so each call costs the size of the matching subtree.
+     */
+    public ConfigurationResult subtree(String prefix) {
+        Map<String, Object> matches = new LinkedHashMap<>();
+        if (properties != null) {
+
+            getPropertyTrie().forEachUnder(prefix, matches::put);
+        }
+        ConfigurationResult subtree = new ConfigurationResult(application, profile, label, version, matches, serverInfo, revision, storedRevision);
+        return stale ? subtree.asStale() : subtree;
+    }
+
+    private PropertyTrie<Object> getPropertyTrie() {
+        PropertyTrie<Object> trie = propertyTrie;
+        if (trie == null) {
+
+            trie = new PropertyTrie<>();
+            for (Map.Entry<String, Object> entry : properties.entrySet()) {
+                trie.put(entry.getKey(), entry.getValue());
+            }
+            propertyTrie = trie;
+        }
+        return trie;
+    }
+
+    private static String computeContentHash(Map<String, Object> properties) {
+        StringBuilder canonical = new StringBuilder();
+        appendCanonical(canonical, properties);
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(canonical.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static void appendCanonical(StringBuilder out, Object value) {
+        if (value instanceof Map<?, ?> map) {
+
+            out.append('{');
+            Map<String, Object> sorted = new TreeMap<>();
+            map.forEach((k, v) -> sorted.put(String.valueOf(k), v));
+            sorted.forEach((k, v) -> {
+                out.append(k).append('=');
+                appendCanonical(out, v);
+                out.append(';');
+            });
+            out.append('}');
+        } else if (value instanceof Collection<?> collection) {
+            out.append('[');
+            collection.forEach(item -> {
+                appendCanonical(out, item);
+                out.append(',');
+            });
+            out.append(']');
+        } else if (value instanceof CharSequence) {
+            out.append('"').append(value).append('"');
+        } else {
+            out.append(value);
+        }
+    }
+
     // Getters (immutable)
     public String getApplication() {
         return application;
@@ -75,6 +219,22 @@ public class ConfigurationResult {
         return serverInfo;
     }
 
+    public long getRevision() {
+        return revision;
+    }
+
+    /**
+     * Stored revision of the queried application, profile and label, as a compare-and-set update expects it;
+     * {@link #getRevision()} numbers the change log and only means something to delta requests.
+     */
+    public long getStoredRevision() {
+        return storedRevision;
+    }
+
+    public boolean isStale() {
+        return stale;
+    }
+
     @Override
     
     public boolean equals(final Object o) {
@@ -102,6 +262,8 @@ public class ConfigurationResult {
                 ", profile='" + profile + '\'' +
                 ", label='" + label + '\'' +
                 ", version='" + version + '\'' +
+                ", revision=" + revision +
+                ", stale=" + stale +
                 ", propertyCount=" + getPropertyCount() +
                 ", timestamp=" + timestamp +
                 '}';
@@ -0,0 +1,47 @@
+package com.gogidix.centralconfiguration.configserver.domain.model;
+
+/**
+ * One configuration write: the data to store and the revision it is expected to replace.
+ * {@link ConfigurationData#ANY_REVISION} writes unconditionally.
+ */
+public final class ConfigurationWrite {
+
+    private final String application;
+    private final String profile;
+    private final ConfigurationData data;
+    private final long expectedRevision;
+
+    // Constructor
+    public ConfigurationWrite(String application, String profile, ConfigurationData data, long expectedRevision) {
+        this.application = application;
+        this.profile = profile;
+        this.data = data;
+        this.expectedRevision = expectedRevision;
+    }
+
+    // Getters (immutable)
+    public String getApplication() {
+        return application;
+    }
+
+    public String getProfile() {
+        return profile;
+    }
+
+    public ConfigurationData getData() {
+        return data;
+    }
+
+    public long getExpectedRevision() {
+        return expectedRevision;
+    }
+
+    @Override
+    public String toString() {
+        return "ConfigurationWrite{" +
+                "application='" + application + '\'' +
+                ", profile='" + profile + '\'' +
+                ", expectedRevision=" + expectedRevision +
+                '}';
+    }
+}
@@ -0,0 +1,38 @@
+package com.gogidix.centralconfiguration.configserver.domain.model;
+
+/**
+ * Outcome of one write in a batch: the new revision, or the failure that rejected only this write.
+ */
+public final class ConfigurationWriteResult {
+
+    private final long revision;
+    private final RuntimeException failure;
+
+    // Constructor
+    private ConfigurationWriteResult(long revision, RuntimeException failure) {
+        this.revision = revision;
+        this.failure = failure;
+    }
+
+    public static ConfigurationWriteResult saved(long revision) {
+        return new ConfigurationWriteResult(revision, null);
+    }
+
+    public static ConfigurationWriteResult failed(RuntimeException failure) {
+        return new ConfigurationWriteResult(ConfigurationData.NO_REVISION, failure);
+    }
+
+    // Business logic methods
+    public boolean isSaved() {
+        return failure == null;
+    }
+
+    // Getters (immutable)
+    public long getRevision() {
+        return revision;
+    }
+
+    public RuntimeException getFailure() {
+        return failure;
+    }
+}
@@ -0,0 +1,70 @@
+package com.gogidix.centralconfiguration.configserver.domain.model;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Domain model for a property key search hit.
+ * Lists the matching keys one stored application, profile and label sets.
+ */
+public class PropertyKeyMatch {
+
+    private final String application;
+    private final String profile;
+    private final String label;
+    private final List<String> keys;
+
+    // Constructor
+    public PropertyKeyMatch(String application, String profile, String label, List<String> keys) {
+        this.application = application;
+        this.profile = profile;
+        this.label = label;
+        this.keys = List.copyOf(keys);
+    }
+
+    // Getters (immutable)
+    public String getApplication() {
+        return application;
+    }
+
+    public String getProfile() {
+        return profile;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public List<String> getKeys() {
+        return keys;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) return false;
+        PropertyKeyMatch that = (PropertyKeyMatch) o;
+        return Objects.equals(application, that.application) &&
+               Objects.equals(profile, that.profile) &&
+               Objects.equals(label, that.label) &&
+               Objects.equals(keys, that.keys);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(application, profile, label, keys);
+    }
+
+    @Override
+    public String toString() {
+        return "PropertyKeyMatch{" +
+                "application='" + application + '\'' +
+                ", profile='" + profile + '\'' +
+                ", label='" + label + '\'' +
+                ", keys=" + keys +
+                '}';
+    }
+}
@@ -0,0 +1,176 @@
+package com.gogidix.centralconfiguration.configserver.domain.model;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Trie of dotted property keys, one node per key segment.
+ * A subtree query such as {@code spring.datasource} walks to its node and visits only the keys below it,
+ * so its cost follows the size of the matching subtree rather than the total number of keys.
+ * Not thread-safe; callers publish a built trie safely or guard it with a lock.
+ */
+public final class PropertyTrie<V> {
+
+    private final Node<V> root = new Node<>();
+    private int size;
+
+    // Business logic methods
+
+    /**
+     * Associate a value with a key, returning the previous value.
+     */
+    public V put(String key, V value) {
+        Node<V> node = root;
+        int start = 0;
+        while (start <= key.length()) {
+            int end = segmentEnd(key, start);
+            node = node.childOrCreate(key.substring(start, end));
+            start = end + 1;
+        }
+        V previous = node.value;
+        if (node.key == null) {
+
+            size++;
+        }
+        node.key = key;
+        node.value = value;
+        return previous;
+    }
+
+    public V get(String key) {
+        Node<V> node = find(key);
+        return node != null ? node.value : null;
+    }
+
+    /**
+     * Remove a key, pruning the nodes left without keys below them.
+     */
+    public V remove(String key) {
+        return remove(root, key, 0);
+    }
+
+    /**
+     * Visit every key equal to the prefix or below it, e.g. {@code spring.datasource} visits
+     * {@code spring.datasource.url} but not {@code spring.datasources}. An empty prefix visits every key.
+     */
+    public void forEachUnder(String prefix, BiConsumer<String, V> action) {
+        String normalized = normalizePrefix(prefix);
+        Node<V> node = normalized.isEmpty() ? root : find(normalized);
+        if (node != null) {
+
+            visit(node, action);
+        }
+    }
+
+    /**
+     * Keys and values equal to the prefix or below it.
+     */
+    public Map<String, V> subtree(String prefix) {
+        Map<String, V> matches = new HashMap<>();
+        forEachUnder(prefix, matches::put);
+        return matches;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Strip a trailing wildcard, so {@code management.endpoints.*} and {@code management.endpoints} match alike.
+     */
+    public static String normalizePrefix(String prefix) {
+        if (prefix == null) {
+
+            return "";
+        }
+        String normalized = prefix.trim();
+        if (normalized.endsWith("*")) {
+
+            normalized = normalized.substring(0, normalized.length() - 1);
+        }
+        if (normalized.endsWith(".")) {
+
+            normalized = normalized.substring(0, normalized.length() - 1);
+        }
+        return normalized;
+    }
+
+    private Node<V> find(String key) {
+        Node<V> node = root;
+        int start = 0;
+        while (node != null && start <= key.length()) {
+            int end = segmentEnd(key, start);
+            node = node.child(key.substring(start, end));
+            start = end + 1;
+        }
+        return node;
+    }
+
+    private V remove(Node<V> node, String key, int start) {
+        if (start > key.length()) {
+
+            if (node.key == null) {
+                return null;
+            }
+            V removed = node.value;
+            node.key = null;
+            node.value = null;
+            size--;
+            return removed;
+        }
+        int end = segmentEnd(key, start);
+        String segment = key.substring(start, end);
+        Node<V> child = node.child(segment);
+        if (child == null) {
+
+            return null;
+        }
+        V removed = remove(child, key, end + 1);
+        if (child.key == null && (child.children == null || child.children.isEmpty())) {
+
+            node.children.remove(segment);
+        }
+        return removed;
+    }
+
+    private static <V> void visit(Node<V> node, BiConsumer<String, V> action) {
+        if (node.key != null) {
+
+            action.accept(node.key, node.value);
+        }
+        if (node.children != null) {
+
+            for (Node<V> child : node.children.values()) {
+                visit(child, action);
+            }
+        }
+    }
+
+    private static int segmentEnd(String key, int start) {
+        int dot = key.indexOf('.', start);
+        return dot >= 0 ? dot : key.length();
+    }
+
+    /**
+     * One key segment; holds the full key when a key ends here.
+     */
+    private static final class Node<V> {
+
+        private Map<String, Node<V>> children;
+        private String key;
+        private V value;
+
+        Node<V> child(String segment) {
+            return children != null ? children.get(segment) : null;
+        }
+
+        Node<V> childOrCreate(String segment) {
+            if (children == null) {
+
+                children = new HashMap<>(4);
+            }
+            return children.computeIfAbsent(segment, s -> new Node<>());
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.gogidix.centralconfiguration.configserver.domain.port;
+
+import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationInvalidation;
+
+/**
+ * Domain port for sending cache invalidations to the other nodes of the cluster.
+ * Delivery is at least once and may be reordered; receivers apply invalidations idempotently.
+ */
+public interface ConfigurationInvalidationPublisher {
+
+    void publish(ConfigurationInvalidation invalidation);
+}
@@ -1,7 +1,11 @@
 package com.gogidix.centralconfiguration.configserver.domain.port;
 
+import com.gogidix.centralconfiguration.configserver.domain.exception.ConfigurationConflictException;
 import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationData;
+import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationWrite;
+import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationWriteResult;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,10 +16,46 @@ import java.util.Optional;
 public interface ConfigurationPort {
     
     Optional<ConfigurationData> findByApplicationAndProfile(String application, String profile);
+
+    /**
+     * Find the overrides stored for one label of an application and profile.
+     * Backends without label-specific storage only match data saved under that label.
+     */
+    default Optional<ConfigurationData> findByApplicationProfileAndLabel(String application, String profile, String label) {
+        return findByApplicationAndProfile(application, profile)
+            .filter(data -> label.equals(data.getLabel()));
+    }
     
     List<ConfigurationData> findByApplication(String application);
     
     void save(ConfigurationData configurationData);
+
+    /**
+     * Save only while the stored revision equals the expected one, and return the new revision.
+     * {@link ConfigurationData#NO_REVISION} expects nothing stored; {@link ConfigurationData#ANY_REVISION} skips the check.
+     * Revisions grow with every change and are never reused for the same application, profile and label.
+     *
+     * @throws ConfigurationConflictException on a stale revision
+     */
+    long compareAndSave(ConfigurationData configurationData, long expectedRevision);
+
+    /**
+     * Save several writes together, with one result per write in order; a write that fails is reported in its own
+     * result. Transactional backends commit the batch at once, and an exception thrown instead means nothing in the
+     * batch was stored. This default stores the writes one by one, so it reports every failure per write and
+     * never throws: the writes before a failed one stay stored.
+     */
+    default List<ConfigurationWriteResult> saveAll(List<ConfigurationWrite> writes) {
+        List<ConfigurationWriteResult> results = new ArrayList<>(writes.size());
+        for (ConfigurationWrite write : writes) {
+            try {
+                results.add(ConfigurationWriteResult.saved(compareAndSave(write.getData(), write.getExpectedRevision())));
+            } catch (RuntimeException e) {
+                results.add(ConfigurationWriteResult.failed(e));
+            }
+        }
+        return results;
+    }
     
     void delete(String application, String profile);
     
@@ -1,8 +1,10 @@
 package com.gogidix.centralconfiguration.configserver.domain.port;
 
+import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationDelta;
 import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationQuery;
 import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationResult;
 import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationData;
+import com.gogidix.centralconfiguration.configserver.domain.model.PropertyKeyMatch;
 
 import java.util.List;
 
@@ -16,6 +18,8 @@ public interface ConfigurationServicePort {
     
     ConfigurationResult getConfiguration(String application, String profile);
     
+    ConfigurationDelta getConfigurationDelta(ConfigurationQuery query, long sinceRevision);
+    
     ConfigurationResult getServerInfo();
     
     void refreshConfiguration();
@@ -25,8 +29,15 @@ public interface ConfigurationServicePort {
     List<String> getProfilesForApplication(String application);
     
     void updateConfiguration(String application, String profile, ConfigurationData configurationData);
+
+    /**
+     * Compare-and-set update: fails with a conflict unless the stored revision equals the expected one.
+     */
+    long updateConfiguration(String application, String profile, ConfigurationData configurationData, long expectedRevision);
     
     void deleteConfiguration(String application, String profile);
     
     boolean configurationExists(String application, String profile);
+    
+    List<PropertyKeyMatch> searchPropertyKeys(String keyPrefix);
 }
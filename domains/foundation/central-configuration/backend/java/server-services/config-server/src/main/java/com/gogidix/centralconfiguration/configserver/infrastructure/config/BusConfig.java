@@ -0,0 +1,16 @@
+package com.gogidix.centralconfiguration.configserver.infrastructure.config;
+
+import com.gogidix.centralconfiguration.configserver.adapter.out.bus.ConfigurationInvalidationRemoteEvent;
+import org.springframework.cloud.bus.ConditionalOnBusEnabled;
+import org.springframework.cloud.bus.jackson.RemoteApplicationEventScan;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Cloud bus configuration for the Config Server.
+ * Registers this service's remote events so the bus can deserialize them on every node.
+ */
+@Configuration
+@ConditionalOnBusEnabled
+@RemoteApplicationEventScan(basePackageClasses = ConfigurationInvalidationRemoteEvent.class)
+public class BusConfig {
+}
@@ -0,0 +1,87 @@
+package com.gogidix.centralconfiguration.configserver.infrastructure.metrics;
+
+import com.gogidix.centralconfiguration.configserver.application.cache.ConfigurationCacheWarmer;
+import com.gogidix.centralconfiguration.configserver.application.cache.ConfigurationSnapshotCache;
+import com.gogidix.centralconfiguration.configserver.application.cache.DecryptedPropertyCache;
+import com.gogidix.centralconfiguration.configserver.application.cache.NegativeLookupCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micrometer binding for the configuration snapshot cache, negative lookup cache, decrypted property cache
+ * and boot-time warm-up.
+ * Meters read the cache's own counters, so the read path records nothing extra.
+ */
+@Component
+public class ConfigurationCacheMetrics implements MeterBinder {
+
+    private final ConfigurationSnapshotCache snapshotCache;
+    private final NegativeLookupCache negativeLookupCache;
+    private final DecryptedPropertyCache decryptedPropertyCache;
+    private final ConfigurationCacheWarmer cacheWarmer;
+
+    // Constructor
+    public ConfigurationCacheMetrics(ConfigurationSnapshotCache snapshotCache, NegativeLookupCache negativeLookupCache,
+                                     DecryptedPropertyCache decryptedPropertyCache, ConfigurationCacheWarmer cacheWarmer) {
+        this.snapshotCache = snapshotCache;
+        this.negativeLookupCache = negativeLookupCache;
+        this.decryptedPropertyCache = decryptedPropertyCache;
+        this.cacheWarmer = cacheWarmer;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("config.cache.hits", snapshotCache, ConfigurationSnapshotCache::getHitCount)
+            .description("Reads answered by a current snapshot")
+            .register(registry);
+        FunctionCounter.builder("config.cache.evictions", snapshotCache, ConfigurationSnapshotCache::getEvictionCount)
+            .description("Snapshots invalidated by a write or a change on another node")
+            .register(registry);
+        FunctionCounter.builder("config.cache.loads", snapshotCache, ConfigurationSnapshotCache::getLoadCount)
+            .description("Backend loads started on a cache miss")
+            .register(registry);
+        FunctionCounter.builder("config.cache.loads.coalesced", snapshotCache, ConfigurationSnapshotCache::getCoalescedLoadCount)
+            .description("Cache misses served by joining a load already in progress")
+            .register(registry);
+        FunctionCounter.builder("config.cache.loads.failed", snapshotCache, ConfigurationSnapshotCache::getFailedLoadCount)
+            .description("Backend loads that failed; every joined caller receives the failure")
+            .register(registry);
+        FunctionCounter.builder("config.cache.stale.served", snapshotCache, ConfigurationSnapshotCache::getStaleServedCount)
+            .description("Reads answered with the last known good snapshot")
+            .register(registry);
+        FunctionCounter.builder("config.cache.refreshes", snapshotCache, ConfigurationSnapshotCache::getRefreshCount)
+            .description("Background revalidations started")
+            .register(registry);
+        FunctionCounter.builder("config.cache.refreshes.failed", snapshotCache, ConfigurationSnapshotCache::getFailedRefreshCount)
+            .description("Background revalidations that failed, timed out or were rejected")
+            .register(registry);
+        FunctionCounter.builder("config.cache.negative.hits", negativeLookupCache, NegativeLookupCache::getHitCount)
+            .description("Lookups of unknown applications or profiles answered without storage")
+            .register(registry);
+        FunctionCounter.builder("config.decrypt.operations", decryptedPropertyCache, DecryptedPropertyCache::getDecryptCount)
+            .description("Encrypted property values decrypted")
+            .register(registry);
+        FunctionCounter.builder("config.decrypt.avoided", decryptedPropertyCache, DecryptedPropertyCache::getAvoidedDecryptCount)
+            .description("Encrypted property values served from plaintext already decrypted for the same revision")
+            .register(registry);
+        Gauge.builder("config.cache.loads.in.flight", snapshotCache, ConfigurationSnapshotCache::getInFlightCount)
+            .description("Backend loads currently in progress")
+            .register(registry);
+        Gauge.builder("config.cache.snapshots", snapshotCache, ConfigurationSnapshotCache::size)
+            .description("Configuration snapshots held by the cache")
+            .register(registry);
+        TimeGauge.builder("config.cache.warmup.duration", cacheWarmer, TimeUnit.MILLISECONDS,
+                ConfigurationCacheWarmer::getLastDurationMillis)
+            .description("Time the boot-time warm-up took before the server reported ready")
+            .register(registry);
+        Gauge.builder("config.cache.warmup.loaded", cacheWarmer, ConfigurationCacheWarmer::getLastLoaded)
+            .description("Configurations loaded by the boot-time warm-up")
+            .register(registry);
+    }
+}
@@ -0,0 +1,112 @@
+package com.gogidix.centralconfiguration.configserver.infrastructure.metrics;
+
+import com.gogidix.centralconfiguration.configserver.application.cache.NegativeLookupCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Records per-application request rates and response payload sizes of the configuration API.
+ * Endpoint latency is already timed by Spring's {@code http.server.requests}. Only applications known to storage
+ * get their own tag, up to a fixed number; the rest share {@code other}, and names never stored share
+ * {@code unknown}, so a large fleet or a client scanning names cannot grow the registry without bound.
+ */
+@Component
+public class ConfigurationRequestMetricsFilter extends OncePerRequestFilter {
+
+    static final String OTHER = "other";
+    static final String UNKNOWN = "unknown";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private NegativeLookupCache negativeLookupCache;
+
+    @Value("${config-server.metrics.max-application-tags:100}")
+    private int maxApplicationTags = 100;
+
+    @Value("${config-server.metrics.histograms:true}")
+    private boolean histograms = true;
+
+    private final ConcurrentMap<String, Counter> requestCounters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, DistributionSummary> payloadSizes = new ConcurrentHashMap<>();
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        chain.doFilter(request, response);
+
+        if (!(request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE) instanceof String uri) ||
+            !uri.startsWith("/api/")) {
+
+            return;
+        }
+        if (request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE) instanceof Map<?, ?> variables &&
+            variables.get("application") instanceof String application) {
+
+            requestCounter(application).increment();
+        }
+        // Long-poll responses are written later, on another dispatch; only bodies of a known length are measured
+        String contentLength = response.getHeader(HttpHeaders.CONTENT_LENGTH);
+        if (contentLength != null && !request.isAsyncStarted()) {
+
+            try {
+                payloadSize(uri).record(Long.parseLong(contentLength));
+            } catch (NumberFormatException e) {
+                // Not a length we set; nothing to record
+            }
+        }
+    }
+
+    /**
+     * Counter of an application: its own while it is stored and tag slots are left, otherwise a shared one.
+     */
+    private Counter requestCounter(String application) {
+        Counter counter = requestCounters.get(application);
+        if (counter != null) {
+
+            return counter;
+        }
+        if (!negativeLookupCache.mightExist(application)) {
+
+            return counter(UNKNOWN);
+        }
+        if (requestCounters.size() >= maxApplicationTags) {
+
+            return counter(OTHER);
+        }
+        return requestCounters.computeIfAbsent(application, this::counter);
+    }
+
+    private Counter counter(String application) {
+        return Counter.builder("config.requests")
+            .description("Configuration API requests by application")
+            .tag("application", application)
+            .register(meterRegistry);
+    }
+
+    private DistributionSummary payloadSize(String uri) {
+        return payloadSizes.computeIfAbsent(uri, key -> DistributionSummary.builder("config.response.size")
+            .description("Size of configuration API response bodies as sent, after compression")
+            .baseUnit("bytes")
+            .tag("uri", key)
+            .publishPercentileHistogram(histograms)
+            .register(meterRegistry));
+    }
+}
@@ -0,0 +1,70 @@
+package com.gogidix.centralconfiguration.configserver.infrastructure.metrics;
+
+import com.gogidix.centralconfiguration.configserver.domain.port.ConfigurationPort;
+import com.gogidix.centralconfiguration.configserver.domain.port.ConfigurationServicePort;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.framework.AbstractAdvisingBeanPostProcessor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+/**
+ * Decorates every {@link ConfigurationPort} and {@link ConfigurationServicePort} bean with a timer per port method.
+ * Beans are proxied by class, so their event listeners keep working, and beans already proxied, such as the
+ * transactional JPA adapter, get the timer added ahead of their other advice so it covers the transaction.
+ */
+@Component
+public class PortMetricsPostProcessor extends AbstractAdvisingBeanPostProcessor implements SmartInitializingSingleton {
+
+    private static final List<Class<?>> PORTS = List.of(ConfigurationPort.class, ConfigurationServicePort.class);
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final PortTimingInterceptor interceptor;
+
+    // Constructor
+    public PortMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry,
+                                    @Value("${config-server.metrics.histograms:true}") boolean histograms) {
+        this.meterRegistry = meterRegistry;
+        this.interceptor = new PortTimingInterceptor(PORTS, histograms);
+        this.advisor = new DefaultPointcutAdvisor(new PortMethodPointcut(), interceptor);
+        setProxyTargetClass(true);
+        setBeforeExistingAdvisors(true);
+    }
+
+    /**
+     * Bind the registry once every singleton exists; resolving it earlier would create it from inside a port call.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        meterRegistry.ifAvailable(interceptor::bind);
+    }
+
+    /**
+     * Matches the methods a bean implements for one of the ports, leaving its other public methods untimed.
+     */
+    private static final class PortMethodPointcut extends StaticMethodMatcherPointcut {
+
+        PortMethodPointcut() {
+            setClassFilter(targetClass -> PORTS.stream().anyMatch(port -> port.isAssignableFrom(targetClass)));
+        }
+
+        @Override
+        public boolean matches(Method method, Class<?> targetClass) {
+            for (Class<?> port : PORTS) {
+                if (port.isAssignableFrom(targetClass) &&
+                    ClassUtils.hasMethod(port, method.getName(), method.getParameterTypes())) {
+
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.gogidix.centralconfiguration.configserver.infrastructure.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times calls through a domain port. Meters are tagged with the port interface, the method name and the outcome
+ * only, so the number of time series is fixed by the port interfaces however many applications are served.
+ */
+class PortTimingInterceptor implements MethodInterceptor {
+
+    static final String METER_NAME = "config.port.calls";
+
+    private final List<Class<?>> ports;
+    private final boolean histograms;
+    private final ConcurrentMap<Method, Timer[]> timers = new ConcurrentHashMap<>();
+    private volatile MeterRegistry meterRegistry;
+
+    // Constructor
+    PortTimingInterceptor(List<Class<?>> ports, boolean histograms) {
+        this.ports = ports;
+        this.histograms = histograms;
+    }
+
+    /**
+     * Start recording into a registry. Calls made before, while the context is still starting, are not timed.
+     */
+    void bind(MeterRegistry registry) {
+        this.meterRegistry = registry;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        long started = System.nanoTime();
+        boolean failed = true;
+        try {
+            Object result = invocation.proceed();
+            failed = false;
+            return result;
+        } finally {
+            Timer timer = timer(invocation.getThis(), invocation.getMethod(), failed);
+            if (timer != null) {
+
+                timer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    /**
+     * Success and error timers of a method, registered on first call; null until a registry is available.
+     */
+    private Timer timer(Object target, Method method, boolean failed) {
+        Timer[] pair = timers.get(method);
+        if (pair == null) {
+
+            MeterRegistry registry = meterRegistry;
+            if (registry == null) {
+
+                return null;
+            }
+            String port = portOf(target);
+            pair = timers.computeIfAbsent(method, m -> new Timer[] {
+                register(registry, port, m, "success"),
+                register(registry, port, m, "error")
+            });
+        }
+        return pair[failed ? 1 : 0];
+    }
+
+    private String portOf(Object target) {
+        for (Class<?> port : ports) {
+            if (port.isInstance(target)) {
+
+                return port.getSimpleName();
+            }
+        }
+        return "unknown";
+    }
+
+    private Timer register(MeterRegistry registry, String port, Method method, String outcome) {
+        return Timer.builder(METER_NAME)
+            .description("Calls through the configuration domain ports")
+            .tag("port", port)
+            .tag("method", method.getName())
+            .tag("outcome", outcome)
+            .publishPercentileHistogram(histograms)
+            .register(registry);
+    }
+}
@@ -0,0 +1,87 @@
+package com.gogidix.centralconfiguration.configserver.adapter.in.bus;
+
+import com.gogidix.centralconfiguration.configserver.adapter.out.bus.BusConfigurationInvalidationPublisher;
+import com.gogidix.centralconfiguration.configserver.adapter.out.bus.ConfigurationInvalidationRemoteEvent;
+import com.gogidix.centralconfiguration.configserver.application.cache.ClusterCacheInvalidator;
+import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationInvalidation;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cloud.bus.PathServiceMatcher;
+import org.springframework.cloud.bus.DefaultBusPathMatcher;
+import org.springframework.cloud.bus.event.PathDestinationFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.AntPathMatcher;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class BusConfigurationInvalidationListenerTest {
+
+    @Mock
+    private ClusterCacheInvalidator clusterCacheInvalidator;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private BusConfigurationInvalidationListener listener;
+
+    @Test
+    public void testRemoteInvalidationIsApplied() {
+        ConfigurationInvalidation invalidation = new ConfigurationInvalidation("orders", "dev", "master", 42L);
+        ConfigurationInvalidationRemoteEvent event = send("config-server:8080:node-a", invalidation);
+
+        receive("config-server:8080:node-b", event);
+
+        verify(clusterCacheInvalidator).apply(invalidation);
+    }
+
+    @Test
+    public void testRefreshTravelsAsUnscopedInvalidation() {
+        ConfigurationInvalidationRemoteEvent event = send("config-server:8080:node-a", ConfigurationInvalidation.all());
+
+        receive("config-server:8080:node-b", event);
+
+        verify(clusterCacheInvalidator).apply(ConfigurationInvalidation.all());
+    }
+
+    @Test
+    public void testOwnEventsAreIgnored() {
+        ConfigurationInvalidationRemoteEvent event = send("config-server:8080:node-a",
+            new ConfigurationInvalidation("orders", "dev", null, 0L));
+
+        receive("config-server:8080:node-a", event);
+
+        verify(clusterCacheInvalidator, never()).apply(any());
+    }
+
+    private ConfigurationInvalidationRemoteEvent send(String busId, ConfigurationInvalidation invalidation) {
+        BusConfigurationInvalidationPublisher publisher = new BusConfigurationInvalidationPublisher();
+        ReflectionTestUtils.setField(publisher, "eventPublisher", eventPublisher);
+        ReflectionTestUtils.setField(publisher, "serviceMatcher", matcher(busId));
+        ReflectionTestUtils.setField(publisher, "destinationFactory", new PathDestinationFactory());
+        publisher.publish(invalidation);
+
+        ArgumentCaptor<ConfigurationInvalidationRemoteEvent> sent = ArgumentCaptor.forClass(ConfigurationInvalidationRemoteEvent.class);
+        verify(eventPublisher).publishEvent(sent.capture());
+        assertEquals(busId, sent.getValue().getOriginService());
+        return sent.getValue();
+    }
+
+    private void receive(String busId, ConfigurationInvalidationRemoteEvent event) {
+        ReflectionTestUtils.setField(listener, "serviceMatcher", matcher(busId));
+        listener.onInvalidation(event);
+    }
+
+    private static PathServiceMatcher matcher(String busId) {
+        return new PathServiceMatcher(new DefaultBusPathMatcher(new AntPathMatcher(":")), busId, new String[0]);
+    }
+}
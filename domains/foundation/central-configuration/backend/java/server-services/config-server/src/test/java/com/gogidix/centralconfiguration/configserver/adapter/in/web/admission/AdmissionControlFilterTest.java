@@ -0,0 +1,132 @@
+package com.gogidix.centralconfiguration.configserver.adapter.in.web.admission;
+
+import com.gogidix.centralconfiguration.configserver.application.cache.NegativeLookupCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+
+@ExtendWith(MockitoExtension.class)
+public class AdmissionControlFilterTest {
+
+    @Mock
+    private NegativeLookupCache negativeLookupCache;
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private AdmissionControlFilter filter;
+
+    @BeforeEach
+    public void setUp() {
+        filter = new AdmissionControlFilter();
+        ReflectionTestUtils.setField(filter, "meterRegistry", registry);
+        ReflectionTestUtils.setField(filter, "negativeLookupCache", negativeLookupCache);
+        lenient().when(negativeLookupCache.mightExist(anyString()))
+            .thenAnswer(invocation -> !invocation.<String>getArgument(0).startsWith("unknown-"));
+        // Slow refills, so only the burst is admitted while a test runs
+        ReflectionTestUtils.setField(filter, "applicationRate", 0.01);
+        ReflectionTestUtils.setField(filter, "applicationBurst", 3);
+        ReflectionTestUtils.setField(filter, "refreshRate", 0.01);
+        ReflectionTestUtils.setField(filter, "refreshBurst", 1);
+        filter.start();
+    }
+
+    @Test
+    public void testApplicationsHaveSeparateBudgets() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(200, request("GET", "/api/config/properties/orders").getStatus());
+        }
+
+        MockHttpServletResponse rejected = request("PUT", "/api/config/properties/orders/prod");
+
+        assertEquals(429, rejected.getStatus());
+        assertTrue(Long.parseLong(rejected.getHeader(HttpHeaders.RETRY_AFTER)) > 0);
+        assertEquals(200, request("GET", "/api/config/properties/billing").getStatus());
+        assertEquals(1.0, registry.get("config.requests.rejected").tag("budget", "application").counter().count());
+    }
+
+    @Test
+    public void testRefreshHasItsOwnStricterBudget() throws Exception {
+        assertEquals(200, request("POST", "/api/config/refresh").getStatus());
+        assertEquals(429, request("POST", "/api/config/refresh").getStatus());
+
+        assertEquals(200, request("GET", "/api/config/properties/orders").getStatus());
+        assertEquals(200, request("GET", "/api/config/applications").getStatus());
+        assertEquals(1.0, registry.get("config.requests.rejected").tag("budget", "refresh").counter().count());
+    }
+
+    @Test
+    public void testTrackedApplicationsAreBounded() throws Exception {
+        ReflectionTestUtils.setField(filter, "maxTrackedApplications", 2);
+
+        for (String application : new String[] {"orders", "billing", "shipping", "audit", "batch"}) {
+            request("GET", "/api/config/properties/" + application);
+        }
+
+        assertEquals(2, filter.getTrackedApplications());
+    }
+
+    @Test
+    public void testEncodedNameSpendsTheDecodedApplicationsBudget() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(200, request("GET", "/api/config/properties/orders").getStatus());
+        }
+
+        assertEquals(429, request("GET", "/api/config/properties/%6Frders").getStatus());
+        assertEquals(1, filter.getTrackedApplications());
+    }
+
+    @Test
+    public void testUnknownApplicationsShareOneBucket() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(200, request("GET", "/api/config/properties/unknown-" + i).getStatus());
+        }
+
+        assertEquals(429, request("GET", "/api/config/properties/unknown-3").getStatus());
+        assertEquals(0, filter.getTrackedApplications());
+        assertEquals(200, request("GET", "/api/config/properties/orders").getStatus());
+    }
+
+    @Test
+    public void testDisabledFilterAdmitsEverything() throws Exception {
+        ReflectionTestUtils.setField(filter, "enabled", false);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(200, request("POST", "/api/config/refresh").getStatus());
+        }
+    }
+
+    @Test
+    public void testBucketRefillsAtItsRate() {
+        long second = TimeUnit.SECONDS.toNanos(1);
+        TokenBucket bucket = new TokenBucket(2, 2, 0L);
+
+        assertEquals(0L, bucket.tryAcquire(0L));
+        assertEquals(0L, bucket.tryAcquire(0L));
+        assertEquals(second / 2, bucket.tryAcquire(0L));
+        assertEquals(0L, bucket.tryAcquire(second / 2));
+        assertTrue(bucket.tryAcquire(second / 2) > 0);
+        assertTrue(bucket.isIdle(2 * second));
+    }
+
+    private MockHttpServletResponse request(String method, String uri) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
@@ -0,0 +1,54 @@
+package com.gogidix.centralconfiguration.configserver.adapter.in.web.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gogidix.centralconfiguration.configserver.adapter.in.web.mapper.ConfigurationMapper;
+import com.gogidix.centralconfiguration.configserver.domain.event.ConfigurationChangedEvent;
+import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationResult;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class SerializedResponseCacheTest {
+
+    private final SerializedResponseCache cache =
+        new SerializedResponseCache(new ObjectMapper().findAndRegisterModules(), new ConfigurationMapper());
+
+    private static ConfigurationResult result(String application) {
+        return new ConfigurationResult(application, "dev", "master", "1.0.0", Map.of("db.host", "localhost"), null);
+    }
+
+    @Test
+    public void testSameSnapshotIsEncodedOnce() {
+        ConfigurationResult orders = result("orders");
+
+        assertSame(cache.get("orders:dev:master", orders), cache.get("orders:dev:master", orders));
+    }
+
+    @Test
+    public void testChangedApplicationIsEvicted() {
+        cache.get("orders:dev:master", result("orders"));
+        cache.get("orders:prod:master", result("orders"));
+        cache.get("billing:dev:master", result("billing"));
+
+        cache.onConfigurationChanged(ConfigurationChangedEvent.of("orders", "dev"));
+        assertEquals(1, cache.size());
+
+        cache.onConfigurationChanged(ConfigurationChangedEvent.all());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testEntriesAreBounded() {
+        ReflectionTestUtils.setField(cache, "maxEntries", 3);
+
+        for (int i = 0; i < 10; i++) {
+            cache.get("service-" + i + ":dev:master", result("service-" + i));
+        }
+
+        assertEquals(1, cache.size());
+    }
+}
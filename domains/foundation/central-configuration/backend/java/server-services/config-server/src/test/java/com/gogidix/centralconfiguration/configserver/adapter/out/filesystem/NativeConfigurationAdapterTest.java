@@ -0,0 +1,179 @@
+package com.gogidix.centralconfiguration.configserver.adapter.out.filesystem;
+
+import com.gogidix.centralconfiguration.configserver.domain.event.ConfigurationChangedEvent;
+import com.gogidix.centralconfiguration.configserver.domain.event.ConfigurationSourceChangedEvent;
+import com.gogidix.centralconfiguration.configserver.domain.exception.ConfigurationConflictException;
+import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class NativeConfigurationAdapterTest {
+
+    @TempDir
+    Path repository;
+
+    private final BlockingQueue<Object> events = new LinkedBlockingQueue<>();
+    private NativeConfigurationAdapter adapter;
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        if (adapter != null) {
+
+            adapter.shutdown();
+        }
+    }
+
+    @Test
+    public void testReadsYamlAndPropertiesFiles() throws Exception {
+        write("orders/default.yml", "db:\n  host: localhost\n  port: 5432\nhosts:\n  - a\n  - b\n");
+        write("orders/dev.properties", "db.host=dev-db\n");
+        write("orders/.dev.yml.tmp", "ignored: true\n");
+        start(false, DataSize.ofMegabytes(1));
+
+        ConfigurationData defaults = adapter.findByApplicationAndProfile("orders", "default").orElseThrow();
+        assertEquals(Map.of("db.host", "localhost", "db.port", 5432, "hosts[0]", "a", "hosts[1]", "b"), defaults.getProperties());
+        assertEquals("dev-db", adapter.findByApplicationAndProfile("orders", "dev").orElseThrow().getProperties().get("db.host"));
+        assertEquals(List.of("orders"), adapter.getAllApplications());
+        assertEquals(List.of("default", "dev"), adapter.getProfilesForApplication("orders"));
+        assertTrue(defaults.getRevision() > 0);
+    }
+
+    @Test
+    public void testLargeFilesAreParsedFromMappedBuffer() throws Exception {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            content.append("key").append(i).append(": value-").append(i).append('\n');
+        }
+        write("orders/default.yml", content.toString());
+        start(false, DataSize.ofBytes(64));
+
+        ConfigurationData data = adapter.findByApplicationAndProfile("orders", "default").orElseThrow();
+        assertEquals(2000, data.getProperties().size());
+        assertEquals("value-1999", data.getProperties().get("key1999"));
+    }
+
+    @Test
+    public void testCompareAndSaveWritesFilesWithGrowingRevisions() throws Exception {
+        start(false, DataSize.ofMegabytes(1));
+
+        long created = adapter.compareAndSave(new ConfigurationData("billing", "dev", Map.of("db.host", "localhost")),
+            ConfigurationData.NO_REVISION);
+        long updated = adapter.compareAndSave(new ConfigurationData("billing", "dev", Map.of("db.host", "db.internal")), created);
+
+        assertTrue(updated > created);
+        assertTrue(Files.readString(repository.resolve("billing/dev.yml")).contains("db.internal"));
+        assertEquals(updated, adapter.compareAndSave(new ConfigurationData("billing", "dev", Map.of("db.host", "db.internal")), updated));
+        assertThrows(ConfigurationConflictException.class, () ->
+            adapter.compareAndSave(new ConfigurationData("billing", "dev", Map.of("db.host", "other")), created));
+        assertThrows(IllegalArgumentException.class, () ->
+            adapter.save(new ConfigurationData("../etc", "dev", Map.of("key", "value"))));
+
+        adapter.delete("billing", "dev");
+        assertFalse(adapter.exists("billing", "dev"));
+        long recreated = adapter.compareAndSave(new ConfigurationData("billing", "dev", Map.of("db.host", "localhost")),
+            ConfigurationData.NO_REVISION);
+        assertTrue(recreated > updated, "revisions are not reused after a delete");
+    }
+
+    @Test
+    public void testWatcherReloadsOnlyChangedFiles() throws Exception {
+        write("orders/default.yml", "db.host: localhost\n");
+        write("orders/dev.yml", "db.host: dev-db\n");
+        start(true, DataSize.ofMegabytes(1));
+        long defaultsRevision = adapter.findByApplicationAndProfile("orders", "default").orElseThrow().getRevision();
+
+        write("orders/dev.yml", "db.host: dev-db-2\n");
+
+        assertEquals(Set.of(target("orders", "dev")), awaitChanges(target("orders", "dev")));
+        assertEquals("dev-db-2", adapter.findByApplicationAndProfile("orders", "dev").orElseThrow().getProperties().get("db.host"));
+        assertEquals(defaultsRevision, adapter.findByApplicationAndProfile("orders", "default").orElseThrow().getRevision());
+
+        write("billing/default.properties", "feature.x=on\n");
+        assertEquals(Set.of(target("billing", "default")), awaitChanges(target("billing", "default")));
+        assertTrue(adapter.getAllApplications().contains("billing"));
+
+        Files.delete(repository.resolve("orders/dev.yml"));
+        assertEquals(Set.of(target("orders", "dev")), awaitChanges(target("orders", "dev")));
+        assertFalse(adapter.exists("orders", "dev"));
+    }
+
+    @Test
+    public void testOwnWritesAreNotAnnouncedAgain() throws Exception {
+        start(true, DataSize.ofMegabytes(1));
+
+        adapter.save(new ConfigurationData("orders", "dev", Map.of("db.host", "localhost")));
+        write("orders/default.yml", "db.host: localhost\n");
+
+        // The watcher sees both files; only the externally written one is new to the adapter
+        assertEquals(Set.of(target("orders", "default")), awaitChanges(target("orders", "default")));
+
+        // Events are handled in order, so any late one for the first two files would arrive before this file's
+        write("orders/prod.yml", "db.host: prod-db\n");
+        assertEquals(Set.of(target("orders", "prod")), awaitChanges(target("orders", "prod")));
+    }
+
+    @Test
+    public void testFileCaughtEmptyIsReadOnceWritten() throws Exception {
+        start(true, DataSize.ofMegabytes(1));
+
+        Files.createDirectories(repository.resolve("orders"));
+        Files.createFile(repository.resolve("orders/dev.yml"));
+        Thread.sleep(100);
+        write("orders/dev.yml", "db.host: dev-db\n");
+
+        assertEquals(Set.of(target("orders", "dev")), awaitChanges(target("orders", "dev")));
+        assertEquals("dev-db", adapter.findByApplicationAndProfile("orders", "dev").orElseThrow().getProperties().get("db.host"));
+    }
+
+    private void start(boolean watch, DataSize mmapThreshold) throws Exception {
+        adapter = new NativeConfigurationAdapter();
+        ReflectionTestUtils.setField(adapter, "eventPublisher", (ApplicationEventPublisher) events::add);
+        ReflectionTestUtils.setField(adapter, "root", repository.toString());
+        ReflectionTestUtils.setField(adapter, "watch", watch);
+        ReflectionTestUtils.setField(adapter, "mmapThreshold", mmapThreshold);
+        adapter.start();
+    }
+
+    /**
+     * Targets announced until the expected one; an editor's save may arrive as more than one event.
+     */
+    private Set<ConfigurationChangedEvent.Target> awaitChanges(ConfigurationChangedEvent.Target expected) throws InterruptedException {
+        Set<ConfigurationChangedEvent.Target> seen = new HashSet<>();
+        while (!seen.contains(expected)) {
+            Object event = events.poll(10, TimeUnit.SECONDS);
+            assertNotNull(event, "no change event for " + expected + " within 10s");
+            seen.addAll(((ConfigurationSourceChangedEvent) event).getTargets());
+        }
+        return seen;
+    }
+
+    private static ConfigurationChangedEvent.Target target(String application, String profile) {
+        return new ConfigurationChangedEvent.Target(application, profile);
+    }
+
+    private void write(String relativePath, String content) throws Exception {
+        Path file = repository.resolve(relativePath);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+    }
+}
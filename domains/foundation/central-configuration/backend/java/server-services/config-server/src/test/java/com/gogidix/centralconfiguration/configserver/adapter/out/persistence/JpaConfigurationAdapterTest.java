@@ -0,0 +1,184 @@
+package com.gogidix.centralconfiguration.configserver.adapter.out.persistence;
+
+import com.gogidix.centralconfiguration.configserver.domain.exception.ConfigurationConflictException;
+import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationData;
+import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationWrite;
+import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationWriteResult;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(JpaConfigurationAdapter.class)
+public class JpaConfigurationAdapterTest {
+
+    @Autowired
+    private JpaConfigurationAdapter adapter;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    public void testSaveAndFindKeepsValueTypes() {
+        adapter.save(new ConfigurationData("orders", "dev", Map.of("server.port", 8081, "feature.enabled", true, "db.host", "localhost")));
+        flushAndClear();
+
+        ConfigurationData found = adapter.findByApplicationAndProfile("orders", "dev").orElseThrow();
+
+        assertEquals(Map.of("server.port", 8081, "feature.enabled", true, "db.host", "localhost"), found.getProperties());
+        assertEquals("master", found.getLabel());
+    }
+
+    @Test
+    public void testSaveRewritesOnlyChangedRows() {
+        adapter.save(new ConfigurationData("orders", "dev", Map.of("a", "1", "b", "2", "c", "3")));
+        flushAndClear();
+        ConfigurationSetEntity before = entityManager.createQuery("select s from ConfigurationSetEntity s", ConfigurationSetEntity.class)
+            .getSingleResult();
+        Long unchangedRowId = before.getProperties().stream().filter(p -> p.getKey().equals("a")).findFirst().orElseThrow().getId();
+        flushAndClear();
+
+        adapter.save(new ConfigurationData("orders", "dev", Map.of("a", "1", "b", "20", "d", "4")));
+        flushAndClear();
+
+        ConfigurationData found = adapter.findByApplicationAndProfile("orders", "dev").orElseThrow();
+        assertEquals(Map.of("a", "1", "b", "20", "d", "4"), found.getProperties());
+        ConfigurationPropertyEntity unchanged = entityManager.find(ConfigurationPropertyEntity.class, unchangedRowId);
+        assertEquals("a", unchanged.getKey());
+    }
+
+    @Test
+    public void testLabelsAreStoredSeparately() {
+        ConfigurationData release = new ConfigurationData("orders", "dev", Map.of("db.pool", 20));
+        release.setLabel("release");
+        adapter.save(new ConfigurationData("orders", "dev", Map.of("db.pool", 10)));
+        adapter.save(release);
+        flushAndClear();
+
+        assertEquals(10, adapter.findByApplicationAndProfile("orders", "dev").orElseThrow().getProperties().get("db.pool"));
+        assertEquals(20, adapter.findByApplicationProfileAndLabel("orders", "dev", "release").orElseThrow().getProperties().get("db.pool"));
+        assertTrue(adapter.findByApplicationProfileAndLabel("orders", "dev", "hotfix").isEmpty());
+    }
+
+    @Test
+    public void testListingsAndDelete() {
+        adapter.save(new ConfigurationData("orders", "dev", Map.of("a", "1")));
+        adapter.save(new ConfigurationData("orders", "prod", Map.of("a", "2")));
+        adapter.save(new ConfigurationData("billing", "dev", Map.of("a", "3")));
+        flushAndClear();
+
+        assertEquals(List.of("billing", "orders"), adapter.getAllApplications());
+        assertEquals(List.of("dev", "prod"), adapter.getProfilesForApplication("orders"));
+        assertEquals(2, adapter.findByApplication("orders").size());
+
+        adapter.delete("orders", "dev");
+        flushAndClear();
+
+        assertFalse(adapter.exists("orders", "dev"));
+        assertTrue(adapter.exists("orders", "prod"));
+        assertEquals(List.of("prod"), adapter.getProfilesForApplication("orders"));
+    }
+
+    @Test
+    public void testCompareAndSaveAdvancesRevisionOnlyOnChange() {
+        long created = adapter.compareAndSave(new ConfigurationData("orders", "dev", Map.of("a", "1")), ConfigurationData.NO_REVISION);
+        flushAndClear();
+
+        long unchanged = adapter.compareAndSave(new ConfigurationData("orders", "dev", Map.of("a", "1")), created);
+        flushAndClear();
+        long updated = adapter.compareAndSave(new ConfigurationData("orders", "dev", Map.of("a", "2")), created);
+        flushAndClear();
+
+        assertTrue(created > 0);
+        assertEquals(created, unchanged);
+        assertTrue(updated > created);
+        assertEquals(updated, adapter.findByApplicationAndProfile("orders", "dev").orElseThrow().getRevision());
+    }
+
+    @Test
+    public void testCompareAndSaveRejectsStaleRevision() {
+        long created = adapter.compareAndSave(new ConfigurationData("orders", "dev", Map.of("a", "1")), ConfigurationData.NO_REVISION);
+        flushAndClear();
+        long updated = adapter.compareAndSave(new ConfigurationData("orders", "dev", Map.of("a", "2")), created);
+        flushAndClear();
+
+        ConfigurationConflictException conflict = assertThrows(ConfigurationConflictException.class,
+            () -> adapter.compareAndSave(new ConfigurationData("orders", "dev", Map.of("a", "3")), created));
+        assertEquals(updated, conflict.getCurrentRevision());
+        assertThrows(ConfigurationConflictException.class,
+            () -> adapter.compareAndSave(new ConfigurationData("orders", "dev", Map.of("a", "3")), ConfigurationData.NO_REVISION));
+        assertEquals("2", adapter.findByApplicationAndProfile("orders", "dev").orElseThrow().getProperties().get("a"));
+    }
+
+    @Test
+    public void testRecreatedSetDoesNotRepeatRevision() {
+        long first = adapter.compareAndSave(new ConfigurationData("orders", "dev", Map.of("a", "1")), ConfigurationData.NO_REVISION);
+        long second = adapter.compareAndSave(new ConfigurationData("orders", "dev", Map.of("a", "2")), first);
+        flushAndClear();
+        adapter.delete("orders", "dev");
+        flushAndClear();
+
+        long recreated = adapter.compareAndSave(new ConfigurationData("orders", "dev", Map.of("a", "3")), ConfigurationData.NO_REVISION);
+
+        assertTrue(recreated > second, recreated + " <= " + second);
+    }
+
+    @Test
+    public void testSaveAllStoresBatchAndRejectsOnlyConflictingWrites() {
+        long ordersRevision = adapter.compareAndSave(new ConfigurationData("orders", "dev", Map.of("a", "1")), ConfigurationData.NO_REVISION);
+        flushAndClear();
+
+        List<ConfigurationWriteResult> results = adapter.saveAll(List.of(
+            new ConfigurationWrite("orders", "dev", new ConfigurationData("orders", "dev", Map.of("a", "2")), ordersRevision),
+            new ConfigurationWrite("billing", "dev", new ConfigurationData("billing", "dev", Map.of("b", "1")), ConfigurationData.NO_REVISION),
+            new ConfigurationWrite("orders", "prod", new ConfigurationData("orders", "prod", Map.of("c", "1")), 12345L)));
+        flushAndClear();
+
+        assertTrue(results.get(0).isSaved());
+        assertTrue(results.get(0).getRevision() > ordersRevision);
+        assertTrue(results.get(1).isSaved());
+        assertTrue(results.get(2).getFailure() instanceof ConfigurationConflictException);
+        assertEquals("2", adapter.findByApplicationAndProfile("orders", "dev").orElseThrow().getProperties().get("a"));
+        assertEquals(results.get(1).getRevision(), adapter.findByApplicationAndProfile("billing", "dev").orElseThrow().getRevision());
+        assertFalse(adapter.exists("orders", "prod"));
+    }
+
+    @Test
+    public void testSaveAllChecksSecondWriteToSameSetAgainstNewRevision() {
+        long revision = adapter.compareAndSave(new ConfigurationData("orders", "dev", Map.of("a", "1")), ConfigurationData.NO_REVISION);
+        flushAndClear();
+
+        List<ConfigurationWriteResult> results = adapter.saveAll(List.of(
+            new ConfigurationWrite("orders", "dev", new ConfigurationData("orders", "dev", Map.of("a", "2")), revision),
+            new ConfigurationWrite("orders", "dev", new ConfigurationData("orders", "dev", Map.of("a", "3")), revision),
+            new ConfigurationWrite("orders", "dev", new ConfigurationData("orders", "dev", Map.of("a", "4")), ConfigurationData.ANY_REVISION)));
+        flushAndClear();
+
+        assertTrue(results.get(0).isSaved());
+        assertTrue(results.get(1).getFailure() instanceof ConfigurationConflictException);
+        assertTrue(results.get(2).isSaved());
+        assertTrue(results.get(2).getRevision() > results.get(0).getRevision());
+        ConfigurationData stored = adapter.findByApplicationAndProfile("orders", "dev").orElseThrow();
+        assertEquals("4", stored.getProperties().get("a"));
+        assertEquals(results.get(2).getRevision(), stored.getRevision());
+    }
+
+    private void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
@@ -0,0 +1,307 @@
+package com.gogidix.centralconfiguration.configserver.api.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gogidix.centralconfiguration.configserver.adapter.in.web.admission.AdmissionControlFilter;
+import com.gogidix.centralconfiguration.configserver.adapter.in.web.cache.SerializedResponseCache;
+import com.gogidix.centralconfiguration.configserver.adapter.in.web.mapper.ConfigurationMapper;
+import com.gogidix.centralconfiguration.configserver.application.service.ConfigurationBatchResolver;
+import com.gogidix.centralconfiguration.configserver.domain.exception.ConfigurationConflictException;
+import com.gogidix.centralconfiguration.configserver.domain.exception.ConfigurationUnavailableException;
+import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationData;
+import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationQuery;
+import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationResult;
+import com.gogidix.centralconfiguration.configserver.domain.model.PropertyKeyMatch;
+import com.gogidix.centralconfiguration.configserver.domain.port.ConfigurationServicePort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+public class ConfigControllerTest {
+
+    @Mock
+    private ConfigurationServicePort configurationService;
+
+    @Spy
+    private ConfigurationMapper configurationMapper = new ConfigurationMapper();
+
+    @Spy
+    private SerializedResponseCache responseCache =
+        new SerializedResponseCache(new ObjectMapper().findAndRegisterModules(), configurationMapper);
+
+    @Mock
+    private ConfigurationBatchResolver batchResolver;
+
+    @Mock
+    private AdmissionControlFilter admissionControl;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private ConfigController configController;
+
+    private MockMvc mockMvc;
+
+    private final ConfigurationResult result = new ConfigurationResult(
+        "orders", "dev", "master", "1.0.0", Map.of("db.host", "localhost"), null);
+
+    @BeforeEach
+    public void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(configController).build();
+    }
+
+    @Test
+    public void testGetConfigurationReturnsEtag() throws Exception {
+        when(configurationService.getConfiguration(any(ConfigurationQuery.class))).thenReturn(result);
+
+        mockMvc.perform(get("/api/config/properties/orders").param("profile", "dev"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "W/\"" + result.getContentHash() + "\""))
+            .andExpect(jsonPath("$.properties['db.host']").value("localhost"));
+    }
+
+    @Test
+    public void testGetConfigurationReturnsNotModifiedForMatchingEtag() throws Exception {
+        when(configurationService.getConfiguration(any(ConfigurationQuery.class))).thenReturn(result);
+
+        mockMvc.perform(get("/api/config/properties/orders").param("profile", "dev")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"" + result.getContentHash() + "\""))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+    }
+
+    @Test
+    public void testPrefixLimitsPropertiesToSubtree() throws Exception {
+        ConfigurationResult large = new ConfigurationResult("orders", "dev", "master", "1.0.0",
+            Map.of("spring.datasource.url", "jdbc:h2:mem", "spring.datasources", "x", "server.port", "8080"), null);
+        when(configurationService.getConfiguration(any(ConfigurationQuery.class))).thenReturn(large);
+
+        mockMvc.perform(get("/api/config/properties/orders").param("profile", "dev").param("prefix", "spring.datasource.*"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "W/\"" + large.subtree("spring.datasource").getContentHash() + "\""))
+            .andExpect(jsonPath("$.properties.length()").value(1))
+            .andExpect(jsonPath("$.properties['spring.datasource.url']").value("jdbc:h2:mem"));
+    }
+
+    @Test
+    public void testSearchListsSourcesOfMatchingKeys() throws Exception {
+        when(configurationService.searchPropertyKeys("management.endpoints.*")).thenReturn(List.of(
+            new PropertyKeyMatch("orders", "prod", "master", List.of("management.endpoints.web.exposure.include"))));
+
+        mockMvc.perform(get("/api/config/search").param("key", "management.endpoints.*"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].application").value("orders"))
+            .andExpect(jsonPath("$[0].keys[0]").value("management.endpoints.web.exposure.include"));
+    }
+
+    @Test
+    public void testStaleResultIsMarkedWithHeader() throws Exception {
+        when(configurationService.getConfiguration(any(ConfigurationQuery.class))).thenReturn(result.asStale());
+
+        mockMvc.perform(get("/api/config/properties/orders").param("profile", "dev"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(ConfigController.STALE_HEADER, "true"))
+            .andExpect(jsonPath("$.properties['db.host']").value("localhost"));
+    }
+
+    @Test
+    public void testUnavailableBackendRepliesServiceUnavailable() throws Exception {
+        when(configurationService.getConfiguration(any(ConfigurationQuery.class)))
+            .thenThrow(new ConfigurationUnavailableException("orders:dev:master", new IllegalStateException("down")));
+
+        mockMvc.perform(get("/api/config/properties/orders").param("profile", "dev"))
+            .andExpect(status().isServiceUnavailable())
+            .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    public void testUpdateWithIfMatchIsCompareAndSet() throws Exception {
+        when(configurationService.updateConfiguration(eq("orders"), eq("dev"), any(ConfigurationData.class), eq(41L)))
+            .thenReturn(42L);
+
+        mockMvc.perform(put("/api/config/properties/orders/dev")
+                .header(HttpHeaders.IF_MATCH, "\"41\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"application\":\"orders\",\"profile\":\"dev\",\"properties\":{\"db.host\":\"db\"}}"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(ConfigController.REVISION_HEADER, "42"));
+    }
+
+    @Test
+    public void testRevisionReadByGetIsAcceptedAsIfMatch() throws Exception {
+        // A change-log revision far from the stored one, as served in production
+        ConfigurationResult stored = new ConfigurationResult(
+            "orders", "dev", "master", "1.0.0", Map.of("db.host", "localhost"), null, 549755813889L, 41L);
+        when(configurationService.getConfiguration(any(ConfigurationQuery.class))).thenReturn(stored);
+        when(configurationService.updateConfiguration(eq("orders"), eq("dev"), any(ConfigurationData.class), eq(41L)))
+            .thenReturn(42L);
+
+        String revision = mockMvc.perform(get("/api/config/properties/orders").param("profile", "dev"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.storedRevision").value(41))
+            .andReturn().getResponse().getHeader(ConfigController.REVISION_HEADER);
+
+        mockMvc.perform(put("/api/config/properties/orders/dev")
+                .header(HttpHeaders.IF_MATCH, "\"" + revision + "\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"application\":\"orders\",\"profile\":\"dev\",\"properties\":{\"db.host\":\"db\"}}"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(ConfigController.REVISION_HEADER, "42"));
+    }
+
+    @Test
+    public void testStaleRevisionRepliesConflict() throws Exception {
+        when(configurationService.updateConfiguration(eq("orders"), eq("dev"), any(ConfigurationData.class), eq(41L)))
+            .thenThrow(new ConfigurationConflictException("orders:dev:master", 41L, 43L));
+
+        mockMvc.perform(put("/api/config/properties/orders/dev")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"application\":\"orders\",\"profile\":\"dev\",\"expectedRevision\":41,\"properties\":{}}"))
+            .andExpect(status().isConflict())
+            .andExpect(header().string(ConfigController.REVISION_HEADER, "43"));
+    }
+
+    @Test
+    public void testOverwriteSkipsRevisionCheck() throws Exception {
+        when(configurationService.updateConfiguration(eq("orders"), eq("dev"), any(ConfigurationData.class),
+            eq(ConfigurationData.ANY_REVISION))).thenReturn(44L);
+
+        mockMvc.perform(put("/api/config/properties/orders/dev")
+                .header(HttpHeaders.IF_MATCH, "\"41\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"application\":\"orders\",\"profile\":\"dev\",\"overwrite\":true,\"properties\":{}}"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(ConfigController.REVISION_HEADER, "44"));
+    }
+
+    @Test
+    public void testContentHashIgnoresInsertionOrder() throws Exception {
+        ConfigurationResult reordered = new ConfigurationResult(
+            "orders", "dev", "master", "1.0.0", Map.of("db.host", "localhost"), "other");
+        when(configurationService.getConfiguration(any(ConfigurationQuery.class))).thenReturn(reordered);
+
+        mockMvc.perform(get("/api/config/properties/orders").param("profile", "dev")
+                .header(HttpHeaders.IF_NONE_MATCH, "W/\"stale\", W/\"" + result.getContentHash() + "\""))
+            .andExpect(status().isNotModified());
+    }
+
+    @Test
+    public void testGetConfigurationServesGzipVariant() throws Exception {
+        when(configurationService.getConfiguration(any(ConfigurationQuery.class))).thenReturn(result);
+
+        byte[] body = mockMvc.perform(get("/api/config/properties/orders").param("profile", "dev")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+            .andReturn().getResponse().getContentAsByteArray();
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            String json = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            assertTrue(json.contains("\"db.host\":\"localhost\""));
+        }
+    }
+
+    @Test
+    public void testSerializedResponseIsReusedPerSnapshot() throws Exception {
+        when(configurationService.getConfiguration(any(ConfigurationQuery.class))).thenReturn(result);
+
+        mockMvc.perform(get("/api/config/properties/orders").param("profile", "dev")).andExpect(status().isOk());
+        byte[] first = responseCache.get("orders:dev:master", result).getJson();
+        mockMvc.perform(get("/api/config/properties/orders").param("profile", "dev")).andExpect(status().isOk());
+
+        assertSame(first, responseCache.get("orders:dev:master", result).getJson());
+    }
+
+    @Test
+    public void testBatchStreamsPerItemStatus() throws Exception {
+        ReflectionTestUtils.setField(configController, "batchTimeout", Duration.ofMillis(200));
+        when(batchResolver.getMaxItems()).thenReturn(10);
+        when(batchResolver.resolve(anyList(), any())).thenReturn(List.of(
+            new CompletableFuture<>(),
+            CompletableFuture.completedFuture(result),
+            CompletableFuture.failedFuture(new IllegalArgumentException("Application and profile are required"))));
+
+        MvcResult pending = mockMvc.perform(post("/api/config/properties/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"application\":\"slow\",\"profile\":\"dev\"},"
+                    + "{\"application\":\"orders\",\"profile\":\"dev\"},{\"application\":\"\"}]"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(pending))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.count").value(3))
+            .andExpect(jsonPath("$.items[0].index").value(1))
+            .andExpect(jsonPath("$.items[0].status").value(200))
+            .andExpect(jsonPath("$.items[0].configuration.properties['db.host']").value("localhost"))
+            .andExpect(jsonPath("$.items[1].index").value(2))
+            .andExpect(jsonPath("$.items[1].status").value(400))
+            .andExpect(jsonPath("$.items[2].index").value(0))
+            .andExpect(jsonPath("$.items[2].status").value(504));
+    }
+
+    @Test
+    public void testBatchItemsSpendTheirApplicationsBudget() throws Exception {
+        ReflectionTestUtils.setField(configController, "batchTimeout", Duration.ofMillis(200));
+        when(batchResolver.getMaxItems()).thenReturn(10);
+        when(admissionControl.admit("orders")).thenReturn(0L).thenReturn(TimeUnit.SECONDS.toNanos(2));
+        when(batchResolver.resolve(anyList(), any())).thenAnswer(invocation -> {
+            List<ConfigurationQuery> queries = invocation.getArgument(0);
+            Function<ConfigurationQuery, RuntimeException> admission = invocation.getArgument(1);
+            return queries.stream().map(query -> {
+                RuntimeException refused = admission.apply(query);
+                return refused != null ? CompletableFuture.<ConfigurationResult>failedFuture(refused)
+                    : CompletableFuture.completedFuture(result);
+            }).toList();
+        });
+
+        MvcResult pending = mockMvc.perform(post("/api/config/properties/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"application\":\"orders\",\"profile\":\"dev\"},{\"application\":\"orders\",\"profile\":\"prod\"}]"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(pending))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items[0].status").value(200))
+            .andExpect(jsonPath("$.items[1].index").value(1))
+            .andExpect(jsonPath("$.items[1].status").value(429));
+    }
+}
@@ -0,0 +1,42 @@
+package com.gogidix.centralconfiguration.configserver.api.controller;
+
+import com.gogidix.centralconfiguration.configserver.adapter.in.web.mapper.ConfigurationMapper;
+import com.gogidix.centralconfiguration.configserver.api.dto.ConfigurationDeltaResponse;
+import com.gogidix.centralconfiguration.configserver.application.watch.ConfigurationWatchRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@ExtendWith(MockitoExtension.class)
+public class ConfigWatchControllerTest {
+
+    @Mock
+    private ConfigurationWatchRegistry watchRegistry;
+
+    @Spy
+    private ConfigurationMapper configurationMapper = new ConfigurationMapper();
+
+    @InjectMocks
+    private ConfigWatchController controller;
+
+    @Test
+    public void testTimeoutIsClampedToMaximum() {
+        DeferredResult<ResponseEntity<ConfigurationDeltaResponse>> huge =
+            controller.watch("orders", "dev", "master", 0L, List.of(), Long.MAX_VALUE, null);
+        DeferredResult<ResponseEntity<ConfigurationDeltaResponse>> negative =
+            controller.watch("orders", "dev", "master", 0L, List.of(), -5L, null);
+
+        assertEquals(120000L, ReflectionTestUtils.getField(huge, "timeoutValue"));
+        assertEquals(1000L, ReflectionTestUtils.getField(negative, "timeoutValue"));
+    }
+}
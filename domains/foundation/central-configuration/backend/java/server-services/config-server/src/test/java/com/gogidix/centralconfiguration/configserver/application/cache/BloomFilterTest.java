@@ -0,0 +1,43 @@
+package com.gogidix.centralconfiguration.configserver.application.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BloomFilterTest {
+
+    @Test
+    public void testInsertedKeysAreAlwaysFound() {
+        BloomFilter filter = new BloomFilter(1000, 0.01);
+        for (int i = 0; i < 1000; i++) {
+            filter.put("app-" + i + ":dev");
+        }
+
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(filter.mightContain("app-" + i + ":dev"));
+        }
+    }
+
+    @Test
+    public void testFalsePositiveRateStaysNearTarget() {
+        BloomFilter filter = new BloomFilter(1000, 0.01);
+        for (int i = 0; i < 1000; i++) {
+            filter.put("app-" + i + ":dev");
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10000; i++) {
+            if (filter.mightContain("probe-" + i + ":dev")) {
+
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+    }
+
+    @Test
+    public void testEmptyFilterContainsNothing() {
+        assertFalse(new BloomFilter(10, 0.01).mightContain("orders"));
+    }
+}
@@ -0,0 +1,114 @@
+package com.gogidix.centralconfiguration.configserver.application.cache;
+
+import com.gogidix.centralconfiguration.configserver.domain.event.ConfigurationChangedEvent;
+import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationInvalidation;
+import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationResult;
+import com.gogidix.centralconfiguration.configserver.domain.port.ConfigurationPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class ClusterCacheInvalidatorTest {
+
+    private static final String KEY = "orders:dev:master";
+
+    private final InMemoryInvalidationBus bus = new InMemoryInvalidationBus();
+    private Node first;
+    private Node second;
+
+    @BeforeEach
+    public void setUp() {
+        first = new Node();
+        second = new Node();
+    }
+
+    @Test
+    public void testWriteOnOneNodeEvictsOnlyThatKeyOnOthers() {
+        first.invalidator.broadcast(new ConfigurationInvalidation("orders", "dev", "master", 7L));
+
+        assertTrue(second.snapshotCache.peek(KEY).isInvalidated());
+        assertFalse(second.snapshotCache.peek("orders:cloud:master").isInvalidated());
+        assertFalse(first.snapshotCache.peek(KEY).isInvalidated(), "the writer invalidates its own cache directly");
+        assertEquals(List.of(ConfigurationChangedEvent.of("orders", "dev").getTargets()),
+            second.events.stream().map(event -> ((ConfigurationChangedEvent) event).getTargets()).toList());
+    }
+
+    @Test
+    public void testDuplicateAndReorderedDeliveriesAreSkipped() {
+        bus.hold();
+        first.invalidator.broadcast(new ConfigurationInvalidation("orders", "dev", "master", 7L));
+        first.invalidator.broadcast(new ConfigurationInvalidation("orders", "dev", "master", 8L));
+        bus.releaseReversed();
+        bus.deliver(first.invalidator, new ConfigurationInvalidation("orders", "dev", "master", 8L));
+
+        assertEquals(1, second.invalidator.getAppliedCount());
+        assertEquals(2, second.invalidator.getSkippedCount());
+        assertEquals(1, second.events.size());
+    }
+
+    @Test
+    public void testOwnRevisionComingBackIsSkipped() {
+        first.invalidator.broadcast(new ConfigurationInvalidation("orders", "dev", "master", 8L));
+        second.invalidator.broadcast(new ConfigurationInvalidation("orders", "dev", "master", 8L));
+
+        assertEquals(0, first.invalidator.getAppliedCount());
+        assertEquals(1, first.invalidator.getSkippedCount());
+    }
+
+    @Test
+    public void testRefreshReachesEveryNode() {
+        long generation = second.snapshotCache.getGeneration();
+
+        first.invalidator.broadcast(ConfigurationInvalidation.all());
+
+        assertEquals(generation + 1, second.snapshotCache.getGeneration());
+        verify(second.configurationPort).clearCache();
+        verify(first.configurationPort, never()).clearCache();
+    }
+
+    @Test
+    public void testWithoutPublisherCachesStayLocal() {
+        ReflectionTestUtils.setField(first.invalidator, "invalidationPublisher", null);
+
+        first.invalidator.broadcast(new ConfigurationInvalidation("orders", "dev", "master", 7L));
+
+        assertFalse(second.snapshotCache.peek(KEY).isInvalidated());
+    }
+
+    /**
+     * One config-server node: its own caches and event publisher, attached to the shared bus.
+     */
+    private final class Node {
+
+        private final ConfigurationPort configurationPort = mock(ConfigurationPort.class);
+        private final ConfigurationSnapshotCache snapshotCache = new ConfigurationSnapshotCache();
+        private final List<Object> events = new ArrayList<>();
+        private final ClusterCacheInvalidator invalidator = new ClusterCacheInvalidator();
+
+        Node() {
+            NegativeLookupCache negativeLookupCache = new NegativeLookupCache();
+            ReflectionTestUtils.setField(negativeLookupCache, "configurationPort", configurationPort);
+            ReflectionTestUtils.setField(invalidator, "configurationPort", configurationPort);
+            ReflectionTestUtils.setField(invalidator, "snapshotCache", snapshotCache);
+            ReflectionTestUtils.setField(invalidator, "negativeLookupCache", negativeLookupCache);
+            ReflectionTestUtils.setField(invalidator, "eventPublisher", (ApplicationEventPublisher) events::add);
+            ReflectionTestUtils.setField(invalidator, "invalidationPublisher", bus.attach(invalidator));
+            for (String profile : List.of("dev", "cloud")) {
+                snapshotCache.get("orders:" + profile + ":master", () ->
+                    new ConfigurationResult("orders", profile, "master", "1.0.0", Map.of("db.host", "localhost"), null));
+            }
+        }
+    }
+}
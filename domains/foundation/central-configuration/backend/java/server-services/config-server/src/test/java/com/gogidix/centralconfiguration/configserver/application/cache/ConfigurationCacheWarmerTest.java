@@ -0,0 +1,97 @@
+package com.gogidix.centralconfiguration.configserver.application.cache;
+
+import com.gogidix.centralconfiguration.configserver.domain.port.ConfigurationPort;
+import com.gogidix.centralconfiguration.configserver.domain.port.ConfigurationServicePort;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ConfigurationCacheWarmerTest {
+
+    @Mock
+    private ConfigurationPort configurationPort;
+
+    @Mock
+    private ConfigurationServicePort configurationService;
+
+    @InjectMocks
+    private ConfigurationCacheWarmer cacheWarmer;
+
+    @Test
+    public void testEveryProfileIsLoadedAndFailuresCounted() {
+        when(configurationPort.getAllApplications()).thenReturn(List.of("orders", "billing"));
+        when(configurationPort.getProfilesForApplication("orders")).thenReturn(List.of("default", "dev"));
+        when(configurationPort.getProfilesForApplication("billing")).thenReturn(List.of("default"));
+        when(configurationService.getConfiguration(anyString(), anyString())).thenAnswer(invocation -> {
+            if ("billing".equals(invocation.getArgument(0))) {
+
+                throw new IllegalStateException("down");
+            }
+            return null;
+        });
+
+        assertEquals(2, cacheWarmer.warmUp());
+
+        verify(configurationService).getConfiguration("orders", "default");
+        verify(configurationService).getConfiguration("orders", "dev");
+        assertEquals(1, cacheWarmer.getLastFailed());
+        assertTrue(cacheWarmer.getLastDurationMillis() >= 0);
+    }
+
+    @Test
+    public void testLoadsRunInParallelUpToTheLimit() {
+        ReflectionTestUtils.setField(cacheWarmer, "parallelism", 3);
+        when(configurationPort.getAllApplications()).thenReturn(List.of("orders"));
+        when(configurationPort.getProfilesForApplication("orders")).thenReturn(List.of("a", "b", "c", "d", "e", "f"));
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch firstWave = new CountDownLatch(3);
+        when(configurationService.getConfiguration(anyString(), anyString())).thenAnswer(invocation -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            firstWave.countDown();
+            firstWave.await(5, TimeUnit.SECONDS);
+            running.decrementAndGet();
+            return null;
+        });
+
+        assertEquals(6, cacheWarmer.warmUp());
+        assertEquals(3, maxRunning.get());
+    }
+
+    @Test
+    public void testSlowLoadsAreAbandonedAtTheTimeout() {
+        ReflectionTestUtils.setField(cacheWarmer, "timeout", Duration.ofMillis(100));
+        when(configurationPort.getAllApplications()).thenReturn(List.of("orders"));
+        when(configurationPort.getProfilesForApplication("orders")).thenReturn(List.of("dev"));
+        when(configurationService.getConfiguration("orders", "dev")).thenAnswer(invocation -> {
+            Thread.sleep(TimeUnit.SECONDS.toMillis(10));
+            return null;
+        });
+
+        assertEquals(0, cacheWarmer.warmUp());
+        assertTrue(cacheWarmer.getLastDurationMillis() < TimeUnit.SECONDS.toMillis(5));
+    }
+
+    @Test
+    public void testListingFailureDoesNotStopStartup() {
+        when(configurationPort.getAllApplications()).thenThrow(new IllegalStateException("database down"));
+
+        assertEquals(0, cacheWarmer.warmUp());
+    }
+}
@@ -0,0 +1,332 @@
+package com.gogidix.centralconfiguration.configserver.application.cache;
+
+import com.gogidix.centralconfiguration.configserver.domain.exception.ConfigurationUnavailableException;
+import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationResult;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConfigurationSnapshotCacheTest {
+
+    private final ConfigurationSnapshotCache cache = new ConfigurationSnapshotCache();
+
+    private static ConfigurationResult result(String value) {
+        return new ConfigurationResult("orders", "dev", "master", "1.0.0", Map.of("key", value), null);
+    }
+
+    @Test
+    public void testReadThroughReusesSnapshot() {
+        AtomicInteger loads = new AtomicInteger();
+        ConfigurationResult first = cache.get("orders:dev:master", () -> {
+            loads.incrementAndGet();
+            return result("a");
+        });
+        ConfigurationResult second = cache.get("orders:dev:master", () -> {
+            loads.incrementAndGet();
+            return result("b");
+        });
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void testAdvanceGenerationReloadsOnNextRead() {
+        cache.get("orders:dev:master", () -> result("a"));
+        cache.advanceGeneration();
+
+        ConfigurationResult reloaded = cache.get("orders:dev:master", () -> result("b"));
+
+        assertEquals("b", reloaded.getProperties().get("key"));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testInvalidateDuringLoadDiscardsLoadedResult() {
+        cache.get("orders:dev:master", () -> {
+            cache.invalidate("orders", "dev");
+            return result("stale");
+        });
+
+        ConfigurationResult reloaded = cache.get("orders:dev:master", () -> result("fresh"));
+
+        assertEquals("fresh", reloaded.getProperties().get("key"));
+    }
+
+    @Test
+    public void testInvalidateTouchesOnlyItsOwnGroup() {
+        cache.get("orders:dev:master", () -> result("a"));
+        cache.get("orders:dev:release", () -> result("a"));
+        cache.get("orders:prod:master", () -> result("a"));
+
+        cache.invalidate("orders", "dev");
+
+        assertEquals(2, cache.getEvictionCount());
+        assertEquals("a", cache.get("orders:prod:master", () -> result("b")).getProperties().get("key"));
+        assertEquals("b", cache.get("orders:dev:master", () -> result("b")).getProperties().get("key"));
+    }
+
+    @Test
+    public void testInvalidationStampsStayBoundedAndStillDiscardEarlierLoads() {
+        ReflectionTestUtils.setField(cache, "maxEntries", 2);
+
+        ConfigurationResult loaded = cache.get("orders:dev:master", () -> {
+            // Invalidating more groups than the bound prunes the stamp of this one
+            for (int i = 0; i < 5; i++) {
+                cache.invalidate("app-" + i, "dev");
+            }
+            cache.invalidate("orders", "dev");
+            cache.invalidate("billing", "dev");
+            cache.invalidate("payments", "dev");
+            return result("stale");
+        });
+
+        assertEquals("stale", loaded.getProperties().get("key"));
+        assertTrue(((Map<?, ?>) ReflectionTestUtils.getField(cache, "invalidationStamps")).size() <= 2);
+        assertEquals("fresh", cache.get("orders:dev:master", () -> result("fresh")).getProperties().get("key"));
+    }
+
+    @Test
+    public void testKeysBeyondMaxEntriesAreServedUncached() {
+        ReflectionTestUtils.setField(cache, "maxEntries", 1);
+        cache.get("orders:dev:master", () -> result("a"));
+
+        AtomicInteger loads = new AtomicInteger();
+        for (int i = 0; i < 2; i++) {
+            assertEquals("b", cache.get("orders:prod:master", () -> {
+                loads.incrementAndGet();
+                return result("b");
+            }).getProperties().get("key"));
+        }
+
+        assertEquals(2, loads.get());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testSnapshotPropertiesAreImmutable() {
+        ConfigurationResult cached = cache.get("orders:dev:master", () -> result("a"));
+
+        assertThrows(UnsupportedOperationException.class, () -> cached.getProperties().put("key", "b"));
+    }
+
+    @Test
+    public void testConcurrentMissesShareOneLoad() throws Exception {
+        int callers = 8;
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<ConfigurationResult>> results = new ArrayList<>();
+            results.add(executor.submit(() -> cache.get("orders:dev:master", () -> {
+                loads.incrementAndGet();
+                loading.countDown();
+                await(release);
+                return result("a");
+            })));
+            loading.await();
+            for (int i = 1; i < callers; i++) {
+                results.add(executor.submit(() -> cache.get("orders:dev:master", () -> {
+                    loads.incrementAndGet();
+                    return result("b");
+                })));
+            }
+            waitForCoalesced(callers - 1);
+            release.countDown();
+
+            ConfigurationResult first = results.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<ConfigurationResult> future : results) {
+                assertSame(first, future.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, loads.get());
+            assertEquals(1, cache.getLoadCount());
+            assertEquals(callers - 1, cache.getCoalescedLoadCount());
+            assertEquals(0, cache.getInFlightCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testLoadFailureReachesEveryWaiter() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<ConfigurationResult> leader = executor.submit(() -> cache.get("orders:dev:master", () -> {
+                loading.countDown();
+                await(release);
+                throw new IllegalStateException("backend down");
+            }));
+            loading.await();
+            Future<ConfigurationResult> waiter = executor.submit(() -> cache.get("orders:dev:master", () -> result("b")));
+            waitForCoalesced(1);
+            release.countDown();
+
+            ExecutionException leaderFailure = assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS));
+            ExecutionException waiterFailure = assertThrows(ExecutionException.class, () -> waiter.get(5, TimeUnit.SECONDS));
+            assertTrue(leaderFailure.getCause() instanceof ConfigurationUnavailableException);
+            assertEquals("backend down", leaderFailure.getCause().getCause().getMessage());
+            assertSame(leaderFailure.getCause(), waiterFailure.getCause());
+            assertEquals(1, cache.getFailedLoadCount());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals("c", cache.get("orders:dev:master", () -> result("c")).getProperties().get("key"));
+    }
+
+    @Test
+    public void testMissAfterInvalidationDoesNotJoinEarlierLoad() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<ConfigurationResult> before = executor.submit(() -> cache.get("orders:dev:master", () -> {
+                loading.countDown();
+                await(release);
+                return result("old");
+            }));
+            loading.await();
+            cache.invalidate("orders", "dev");
+
+            ConfigurationResult after = cache.get("orders:dev:master", () -> result("new"));
+            release.countDown();
+
+            assertEquals("new", after.getProperties().get("key"));
+            assertEquals("old", before.get(5, TimeUnit.SECONDS).getProperties().get("key"));
+            assertEquals(0, cache.getCoalescedLoadCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testFailedReloadServesLastGoodAsStale() {
+        ConfigurationResult good = cache.get("orders:dev:master", () -> result("a"));
+        cache.advanceGeneration();
+
+        ConfigurationResult served = cache.get("orders:dev:master", () -> {
+            throw new IllegalStateException("backend down");
+        });
+
+        assertTrue(served.isStale());
+        assertSame(good.asStale(), served);
+        assertEquals(1, cache.getStaleServedCount());
+    }
+
+    @Test
+    public void testStaleWhileRevalidateServesOutdatedSnapshotImmediately() throws Exception {
+        ReflectionTestUtils.setField(cache, "staleWhileRevalidate", true);
+        CountDownLatch release = new CountDownLatch(1);
+        cache.get("orders:dev:master", () -> result("a"));
+        cache.advanceGeneration();
+
+        ConfigurationResult served = cache.get("orders:dev:master", () -> {
+            await(release);
+            return result("b");
+        });
+        ConfigurationResult servedAgain = cache.get("orders:dev:master", () -> result("unused"));
+
+        assertTrue(served.isStale());
+        assertEquals("a", served.getProperties().get("key"));
+        assertSame(served, servedAgain);
+        assertEquals(1, cache.getRefreshCount());
+
+        release.countDown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (cache.getInFlightCount() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        ConfigurationResult refreshed = cache.get("orders:dev:master", () -> result("unused"));
+        assertFalse(refreshed.isStale());
+        assertEquals("b", refreshed.getProperties().get("key"));
+        cache.shutdown();
+    }
+
+    @Test
+    public void testTimedOutRefreshGivesItsThreadBack() throws Exception {
+        ReflectionTestUtils.setField(cache, "staleWhileRevalidate", true);
+        ReflectionTestUtils.setField(cache, "refreshThreads", 1);
+        ReflectionTestUtils.setField(cache, "refreshTimeout", Duration.ofMillis(100));
+        CountDownLatch interrupted = new CountDownLatch(1);
+        cache.get("orders:dev:master", () -> result("a"));
+        cache.advanceGeneration();
+
+        cache.get("orders:dev:master", () -> {
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            throw new IllegalStateException("backend hung");
+        });
+
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+        waitForRefreshes();
+        assertEquals(1, cache.getFailedRefreshCount());
+
+        // The only refresh thread is free again, so the next revalidation runs
+        cache.advanceGeneration();
+        cache.get("orders:dev:master", () -> result("b"));
+        waitForRefreshes();
+        ConfigurationResult refreshed = cache.get("orders:dev:master", () -> result("unused"));
+        assertFalse(refreshed.isStale());
+        assertEquals("b", refreshed.getProperties().get("key"));
+        cache.shutdown();
+    }
+
+    @Test
+    public void testStaleWhileRevalidateLoadsInvalidatedKeysSynchronously() {
+        ReflectionTestUtils.setField(cache, "staleWhileRevalidate", true);
+        cache.get("orders:dev:master", () -> result("a"));
+        cache.invalidate("orders", "dev");
+
+        ConfigurationResult reloaded = cache.get("orders:dev:master", () -> result("b"));
+
+        assertFalse(reloaded.isStale());
+        assertEquals("b", reloaded.getProperties().get("key"));
+    }
+
+    private void waitForRefreshes() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (cache.getInFlightCount() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private void waitForCoalesced(long expected) throws InterruptedException {
+        // Joined callers block inside get(); poll until they are all parked on the load
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (cache.getCoalescedLoadCount() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.gogidix.centralconfiguration.configserver.application.cache;
+
+import com.gogidix.centralconfiguration.configserver.domain.event.ConfigurationChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.security.crypto.encrypt.TextEncryptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class DecryptedPropertyCacheTest {
+
+    private final AtomicInteger decryptCalls = new AtomicInteger();
+    private DecryptedPropertyCache cache;
+
+    @BeforeEach
+    public void setUp() {
+        TextEncryptor reversing = new TextEncryptor() {
+            @Override
+            public String encrypt(String text) {
+                return new StringBuilder(text).reverse().toString();
+            }
+
+            @Override
+            public String decrypt(String encryptedText) {
+                decryptCalls.incrementAndGet();
+                if (encryptedText.startsWith("!")) {
+
+                    throw new IllegalStateException("Bad padding");
+                }
+                return new StringBuilder(encryptedText).reverse().toString();
+            }
+        };
+        cache = new DecryptedPropertyCache();
+        ReflectionTestUtils.setField(cache, "textEncryptor",
+            new StaticListableBeanFactory(Map.of("textEncryptor", reversing)).getBeanProvider(TextEncryptor.class));
+    }
+
+    @Test
+    public void testSameRevisionIsDecryptedOnce() {
+        Map<String, Object> stored = Map.of("db.password", "{cipher}terces", "db.host", "localhost");
+
+        Map<String, Object> first = cache.decrypt("orders:dev:master", 3L, stored);
+        Map<String, Object> second = cache.decrypt("orders:dev:master", 3L, Map.copyOf(stored));
+
+        assertEquals(Map.of("db.password", "secret", "db.host", "localhost"), first);
+        assertSame(first, second);
+        assertEquals(1, decryptCalls.get());
+        assertEquals(1, cache.getDecryptCount());
+        assertEquals(1, cache.getAvoidedDecryptCount());
+    }
+
+    @Test
+    public void testNewRevisionAndChangeEventDecryptAgain() {
+        cache.decrypt("orders:dev:master", 3L, Map.of("db.password", "{cipher}terces"));
+
+        assertEquals("other", cache.decrypt("orders:dev:master", 4L, Map.of("db.password", "{cipher}rehto")).get("db.password"));
+        cache.onConfigurationChanged(ConfigurationChangedEvent.of("orders", "dev"));
+
+        assertEquals(0, cache.size());
+        cache.decrypt("orders:dev:master", 4L, Map.of("db.password", "{cipher}rehto"));
+        assertEquals(3, decryptCalls.get());
+    }
+
+    @Test
+    public void testPlainAndUndecryptableValuesAreServedAsStored() {
+        Map<String, Object> plain = Map.of("db.host", "localhost");
+
+        assertSame(plain, cache.decrypt("orders:dev:master", 1L, plain));
+        assertEquals("{cipher}!corrupt", cache.decrypt("billing:dev:master", 1L, Map.of("key", "{cipher}!corrupt")).get("key"));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testEntriesAreBounded() {
+        ReflectionTestUtils.setField(cache, "maxEntries", 2);
+
+        for (int i = 0; i < 5; i++) {
+            cache.decrypt("app-" + i + ":dev:master", 1L, Map.of("key", "{cipher}eulav"));
+        }
+
+        assertEquals(1, cache.size());
+    }
+}
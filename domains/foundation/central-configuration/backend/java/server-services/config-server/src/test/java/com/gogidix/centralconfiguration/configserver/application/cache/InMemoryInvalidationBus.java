@@ -0,0 +1,71 @@
+package com.gogidix.centralconfiguration.configserver.application.cache;
+
+import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationInvalidation;
+import com.gogidix.centralconfiguration.configserver.domain.port.ConfigurationInvalidationPublisher;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * In-memory stand-in for the broker: every published invalidation is delivered to every other node, as the bus
+ * listener does after dropping its own events. Deliveries can be held back and released out of order.
+ */
+class InMemoryInvalidationBus {
+
+    private final List<ClusterCacheInvalidator> nodes = new ArrayList<>();
+    private final List<Delivery> held = new ArrayList<>();
+    private boolean holding;
+
+    /**
+     * Publisher port of one node attached to this bus.
+     */
+    ConfigurationInvalidationPublisher attach(ClusterCacheInvalidator node) {
+        nodes.add(node);
+        return invalidation -> {
+            if (holding) {
+
+                held.add(new Delivery(node, invalidation));
+            } else {
+                deliver(node, invalidation);
+            }
+        };
+    }
+
+    void hold() {
+        holding = true;
+    }
+
+    /**
+     * Deliver every held invalidation, newest first.
+     */
+    void releaseReversed() {
+        holding = false;
+        for (int i = held.size() - 1; i >= 0; i--) {
+            deliver(held.get(i).sender, held.get(i).invalidation);
+        }
+        held.clear();
+    }
+
+    /**
+     * Deliver an invalidation again, as an at-least-once broker may.
+     */
+    void deliver(ClusterCacheInvalidator sender, ConfigurationInvalidation invalidation) {
+        for (ClusterCacheInvalidator node : nodes) {
+            if (node != sender) {
+
+                node.apply(invalidation);
+            }
+        }
+    }
+
+    private static final class Delivery {
+
+        private final ClusterCacheInvalidator sender;
+        private final ConfigurationInvalidation invalidation;
+
+        Delivery(ClusterCacheInvalidator sender, ConfigurationInvalidation invalidation) {
+            this.sender = sender;
+            this.invalidation = invalidation;
+        }
+    }
+}
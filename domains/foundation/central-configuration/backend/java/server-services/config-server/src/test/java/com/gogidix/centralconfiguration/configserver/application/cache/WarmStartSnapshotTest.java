@@ -0,0 +1,139 @@
+package com.gogidix.centralconfiguration.configserver.application.cache;
+
+import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.security.crypto.encrypt.Encryptors;
+import org.springframework.security.crypto.encrypt.TextEncryptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class WarmStartSnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    private Path file;
+    private ConfigurationSnapshotCache snapshotCache;
+    private DecryptedPropertyCache decryptedPropertyCache;
+
+    @BeforeEach
+    public void setUp() {
+        file = directory.resolve("snapshot.bin");
+        snapshotCache = new ConfigurationSnapshotCache();
+        decryptedPropertyCache = new DecryptedPropertyCache();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        snapshotCache.shutdown();
+    }
+
+    @Test
+    public void testFileRoundTripKeepsValueTypes() throws Exception {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("db.host", "localhost");
+        properties.put("db.port", 5432);
+        properties.put("db.timeout", 30000L);
+        properties.put("ratio", 0.75);
+        properties.put("enabled", true);
+        properties.put("hosts", List.of("a", "b"));
+        properties.put("unset", null);
+        Map<String, ConfigurationResult> results = new LinkedHashMap<>();
+        results.put("orders:dev:master", new ConfigurationResult("orders", "dev", "master", "1.0.0", properties, null, 7L));
+        results.put("orders:cloud:master", new ConfigurationResult("orders", "cloud", "master", null, null, null, 0L));
+
+        ConfigurationSnapshotFile.write(file, results);
+        Map<String, ConfigurationResult> restored = ConfigurationSnapshotFile.read(file);
+
+        ConfigurationResult dev = restored.get("orders:dev:master");
+        assertEquals(properties, dev.getProperties());
+        assertEquals(7L, dev.getRevision());
+        assertEquals("1.0.0", dev.getVersion());
+        assertNull(restored.get("orders:cloud:master").getProperties());
+        assertFalse(Files.exists(directory.resolve(".snapshot.bin.tmp")));
+    }
+
+    @Test
+    public void testCorruptEntryIsSkippedAndOtherFormatsIgnored() throws Exception {
+        Map<String, ConfigurationResult> results = new LinkedHashMap<>();
+        results.put("orders:dev:master", result("orders", "dev", "first"));
+        results.put("billing:dev:master", result("billing", "dev", "second"));
+        ConfigurationSnapshotFile.write(file, results);
+
+        byte[] bytes = Files.readAllBytes(file);
+        // Flip the last byte of the first entry's payload, just past the header and the entry frame
+        int firstLength = ByteBuffer.wrap(bytes, ConfigurationSnapshotFile.HEADER_SIZE, 4).getInt();
+        bytes[ConfigurationSnapshotFile.HEADER_SIZE + 8 + firstLength - 1] ^= 0x1;
+        Files.write(file, bytes);
+        assertEquals(List.of("billing:dev:master"), List.copyOf(ConfigurationSnapshotFile.read(file).keySet()));
+
+        ByteBuffer.wrap(bytes).putInt(4, ConfigurationSnapshotFile.VERSION + 1);
+        Files.write(file, bytes);
+        assertTrue(ConfigurationSnapshotFile.read(file).isEmpty());
+        assertTrue(ConfigurationSnapshotFile.read(directory.resolve("missing.bin")).isEmpty());
+    }
+
+    @Test
+    public void testRestoredSnapshotIsServedStaleThenRevalidated() throws Exception {
+        snapshotCache.get("orders:dev:master", () -> result("orders", "dev", "before"));
+        warmStart().export();
+
+        snapshotCache.shutdown();
+        snapshotCache = new ConfigurationSnapshotCache();
+        assertEquals(1, warmStart().restore());
+
+        ConfigurationResult served = snapshotCache.get("orders:dev:master", () -> result("orders", "dev", "after"));
+        assertTrue(served.isStale());
+        assertEquals("before", served.getProperties().get("key"));
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (snapshotCache.peek("orders:dev:master").isWarm() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        ConfigurationResult revalidated = snapshotCache.get("orders:dev:master", () -> result("orders", "dev", "unused"));
+        assertFalse(revalidated.isStale());
+        assertEquals("after", revalidated.getProperties().get("key"));
+    }
+
+    @Test
+    public void testUnchangedCacheIsNotWrittenAgainAndSecretsStayOffDisk() throws Exception {
+        ReflectionTestUtils.setField(decryptedPropertyCache, "textEncryptor",
+            new StaticListableBeanFactory(Map.of("textEncryptor", Encryptors.noOpText())).getBeanProvider(TextEncryptor.class));
+        snapshotCache.get("orders:dev:master", () -> result("orders", "dev", "plain"));
+        snapshotCache.get("orders:prod:master", () -> new ConfigurationResult("orders", "prod", "master", "1.0.0",
+            decryptedPropertyCache.decrypt("orders:prod:master", 3L, Map.of("db.password", "{cipher}secret")), null, 3L));
+        WarmStartSnapshot warmStart = warmStart();
+
+        assertTrue(warmStart.export());
+        assertFalse(warmStart.export());
+        assertEquals(List.of("orders:dev:master"), List.copyOf(ConfigurationSnapshotFile.read(file).keySet()));
+    }
+
+    private WarmStartSnapshot warmStart() {
+        WarmStartSnapshot warmStart = new WarmStartSnapshot();
+        ReflectionTestUtils.setField(warmStart, "snapshotCache", snapshotCache);
+        ReflectionTestUtils.setField(warmStart, "decryptedPropertyCache", decryptedPropertyCache);
+        ReflectionTestUtils.setField(warmStart, "file", file.toString());
+        return warmStart;
+    }
+
+    private static ConfigurationResult result(String application, String profile, String value) {
+        return new ConfigurationResult(application, profile, "master", "1.0.0", Map.of("key", value), null, 0L);
+    }
+}
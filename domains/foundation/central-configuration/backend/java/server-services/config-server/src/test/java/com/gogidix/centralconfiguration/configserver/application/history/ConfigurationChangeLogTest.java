@@ -0,0 +1,108 @@
+package com.gogidix.centralconfiguration.configserver.application.history;
+
+import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationDelta;
+import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationResult;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConfigurationChangeLogTest {
+
+    private static final String KEY = "orders:dev:master";
+
+    private final ConfigurationChangeLog changeLog = new ConfigurationChangeLog();
+
+    private static ConfigurationResult result(Map<String, Object> properties, long revision) {
+        return new ConfigurationResult("orders", "dev", "master", "1.0.0", properties, null, revision);
+    }
+
+    @Test
+    public void testUnchangedContentKeepsRevision() {
+        long first = changeLog.record(KEY, Map.of("a", "1"));
+        long second = changeLog.record(KEY, new HashMap<>(Map.of("a", "1")));
+
+        assertEquals(first, second);
+    }
+
+    @Test
+    public void testDeltaReportsAddedChangedAndRemovedKeys() {
+        long base = changeLog.record(KEY, Map.of("a", "1", "b", "2", "c", "3"));
+        changeLog.record(KEY, Map.of("a", "1", "b", "20", "c", "3", "d", "4"));
+        Map<String, Object> latest = Map.of("a", "1", "b", "20", "d", "4");
+        long current = changeLog.record(KEY, latest);
+
+        ConfigurationDelta delta = changeLog.delta(KEY, base, result(latest, current));
+
+        assertFalse(delta.isFull());
+        assertEquals(Map.of("d", "4"), delta.getAdded());
+        assertEquals(Map.of("b", "20"), delta.getChanged());
+        assertEquals(Set.of("c"), delta.getRemoved());
+    }
+
+    @Test
+    public void testKeyAddedThenRemovedIsOmitted() {
+        long base = changeLog.record(KEY, Map.of("a", "1"));
+        changeLog.record(KEY, Map.of("a", "1", "tmp", "x"));
+        Map<String, Object> latest = Map.of("a", "1");
+        long current = changeLog.record(KEY, latest);
+
+        ConfigurationDelta delta = changeLog.delta(KEY, base, result(latest, current));
+
+        assertTrue(delta.isEmpty());
+    }
+
+    @Test
+    public void testExpiredRevisionFallsBackToFullPayload() {
+        ReflectionTestUtils.setField(changeLog, "maxRevisions", 2);
+        long base = changeLog.record(KEY, Map.of("a", "1"));
+        changeLog.record(KEY, Map.of("a", "2"));
+        changeLog.record(KEY, Map.of("a", "3"));
+        Map<String, Object> latest = Map.of("a", "4");
+        long current = changeLog.record(KEY, latest);
+
+        assertTrue(changeLog.delta(KEY, base, result(latest, current)).isFull());
+        assertFalse(changeLog.delta(KEY, current - 1, result(latest, current)).isFull());
+    }
+
+    @Test
+    public void testUnknownRevisionFallsBackToFullPayload() {
+        Map<String, Object> latest = Map.of("a", "1");
+        long current = changeLog.record(KEY, latest);
+
+        assertTrue(changeLog.delta(KEY, 42L, result(latest, current)).isFull());
+    }
+
+    @Test
+    public void testRevisionOfAnotherNodeFallsBackToFullPayload() {
+        ConfigurationChangeLog otherNode = new ConfigurationChangeLog();
+        long otherBase = otherNode.record(KEY, Map.of("a", "1", "b", "2"));
+        changeLog.record(KEY, Map.of("a", "1"));
+        Map<String, Object> latest = Map.of("a", "2");
+        long current = changeLog.record(KEY, latest);
+
+        assertTrue(changeLog.delta(KEY, otherBase, result(latest, current)).isFull());
+    }
+
+    @Test
+    public void testKeyTrackedAgainAfterBoundDoesNotReuseRevisions() {
+        ReflectionTestUtils.setField(changeLog, "maxKeys", 1);
+        long base = changeLog.record(KEY, Map.of("a", "1"));
+        changeLog.record(KEY, Map.of("a", "2"));
+
+        // Another key drops the history of the first, which is then tracked from scratch
+        changeLog.record("billing:dev:master", Map.of("b", "1"));
+        changeLog.record(KEY, Map.of("a", "2"));
+        Map<String, Object> latest = Map.of("a", "3");
+        long current = changeLog.record(KEY, latest);
+
+        assertTrue(current > base + 1);
+        assertTrue(changeLog.delta(KEY, base, result(latest, current)).isFull());
+    }
+}
@@ -0,0 +1,74 @@
+package com.gogidix.centralconfiguration.configserver.application.index;
+
+import com.gogidix.centralconfiguration.configserver.domain.event.ConfigurationChangedEvent;
+import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationData;
+import com.gogidix.centralconfiguration.configserver.domain.model.PropertyKeyMatch;
+import com.gogidix.centralconfiguration.configserver.domain.port.ConfigurationPort;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class PropertyKeyIndexTest {
+
+    @Mock
+    private ConfigurationPort configurationPort;
+
+    @InjectMocks
+    private PropertyKeyIndex propertyKeyIndex;
+
+    @Test
+    public void testSearchFindsKeysAcrossApplications() {
+        when(configurationPort.getAllApplications()).thenReturn(List.of("orders", "billing"));
+        when(configurationPort.findByApplication("orders")).thenReturn(List.of(
+            new ConfigurationData("orders", "prod", Map.of("management.endpoints.web.exposure.include", "health", "server.port", 8080))));
+        when(configurationPort.findByApplication("billing")).thenReturn(List.of(
+            new ConfigurationData("billing", "dev", Map.of("server.port", 8081))));
+
+        List<PropertyKeyMatch> matches = propertyKeyIndex.search("management.endpoints.*");
+
+        assertEquals(List.of(new PropertyKeyMatch("orders", "prod", "master",
+            List.of("management.endpoints.web.exposure.include"))), matches);
+        assertEquals(2, propertyKeyIndex.search("server.port").size());
+    }
+
+    @Test
+    public void testChangeReindexesOnlyThatApplication() {
+        when(configurationPort.getAllApplications()).thenReturn(List.of("orders", "billing"));
+        when(configurationPort.findByApplication("orders"))
+            .thenReturn(List.of(new ConfigurationData("orders", "dev", Map.of("feature.a", true))))
+            .thenReturn(List.of(new ConfigurationData("orders", "dev", Map.of("feature.b", true))));
+        when(configurationPort.findByApplication("billing"))
+            .thenReturn(List.of(new ConfigurationData("billing", "dev", Map.of("feature.a", false))));
+        propertyKeyIndex.search("feature");
+
+        propertyKeyIndex.onConfigurationChanged(ConfigurationChangedEvent.of("orders", "dev"));
+        List<PropertyKeyMatch> matches = propertyKeyIndex.search("feature");
+
+        assertEquals(List.of(
+            new PropertyKeyMatch("billing", "dev", "master", List.of("feature.a")),
+            new PropertyKeyMatch("orders", "dev", "master", List.of("feature.b"))), matches);
+        assertEquals(2, propertyKeyIndex.getKeyCount());
+        verify(configurationPort, times(1)).findByApplication("billing");
+        verify(configurationPort, times(1)).getAllApplications();
+    }
+
+    @Test
+    public void testIndexIsBuiltOnFirstSearch() {
+        verify(configurationPort, never()).getAllApplications();
+        when(configurationPort.getAllApplications()).thenReturn(List.of());
+
+        assertEquals(List.of(), propertyKeyIndex.search("anything"));
+    }
+}
@@ -0,0 +1,105 @@
+package com.gogidix.centralconfiguration.configserver.application.merge;
+
+import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationQuery;
+import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationResult;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ConfigurationMergeEngineTest {
+
+    private final ConfigurationMergeEngine mergeEngine = new ConfigurationMergeEngine();
+
+    @Test
+    public void testLayersFollowProfileAndLabelPrecedence() {
+        List<ConfigurationLayer> layers = ConfigurationMergeEngine.layersOf(
+            new ConfigurationQuery("orders", "dev, cloud,dev", "release", true, null));
+
+        assertEquals(List.of(
+            new ConfigurationLayer("orders", "default", "master", false),
+            new ConfigurationLayer("orders", "dev", "master", false),
+            new ConfigurationLayer("orders", "cloud", "master", false),
+            new ConfigurationLayer("orders", "default", "release", true),
+            new ConfigurationLayer("orders", "dev", "release", true),
+            new ConfigurationLayer("orders", "cloud", "release", true)), layers);
+    }
+
+    @Test
+    public void testProfileListsAndPlansAreBounded() {
+        ReflectionTestUtils.setField(mergeEngine, "maxProfiles", 3);
+        ReflectionTestUtils.setField(mergeEngine, "maxPlans", 2);
+
+        assertThrows(IllegalArgumentException.class, () ->
+            mergeEngine.planFor(new ConfigurationQuery("orders", "a,b,c", null, true, null)));
+        for (String label : new String[] {"v1", "v2", "v3", "v4", "v5"}) {
+            mergeEngine.planFor(new ConfigurationQuery("orders", "a,b", label, true, null));
+        }
+
+        assertEquals(1, mergeEngine.getPlanCount());
+    }
+
+    @Test
+    public void testPlansAreSharedPerProfileList() {
+        MergePlan plan = mergeEngine.planFor(new ConfigurationQuery("orders", "dev,cloud", null, true, null));
+
+        assertSame(plan, mergeEngine.planFor(new ConfigurationQuery("orders", "dev,cloud", "master", true, null)));
+        assertEquals(1, mergeEngine.getPlanCount());
+    }
+
+    @Test
+    public void testUnchangedLayersReuseMergedResult() {
+        MergePlan plan = mergeEngine.planFor(new ConfigurationQuery("orders", "dev", null, true, null));
+        List<ConfigurationResult> layers = List.of(layer(Map.of("a", "1")), layer(Map.of("a", "2")));
+        AtomicInteger builds = new AtomicInteger();
+
+        ConfigurationResult first = plan.resolve(layers, merged -> build(merged, builds));
+        ConfigurationResult second = plan.resolve(layers, merged -> build(merged, builds));
+
+        assertSame(first, second);
+        assertEquals(1, builds.get());
+    }
+
+    @Test
+    public void testChangedLayerIsRemergedWithPrecedence() {
+        MergePlan plan = mergeEngine.planFor(new ConfigurationQuery("orders", "dev,cloud", null, true, null));
+        ConfigurationResult defaults = layer(Map.of("a", "default", "b", "default", "c", "default"));
+        ConfigurationResult cloud = layer(Map.of("a", "cloud"));
+        AtomicInteger builds = new AtomicInteger();
+        plan.resolve(List.of(defaults, layer(Map.of("a", "dev", "b", "dev")), cloud), merged -> build(merged, builds));
+
+        ConfigurationResult result = plan.resolve(List.of(defaults, layer(Map.of("c", "dev", "d", "dev")), cloud),
+            merged -> build(merged, builds));
+
+        assertEquals(Map.of("a", "cloud", "b", "default", "c", "dev", "d", "dev"), result.getProperties());
+        assertEquals(2, builds.get());
+    }
+
+    @Test
+    public void testMissingLayersMergeToNull() {
+        MergePlan plan = mergeEngine.planFor(new ConfigurationQuery("orders", "dev", null, false, null));
+
+        ConfigurationResult result = plan.resolve(List.of(layer(null)), merged -> {
+            assertNull(merged);
+            return layer(Map.of());
+        });
+
+        assertEquals(0, result.getPropertyCount());
+    }
+
+    private static ConfigurationResult build(Map<String, Object> merged, AtomicInteger builds) {
+        builds.incrementAndGet();
+        return layer(merged);
+    }
+
+    private static ConfigurationResult layer(Map<String, Object> properties) {
+        return new ConfigurationResult("orders", "dev", "master", null, properties, null);
+    }
+}
@@ -0,0 +1,106 @@
+package com.gogidix.centralconfiguration.configserver.application.merge;
+
+import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class PlaceholderGraphTest {
+
+    @Test
+    public void testResolvesChainsAndDefaults() {
+        PlaceholderGraph graph = PlaceholderGraph.build(Map.of(
+            "db.host", "localhost",
+            "db.port", 5432,
+            "db.address", "${db.host}:${db.port}",
+            "db.url", "jdbc:postgresql://${db.address}/${db.name:orders}",
+            "cache.url", "${cache.host:${db.host}}:6379",
+            "client.only", "${CLIENT_HOME}/logs"));
+
+        assertEquals("localhost:5432", graph.getResolved().get("db.address"));
+        assertEquals("jdbc:postgresql://localhost:5432/orders", graph.getResolved().get("db.url"));
+        assertEquals("localhost:6379", graph.getResolved().get("cache.url"));
+        assertEquals("${CLIENT_HOME}/logs", graph.getResolved().get("client.only"));
+        assertEquals(5432, graph.getResolved().get("db.port"));
+    }
+
+    @Test
+    public void testCyclesKeepRawValues() {
+        PlaceholderGraph graph = PlaceholderGraph.build(Map.of(
+            "a", "${b}",
+            "b", "${a}",
+            "c", "x-${a}",
+            "d", "plain-${e}",
+            "e", "value"));
+
+        assertEquals(Set.of("a", "b", "c"), graph.getCyclicKeys());
+        assertEquals("${b}", graph.getResolved().get("a"));
+        assertEquals("x-${a}", graph.getResolved().get("c"));
+        assertEquals("plain-value", graph.getResolved().get("d"));
+    }
+
+    @Test
+    public void testUpdateResolvesOnlyDependents() {
+        Map<String, Object> raw = new HashMap<>(Map.of(
+            "db.host", "localhost",
+            "db.url", "jdbc://${db.host}",
+            "app.url", "http://${app.host}",
+            "app.host", "orders"));
+        PlaceholderGraph graph = PlaceholderGraph.build(raw);
+
+        raw.put("db.host", "db.internal");
+        raw.put("a", "${b}");
+        raw.put("b", "${a}");
+        PlaceholderGraph updated = graph.update(raw, Set.of("db.host", "a", "b"));
+
+        assertEquals("jdbc://db.internal", updated.getResolved().get("db.url"));
+        assertSame(graph.getResolved().get("app.url"), updated.getResolved().get("app.url"));
+        assertEquals(Set.of("a", "b"), updated.getCyclicKeys());
+
+        raw.put("b", "done");
+        PlaceholderGraph unlocked = updated.update(raw, Set.of("b"));
+
+        assertEquals("done", unlocked.getResolved().get("a"));
+        assertEquals(Set.of(), unlocked.getCyclicKeys());
+    }
+
+    @Test
+    public void testRemovedKeyFallsBackToDefault() {
+        Map<String, Object> raw = new HashMap<>(Map.of("port", "8080", "url", "http://host:${port:80}"));
+        PlaceholderGraph graph = PlaceholderGraph.build(raw);
+
+        raw.remove("port");
+        PlaceholderGraph updated = graph.update(raw, Set.of("port"));
+
+        assertEquals("http://host:80", updated.getResolved().get("url"));
+        assertEquals(1, updated.getResolved().size());
+    }
+
+    @Test
+    public void testMergePlanResolvesAcrossLayers() {
+        MergePlan plan = new MergePlan(List.of(
+            new ConfigurationLayer("orders", "default", "master", false),
+            new ConfigurationLayer("orders", "dev", "master", false)), true);
+        ConfigurationResult defaults = layer("default", Map.of("db.host", "localhost", "db.url", "jdbc://${db.host}"));
+
+        ConfigurationResult first = plan.resolve(List.of(defaults, layer("dev", Map.of())), this::toResult);
+        ConfigurationResult second = plan.resolve(List.of(defaults, layer("dev", Map.of("db.host", "dev-db"))), this::toResult);
+
+        assertEquals("jdbc://localhost", first.getProperties().get("db.url"));
+        assertEquals("jdbc://dev-db", second.getProperties().get("db.url"));
+    }
+
+    private ConfigurationResult toResult(Map<String, Object> properties) {
+        return new ConfigurationResult("orders", "dev", "master", "1.0.0", properties, null);
+    }
+
+    private static ConfigurationResult layer(String profile, Map<String, Object> properties) {
+        return new ConfigurationResult("orders", profile, "master", null, properties, null);
+    }
+}
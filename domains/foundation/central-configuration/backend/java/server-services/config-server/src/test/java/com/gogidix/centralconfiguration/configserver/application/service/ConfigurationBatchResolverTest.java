@@ -0,0 +1,66 @@
+package com.gogidix.centralconfiguration.configserver.application.service;
+
+import com.gogidix.centralconfiguration.configserver.domain.exception.ConfigurationUnavailableException;
+import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationQuery;
+import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationResult;
+import com.gogidix.centralconfiguration.configserver.domain.port.ConfigurationServicePort;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ConfigurationBatchResolverTest {
+
+    @Mock
+    private ConfigurationServicePort configurationService;
+
+    private final ConfigurationBatchResolver batchResolver = new ConfigurationBatchResolver(1, 1);
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    public void tearDown() {
+        release.countDown();
+        batchResolver.shutdown();
+    }
+
+    @Test
+    public void testFullQueueRefusesBatch() {
+        ReflectionTestUtils.setField(batchResolver, "configurationService", configurationService);
+        when(configurationService.getConfiguration(any(ConfigurationQuery.class))).thenAnswer(invocation -> {
+            release.await();
+            return new ConfigurationResult("orders", "dev", "master", "1.0.0", Map.of(), null);
+        });
+        // One item runs and one waits in the queue; the second batch finds no room
+        List<CompletableFuture<ConfigurationResult>> first = batchResolver.resolve(List.of(query("orders"), query("billing")));
+
+        assertThrows(ConfigurationUnavailableException.class,
+            () -> batchResolver.resolve(List.of(query("shipping"), query("audit"))));
+        assertTrue(first.stream().noneMatch(CompletableFuture::isCancelled));
+    }
+
+    @Test
+    public void testRefusedItemsFailWithoutRunning() {
+        List<CompletableFuture<ConfigurationResult>> results = batchResolver.resolve(List.of(query("orders")),
+            query -> new IllegalStateException("over budget"));
+
+        assertTrue(results.get(0).isCompletedExceptionally());
+    }
+
+    private static ConfigurationQuery query(String application) {
+        return new ConfigurationQuery(application, "dev", "master", true, null);
+    }
+}
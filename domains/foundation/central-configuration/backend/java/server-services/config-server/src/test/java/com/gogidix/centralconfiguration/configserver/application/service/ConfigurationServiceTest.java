@@ -0,0 +1,331 @@
+package com.gogidix.centralconfiguration.configserver.application.service;
+
+import com.gogidix.centralconfiguration.configserver.application.cache.ClusterCacheInvalidator;
+import com.gogidix.centralconfiguration.configserver.application.cache.ConfigurationSnapshotCache;
+import com.gogidix.centralconfiguration.configserver.application.cache.DecryptedPropertyCache;
+import com.gogidix.centralconfiguration.configserver.application.cache.NegativeLookupCache;
+import com.gogidix.centralconfiguration.configserver.application.history.ConfigurationChangeLog;
+import com.gogidix.centralconfiguration.configserver.application.merge.ConfigurationMergeEngine;
+import com.gogidix.centralconfiguration.configserver.domain.event.ConfigurationChangedEvent;
+import com.gogidix.centralconfiguration.configserver.domain.event.ConfigurationSourceChangedEvent;
+import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationData;
+import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationDelta;
+import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationInvalidation;
+import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationQuery;
+import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationResult;
+import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationWrite;
+import com.gogidix.centralconfiguration.configserver.domain.port.ConfigurationPort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.crypto.encrypt.TextEncryptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ConfigurationServiceTest {
+
+    @Mock
+    private ConfigurationPort configurationPort;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ClusterCacheInvalidator clusterCacheInvalidator;
+
+    @Spy
+    private ConfigurationSnapshotCache snapshotCache = new ConfigurationSnapshotCache();
+
+    @Spy
+    private ConfigurationChangeLog changeLog = new ConfigurationChangeLog();
+
+    @Spy
+    private ConfigurationMergeEngine mergeEngine = new ConfigurationMergeEngine();
+
+    @Mock
+    private ConfigurationWriteBatcher writeBatcher;
+
+    @Spy
+    private NegativeLookupCache negativeLookupCache = new NegativeLookupCache();
+
+    @Spy
+    private DecryptedPropertyCache decryptedPropertyCache = new DecryptedPropertyCache();
+
+    @Mock
+    private TextEncryptor textEncryptor;
+
+    @InjectMocks
+    private ConfigurationService configurationService;
+
+    @BeforeEach
+    public void setUp() {
+        ReflectionTestUtils.setField(negativeLookupCache, "configurationPort", configurationPort);
+        ReflectionTestUtils.setField(decryptedPropertyCache, "textEncryptor",
+            new StaticListableBeanFactory(Map.of("textEncryptor", textEncryptor)).getBeanProvider(TextEncryptor.class));
+        lenient().when(configurationPort.getAllApplications()).thenReturn(List.of("orders"));
+        lenient().when(configurationPort.getProfilesForApplication("orders")).thenReturn(List.of("default", "dev", "cloud"));
+        // Most tests store no defaults layer for the application
+        lenient().when(configurationPort.findByApplicationAndProfile("orders", "default")).thenReturn(Optional.empty());
+    }
+
+    @Test
+    public void testRepeatedReadsHitSnapshotCache() {
+        when(configurationPort.findByApplicationAndProfile("orders", "dev"))
+            .thenReturn(Optional.of(new ConfigurationData("orders", "dev", Map.of("db.host", "localhost"))));
+
+        configurationService.getConfiguration("orders", "dev");
+        ConfigurationResult result = configurationService.getConfiguration("orders", "dev");
+
+        assertEquals("localhost", result.getProperties().get("db.host"));
+        verify(configurationPort, times(1)).findByApplicationAndProfile("orders", "dev");
+    }
+
+    @Test
+    public void testEncryptedValuesAreDecryptedOncePerRevision() {
+        ConfigurationData stored = new ConfigurationData("orders", "dev", Map.of("db.password", "{cipher}a1b2", "db.host", "localhost"));
+        stored.setRevision(5L);
+        when(configurationPort.findByApplicationAndProfile("orders", "dev")).thenReturn(Optional.of(stored));
+        when(textEncryptor.decrypt("a1b2")).thenReturn("secret");
+
+        ConfigurationResult first = configurationService.getConfiguration("orders", "dev");
+        configurationService.refreshConfiguration();
+        ConfigurationResult second = configurationService.getConfiguration("orders", "dev");
+
+        assertEquals("secret", first.getProperties().get("db.password"));
+        assertEquals("secret", second.getProperties().get("db.password"));
+        verify(configurationPort, times(2)).findByApplicationAndProfile("orders", "dev");
+        verify(textEncryptor, times(1)).decrypt("a1b2");
+        assertEquals(1, decryptedPropertyCache.getAvoidedDecryptCount());
+    }
+
+    @Test
+    public void testRefreshAdvancesGenerationAndReloads() {
+        when(configurationPort.findByApplicationAndProfile("orders", "dev"))
+            .thenReturn(Optional.of(new ConfigurationData("orders", "dev", Map.of("db.host", "localhost"))));
+
+        configurationService.getConfiguration("orders", "dev");
+        configurationService.refreshConfiguration();
+        configurationService.getConfiguration("orders", "dev");
+
+        verify(configurationPort).clearCache();
+        verify(configurationPort, times(2)).findByApplicationAndProfile("orders", "dev");
+        verify(clusterCacheInvalidator).broadcast(ConfigurationInvalidation.all());
+    }
+
+    @Test
+    public void testSourceChangeInvalidatesOnlyAffectedSnapshots() {
+        when(configurationPort.findByApplicationAndProfile("orders", "dev"))
+            .thenReturn(Optional.of(new ConfigurationData("orders", "dev", Map.of("db.host", "localhost"))))
+            .thenReturn(Optional.of(new ConfigurationData("orders", "dev", Map.of("db.host", "edited"))));
+        when(configurationPort.findByApplicationAndProfile("orders", "cloud"))
+            .thenReturn(Optional.of(new ConfigurationData("orders", "cloud", Map.of("db.host", "cloud-db"))));
+
+        configurationService.getConfiguration("orders", "dev");
+        configurationService.getConfiguration("orders", "cloud");
+        configurationService.onSourceChanged(new ConfigurationSourceChangedEvent(
+            List.of(new ConfigurationChangedEvent.Target("orders", "dev"))));
+
+        assertEquals("edited", configurationService.getConfiguration("orders", "dev").getProperties().get("db.host"));
+        configurationService.getConfiguration("orders", "cloud");
+        verify(configurationPort, times(1)).findByApplicationAndProfile("orders", "cloud");
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof ConfigurationChangedEvent changed &&
+            changed.getTargets().equals(List.of(new ConfigurationChangedEvent.Target("orders", "dev")))));
+    }
+
+    @Test
+    public void testUpdateInvalidatesCachedSnapshot() {
+        ConfigurationData updated = new ConfigurationData("orders", "dev", Map.of("db.host", "db.internal"));
+        when(configurationPort.findByApplicationAndProfile("orders", "dev"))
+            .thenReturn(Optional.of(new ConfigurationData("orders", "dev", Map.of("db.host", "localhost"))))
+            .thenReturn(Optional.of(updated));
+
+        configurationService.getConfiguration("orders", "dev");
+        configurationService.updateConfiguration("orders", "dev", updated);
+        ConfigurationResult result = configurationService.getConfiguration("orders", "dev");
+
+        verify(configurationPort).save(updated);
+        verify(eventPublisher).publishEvent(any(ConfigurationChangedEvent.class));
+        assertEquals("db.internal", result.getProperties().get("db.host"));
+    }
+
+    @Test
+    public void testDeltaAfterUpdateContainsOnlyChangedKeys() {
+        ConfigurationData updated = new ConfigurationData("orders", "dev", Map.of("db.host", "db.internal", "db.port", "5432"));
+        when(configurationPort.findByApplicationAndProfile("orders", "dev"))
+            .thenReturn(Optional.of(new ConfigurationData("orders", "dev", Map.of("db.host", "localhost", "db.port", "5432"))))
+            .thenReturn(Optional.of(updated));
+        ConfigurationQuery query = new ConfigurationQuery("orders", "dev", "master", true, null);
+
+        long seen = configurationService.getConfiguration(query).getRevision();
+        configurationService.updateConfiguration("orders", "dev", updated);
+        ConfigurationDelta delta = configurationService.getConfigurationDelta(query, seen);
+
+        assertFalse(delta.isFull());
+        assertEquals(Map.of("db.host", "db.internal"), delta.getChanged());
+        assertEquals(seen + 1, delta.getRevision());
+    }
+
+    @Test
+    public void testProfilesMergeOverDefaultsAndLabelOverrides() {
+        when(configurationPort.findByApplicationAndProfile("orders", "default"))
+            .thenReturn(Optional.of(new ConfigurationData("orders", "default", Map.of("db.host", "localhost", "db.pool", "5", "feature.x", "off"))));
+        when(configurationPort.findByApplicationAndProfile("orders", "dev"))
+            .thenReturn(Optional.of(new ConfigurationData("orders", "dev", Map.of("db.host", "dev-db", "db.pool", "10"))));
+        when(configurationPort.findByApplicationAndProfile("orders", "cloud"))
+            .thenReturn(Optional.of(new ConfigurationData("orders", "cloud", Map.of("db.host", "cloud-db"))));
+        when(configurationPort.findByApplicationProfileAndLabel(eq("orders"), anyString(), eq("release")))
+            .thenReturn(Optional.empty());
+        when(configurationPort.findByApplicationProfileAndLabel("orders", "dev", "release"))
+            .thenReturn(Optional.of(new ConfigurationData("orders", "dev", Map.of("db.pool", "20"))));
+
+        ConfigurationResult result = configurationService.getConfiguration(
+            new ConfigurationQuery("orders", "dev,cloud", "release", true, null));
+
+        assertEquals(Map.of("db.host", "cloud-db", "db.pool", "20", "feature.x", "off"), result.getProperties());
+        assertEquals("release", result.getLabel());
+    }
+
+    @Test
+    public void testExcludedDefaultsAreNotMerged() {
+        when(configurationPort.findByApplicationAndProfile("orders", "dev"))
+            .thenReturn(Optional.of(new ConfigurationData("orders", "dev", Map.of("db.host", "dev-db"))));
+
+        ConfigurationResult result = configurationService.getConfiguration(
+            new ConfigurationQuery("orders", "dev", "master", false, null));
+
+        assertEquals(Map.of("db.host", "dev-db"), result.getProperties());
+        verify(configurationPort, times(0)).findByApplicationAndProfile("orders", "default");
+    }
+
+    @Test
+    public void testUpdateReloadsOnlyTheChangedLayer() {
+        when(configurationPort.findByApplicationAndProfile("orders", "default"))
+            .thenReturn(Optional.of(new ConfigurationData("orders", "default", Map.of("db.host", "localhost", "db.pool", "5"))));
+        ConfigurationData updated = new ConfigurationData("orders", "dev", Map.of("db.host", "db.internal"));
+        when(configurationPort.findByApplicationAndProfile("orders", "dev"))
+            .thenReturn(Optional.of(new ConfigurationData("orders", "dev", Map.of("db.host", "dev-db"))))
+            .thenReturn(Optional.of(updated));
+
+        configurationService.getConfiguration("orders", "dev");
+        configurationService.updateConfiguration("orders", "dev", updated);
+        ConfigurationResult result = configurationService.getConfiguration("orders", "dev");
+
+        assertEquals(Map.of("db.host", "db.internal", "db.pool", "5"), result.getProperties());
+        verify(configurationPort, times(1)).findByApplicationAndProfile("orders", "default");
+        verify(configurationPort, times(2)).findByApplicationAndProfile("orders", "dev");
+    }
+
+    @Test
+    public void testUnchangedRefreshKeepsMergedResult() {
+        when(configurationPort.findByApplicationAndProfile("orders", "dev"))
+            .thenReturn(Optional.of(new ConfigurationData("orders", "dev", Map.of("db.host", "localhost"))));
+
+        ConfigurationResult first = configurationService.getConfiguration("orders", "dev");
+        configurationService.refreshConfiguration();
+        ConfigurationResult second = configurationService.getConfiguration("orders", "dev");
+
+        assertSame(first, second);
+    }
+
+    @Test
+    public void testResultCarriesStoredRevisionOfQueriedSet() {
+        ConfigurationData defaults = new ConfigurationData("orders", "default", Map.of("db.pool", 10));
+        defaults.setRevision(7L);
+        ConfigurationData dev = new ConfigurationData("orders", "dev", Map.of("db.host", "localhost"));
+        dev.setRevision(41L);
+        when(configurationPort.findByApplicationAndProfile("orders", "default")).thenReturn(Optional.of(defaults));
+        when(configurationPort.findByApplicationAndProfile("orders", "dev")).thenReturn(Optional.of(dev));
+
+        ConfigurationResult result = configurationService.getConfiguration("orders", "dev");
+
+        assertEquals(41L, result.getStoredRevision());
+        assertNotEquals(41L, result.getRevision());
+    }
+
+    @Test
+    public void testUnknownApplicationIsAnsweredWithoutStorage() {
+        ConfigurationResult first = configurationService.getConfiguration("scanner-probe", "dev");
+        ConfigurationResult second = configurationService.getConfiguration("scanner-probe", "dev");
+
+        assertSame(first, second);
+        assertEquals("scanner-probe", first.getProperties().get("spring.application.name"));
+        assertEquals("8080", first.getProperties().get("server.port"));
+        verify(configurationPort, never()).findByApplicationAndProfile(eq("scanner-probe"), anyString());
+        assertEquals(0, snapshotCache.size());
+    }
+
+    @Test
+    public void testDefaultPropertiesAreSharedAcrossProfiles() {
+        ConfigurationResult dev = configurationService.getConfiguration("scanner-probe", "dev");
+        ConfigurationResult prod = configurationService.getConfiguration("scanner-probe", "prod");
+
+        assertSame(dev.getProperties(), prod.getProperties());
+    }
+
+    @Test
+    public void testUnknownProfileOfKnownApplicationSkipsStorage() {
+        configurationService.getConfiguration("orders", "qa");
+
+        verify(configurationPort, never()).findByApplicationAndProfile("orders", "qa");
+        verify(configurationPort).findByApplicationAndProfile("orders", "default");
+    }
+
+    @Test
+    public void testSavedApplicationBecomesVisible() {
+        ConfigurationData created = new ConfigurationData("billing", "dev", Map.of("db.host", "billing-db"));
+        when(configurationPort.findByApplicationAndProfile("billing", "dev")).thenReturn(Optional.of(created));
+        configurationService.getConfiguration("billing", "dev");
+
+        configurationService.updateConfiguration("billing", "dev", created);
+        ConfigurationResult result = configurationService.getConfiguration("billing", "dev");
+
+        assertEquals(Map.of("db.host", "billing-db"), result.getProperties());
+        verify(configurationPort, never()).findByApplicationAndProfile("billing", "default");
+    }
+
+    @Test
+    public void testUpdateIsStoredUnderThePathNotTheBody() {
+        ConfigurationData misaddressed = new ConfigurationData("billing", "prod", Map.of("db.host", "db.internal"));
+        when(writeBatcher.write(any(ConfigurationWrite.class))).thenReturn(8L);
+
+        configurationService.updateConfiguration("orders", "dev", misaddressed, 7L);
+
+        verify(writeBatcher).write(argThat(write -> write.getData().getApplication().equals("orders") &&
+            write.getData().getProfile().equals("dev")));
+    }
+
+    @Test
+    public void testCompareAndSetUpdateGoesThroughWriteBatcher() {
+        ConfigurationData updated = new ConfigurationData("orders", "dev", Map.of("db.host", "db.internal"));
+        when(writeBatcher.write(any(ConfigurationWrite.class))).thenReturn(8L);
+
+        long revision = configurationService.updateConfiguration("orders", "dev", updated, 7L);
+
+        assertEquals(8L, revision);
+        verify(writeBatcher).write(argThat(write -> write.getData() == updated && write.getExpectedRevision() == 7L));
+    }
+}
@@ -0,0 +1,184 @@
+package com.gogidix.centralconfiguration.configserver.application.service;
+
+import com.gogidix.centralconfiguration.configserver.application.cache.ClusterCacheInvalidator;
+import com.gogidix.centralconfiguration.configserver.application.cache.ConfigurationSnapshotCache;
+import com.gogidix.centralconfiguration.configserver.application.cache.NegativeLookupCache;
+import com.gogidix.centralconfiguration.configserver.domain.event.ConfigurationChangedEvent;
+import com.gogidix.centralconfiguration.configserver.domain.exception.ConfigurationConflictException;
+import com.gogidix.centralconfiguration.configserver.domain.exception.ConfigurationUnavailableException;
+import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationData;
+import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationInvalidation;
+import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationWrite;
+import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationWriteResult;
+import com.gogidix.centralconfiguration.configserver.domain.port.ConfigurationPort;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ConfigurationWriteBatcherTest {
+
+    @Mock
+    private ConfigurationPort configurationPort;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ClusterCacheInvalidator clusterCacheInvalidator;
+
+    @Spy
+    private ConfigurationSnapshotCache snapshotCache = new ConfigurationSnapshotCache();
+
+    @Spy
+    private NegativeLookupCache negativeLookupCache = new NegativeLookupCache();
+
+    @InjectMocks
+    private ConfigurationWriteBatcher writeBatcher;
+
+    private final ExecutorService callers = Executors.newFixedThreadPool(8);
+
+    @BeforeEach
+    public void setUp() {
+        ReflectionTestUtils.setField(writeBatcher, "window", Duration.ofMillis(200));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        callers.shutdownNow();
+        writeBatcher.shutdown();
+    }
+
+    @Test
+    public void testConcurrentWritesShareOneBatchAndEvent() {
+        when(configurationPort.saveAll(anyList())).thenAnswer(invocation -> {
+            List<ConfigurationWrite> writes = invocation.getArgument(0);
+            List<ConfigurationWriteResult> results = new ArrayList<>();
+            for (int i = 0; i < writes.size(); i++) {
+                results.add(ConfigurationWriteResult.saved(100L + i));
+            }
+            return results;
+        });
+
+        List<CompletableFuture<Long>> revisions = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            ConfigurationWrite write = write("app-" + i, ConfigurationData.ANY_REVISION);
+            revisions.add(CompletableFuture.supplyAsync(() -> writeBatcher.write(write), callers));
+        }
+        revisions.forEach(CompletableFuture::join);
+
+        ArgumentCaptor<ConfigurationChangedEvent> events = ArgumentCaptor.forClass(ConfigurationChangedEvent.class);
+        verify(eventPublisher, times((int) writeBatcher.getBatchCount())).publishEvent(events.capture());
+        assertEquals(8, writeBatcher.getBatchedWriteCount());
+        assertEquals(8, events.getAllValues().stream().mapToInt(event -> event.getTargets().size()).sum());
+        assertEquals(1, writeBatcher.getBatchCount(), "all writes fell within one window");
+        verify(snapshotCache).invalidate("app-3", "dev");
+        verify(clusterCacheInvalidator, times(8)).broadcast(any(ConfigurationInvalidation.class));
+    }
+
+    @Test
+    public void testConflictFailsOnlyItsOwnWrite() {
+        ConfigurationConflictException conflict = new ConfigurationConflictException("orders:dev:master", 1L, 2L);
+        when(configurationPort.saveAll(anyList())).thenReturn(List.of(ConfigurationWriteResult.failed(conflict)));
+
+        assertThrows(ConfigurationConflictException.class, () -> writeBatcher.write(write("orders", 1L)));
+        verify(snapshotCache, times(0)).invalidate("orders", "dev");
+        verify(clusterCacheInvalidator, times(0)).broadcast(any(ConfigurationInvalidation.class));
+    }
+
+    @Test
+    public void testFailedBatchIsRetriedWriteByWrite() throws Exception {
+        when(configurationPort.saveAll(anyList())).thenAnswer(invocation -> {
+            List<ConfigurationWrite> writes = invocation.getArgument(0);
+            if (writes.size() > 1) {
+
+                throw new IllegalStateException("deadlock");
+            }
+            if (writes.get(0).getApplication().equals("bad")) {
+
+                throw new IllegalStateException("value too long");
+            }
+            return List.of(ConfigurationWriteResult.saved(7L));
+        });
+
+        CompletableFuture<Long> good = CompletableFuture.supplyAsync(() -> writeBatcher.write(write("good", 0L)), callers);
+        CompletableFuture<Long> bad = CompletableFuture.supplyAsync(() -> writeBatcher.write(write("bad", 0L)), callers);
+
+        assertEquals(7L, good.get());
+        assertThrows(Exception.class, bad::join);
+    }
+
+    @Test
+    public void testDefaultBatchReportsFailuresPerWrite() {
+        when(configurationPort.saveAll(anyList())).thenCallRealMethod();
+        when(configurationPort.compareAndSave(any(ConfigurationData.class), anyLong())).thenAnswer(invocation -> {
+            ConfigurationData data = invocation.getArgument(0);
+            if (data.getApplication().equals("bad")) {
+
+                throw new IllegalStateException("disk full");
+            }
+            return 7L;
+        });
+
+        CompletableFuture<Long> good = CompletableFuture.supplyAsync(() -> writeBatcher.write(write("good", 0L)), callers);
+        CompletableFuture<Long> bad = CompletableFuture.supplyAsync(() -> writeBatcher.write(write("bad", 0L)), callers);
+
+        assertEquals(7L, good.join());
+        assertThrows(Exception.class, bad::join);
+        // The stored write is not written again by a one-by-one retry
+        verify(configurationPort, times(1)).compareAndSave(argThat(data -> data.getApplication().equals("good")), anyLong());
+    }
+
+    @Test
+    public void testShutdownFailsCollectedWritesAtOnce() throws Exception {
+        ReflectionTestUtils.setField(writeBatcher, "window", Duration.ofSeconds(5));
+        CompletableFuture<Long> collected = CompletableFuture.supplyAsync(() -> writeBatcher.write(write("orders", 0L)), callers);
+        // Let the writer collect it; the batch window keeps it from being stored
+        Thread.sleep(100);
+
+        long start = System.nanoTime();
+        writeBatcher.shutdown();
+
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> collected.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(ConfigurationUnavailableException.class, failure.getCause());
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+        assertThrows(ConfigurationUnavailableException.class, () -> writeBatcher.write(write("billing", 0L)));
+        verify(configurationPort, never()).saveAll(anyList());
+    }
+
+    private static ConfigurationWrite write(String application, long expectedRevision) {
+        return new ConfigurationWrite(application, "dev",
+            new ConfigurationData(application, "dev", Map.of("key", application)), expectedRevision);
+    }
+}
@@ -0,0 +1,116 @@
+package com.gogidix.centralconfiguration.configserver.application.watch;
+
+import com.gogidix.centralconfiguration.configserver.domain.event.ConfigurationChangedEvent;
+import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationDelta;
+import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationQuery;
+import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationResult;
+import com.gogidix.centralconfiguration.configserver.domain.port.ConfigurationServicePort;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ConfigurationWatchRegistryTest {
+
+    @Mock
+    private ConfigurationServicePort configurationService;
+
+    @InjectMocks
+    private ConfigurationWatchRegistry watchRegistry;
+
+    private final ConfigurationQuery query = new ConfigurationQuery("orders", "dev", "master", true, null);
+
+    @AfterEach
+    public void tearDown() {
+        watchRegistry.shutdown();
+    }
+
+    private static ConfigurationDelta delta(Map<String, Object> changed) {
+        ConfigurationResult current = new ConfigurationResult("orders", "dev", "master", "1.0.0", Map.of(), null, 2L);
+        return ConfigurationDelta.incremental(current, 1L, Map.of(), changed, Set.of());
+    }
+
+    @Test
+    public void testWatchIsCompletedWhenWatchedKeyChanges() throws Exception {
+        when(configurationService.getConfigurationDelta(any(ConfigurationQuery.class), eq(1L)))
+            .thenReturn(delta(Map.of()))
+            .thenReturn(delta(Map.of("db.host", "db.internal", "log.level", "DEBUG")));
+        CompletableFuture<ConfigurationDelta> notified = new CompletableFuture<>();
+
+        watchRegistry.watch(query, 1L, Set.of("db.*"), notified::complete);
+        assertFalse(notified.isDone());
+        assertEquals(1, watchRegistry.getWatcherCount());
+
+        watchRegistry.onConfigurationChanged(ConfigurationChangedEvent.of("orders", "dev"));
+
+        ConfigurationDelta delta = notified.get(5, TimeUnit.SECONDS);
+        assertEquals(Map.of("db.host", "db.internal"), delta.getChanged());
+        assertEquals(0, watchRegistry.getWatcherCount());
+    }
+
+    @Test
+    public void testUnwatchedKeyChangeKeepsWatchPending() throws Exception {
+        when(configurationService.getConfigurationDelta(any(ConfigurationQuery.class), eq(1L)))
+            .thenReturn(delta(Map.of()))
+            .thenReturn(delta(Map.of("log.level", "DEBUG")));
+        CompletableFuture<ConfigurationDelta> notified = new CompletableFuture<>();
+
+        ConfigurationWatch watch = watchRegistry.watch(query, 1L, Set.of("db.host"), notified::complete);
+        watchRegistry.onConfigurationChanged(ConfigurationChangedEvent.of("orders", "dev"));
+        watchRegistry.onConfigurationChanged(ConfigurationChangedEvent.of("billing", "dev"));
+        TimeUnit.MILLISECONDS.sleep(200);
+
+        assertFalse(notified.isDone());
+        watchRegistry.cancel(watch);
+        assertEquals(0, watchRegistry.getWatcherCount());
+    }
+
+    @Test
+    public void testAlreadyChangedRevisionCompletesImmediately() {
+        when(configurationService.getConfigurationDelta(any(ConfigurationQuery.class), eq(1L)))
+            .thenReturn(delta(Map.of("db.host", "db.internal")));
+        CompletableFuture<ConfigurationDelta> notified = new CompletableFuture<>();
+
+        watchRegistry.watch(query, 1L, Set.of(), notified::complete);
+
+        assertEquals(Map.of("db.host", "db.internal"), notified.join().getChanged());
+        assertEquals(0, watchRegistry.getWatcherCount());
+    }
+
+    @Test
+    public void testForeignRevisionWaitsForDifferentContent() throws Exception {
+        ConfigurationResult held = new ConfigurationResult("orders", "dev", "master", "1.0.0", Map.of("db.host", "localhost"), null, 2L);
+        ConfigurationResult changed = new ConfigurationResult("orders", "dev", "master", "1.0.0", Map.of("db.host", "db.internal"), null, 3L);
+        when(configurationService.getConfigurationDelta(any(ConfigurationQuery.class), eq(77L)))
+            .thenReturn(ConfigurationDelta.full(held, 77L))
+            .thenReturn(ConfigurationDelta.full(held, 77L))
+            .thenReturn(ConfigurationDelta.full(changed, 77L));
+        CompletableFuture<ConfigurationDelta> notified = new CompletableFuture<>();
+
+        watchRegistry.watch(query, 77L, Set.of(), held.getContentHash(), notified::complete);
+        watchRegistry.onConfigurationChanged(ConfigurationChangedEvent.of("orders", "dev"));
+        TimeUnit.MILLISECONDS.sleep(200);
+        assertFalse(notified.isDone());
+
+        watchRegistry.onConfigurationChanged(ConfigurationChangedEvent.of("orders", "dev"));
+
+        ConfigurationDelta delta = notified.get(5, TimeUnit.SECONDS);
+        assertTrue(delta.isFull());
+        assertEquals("db.internal", delta.getCurrent().getProperties().get("db.host"));
+    }
+}
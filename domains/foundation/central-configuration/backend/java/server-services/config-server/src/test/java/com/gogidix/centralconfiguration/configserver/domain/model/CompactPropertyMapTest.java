@@ -0,0 +1,92 @@
+package com.gogidix.centralconfiguration.configserver.domain.model;
+
+import org.junit.jupiter.api.Test;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CompactPropertyMapTest {
+
+    @Test
+    public void testBehavesLikeTheSourceMap() {
+        Map<String, Object> source = new LinkedHashMap<>();
+        source.put("server.port", 8080);
+        source.put("management.endpoints.web.exposure.include", "health");
+        source.put("feature.flag", null);
+
+        CompactPropertyMap compact = CompactPropertyMap.of(source);
+
+        assertEquals(source, compact);
+        assertEquals(source.hashCode(), compact.hashCode());
+        assertEquals(8080, compact.get("server.port"));
+        assertTrue(compact.containsKey("feature.flag"));
+        assertNull(compact.get("feature.flag"));
+        assertFalse(compact.containsKey("missing"));
+        assertNull(compact.get(42));
+        assertEquals(List.of("feature.flag", "management.endpoints.web.exposure.include", "server.port"),
+            new ArrayList<>(compact.keySet()));
+    }
+
+    @Test
+    public void testIsImmutable() {
+        CompactPropertyMap compact = CompactPropertyMap.of(Map.of("server.port", 8080));
+
+        assertThrows(UnsupportedOperationException.class, () -> compact.put("server.port", 9090));
+        assertThrows(UnsupportedOperationException.class, () -> compact.remove("server.port"));
+        assertThrows(UnsupportedOperationException.class, compact::clear);
+        assertSame(compact, CompactPropertyMap.of(compact));
+    }
+
+    @Test
+    public void testSameKeySetSharesKeyArray() {
+        CompactPropertyMap orders = CompactPropertyMap.of(Map.of("server.port", 8080, "spring.application.name", "orders"));
+        CompactPropertyMap billing = CompactPropertyMap.of(Map.of("spring.application.name", "billing", "server.port", 8081));
+
+        assertTrue(orders.sharesKeysWith(billing));
+        assertEquals("billing", billing.get("spring.application.name"));
+    }
+
+    @Test
+    public void testFootprintPerThousandConfigurations() {
+        List<Map<String, Object>> hashMaps = new ArrayList<>();
+        List<Map<String, Object>> compactMaps = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            Map<String, Object> properties = new HashMap<>();
+            properties.put(new String("spring.application.name"), "app-" + i);
+            properties.put(new String("spring.datasource.url"), "jdbc:postgresql://db/app" + i);
+            properties.put(new String("spring.datasource.hikari.maximum-pool-size"), 10);
+            properties.put(new String("server.port"), 8080);
+            properties.put(new String("management.endpoints.web.exposure.include"), "health,info");
+            properties.put(new String("management.endpoint.health.show-details"), "always");
+            properties.put(new String("logging.level.root"), "INFO");
+            properties.put(new String("feature.checkout.enabled"), i % 2 == 0);
+            hashMaps.add(properties);
+            compactMaps.add(CompactPropertyMap.of(properties));
+        }
+
+        // Values are shared by both lists; measure everything except them
+        long hashMapBytes = GraphLayout.parseInstance(hashMaps).totalSize()
+            - GraphLayout.parseInstance(values(hashMaps)).totalSize();
+        long compactBytes = GraphLayout.parseInstance(compactMaps).totalSize()
+            - GraphLayout.parseInstance(values(compactMaps)).totalSize();
+        System.out.printf("Property maps per 1000 configurations: HashMap %d bytes, compact %d bytes (%.1f%%)%n",
+            hashMapBytes, compactBytes, 100.0 * compactBytes / hashMapBytes);
+
+        assertTrue(compactBytes * 3 < hashMapBytes, "compact " + compactBytes + " vs HashMap " + hashMapBytes);
+    }
+
+    private static Object[] values(List<Map<String, Object>> maps) {
+        return maps.stream().flatMap(map -> map.values().stream()).distinct().toArray();
+    }
+}
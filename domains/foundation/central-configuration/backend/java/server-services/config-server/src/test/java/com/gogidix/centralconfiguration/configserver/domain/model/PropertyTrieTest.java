@@ -0,0 +1,59 @@
+package com.gogidix.centralconfiguration.configserver.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class PropertyTrieTest {
+
+    private final PropertyTrie<String> trie = new PropertyTrie<>();
+
+    @Test
+    public void testSubtreeMatchesWholeSegmentsOnly() {
+        trie.put("spring.datasource.url", "jdbc");
+        trie.put("spring.datasource.hikari.maximum-pool-size", "10");
+        trie.put("spring.datasources", "other");
+        trie.put("server.port", "8080");
+
+        assertEquals(Map.of("spring.datasource.url", "jdbc", "spring.datasource.hikari.maximum-pool-size", "10"),
+            trie.subtree("spring.datasource.*"));
+        assertEquals(trie.subtree("spring.datasource"), trie.subtree("spring.datasource."));
+        assertEquals(4, trie.subtree("").size());
+        assertEquals(Map.of(), trie.subtree("spring.data"));
+    }
+
+    @Test
+    public void testKeyAndItsChildrenCoexist() {
+        trie.put("logging.level", "INFO");
+        trie.put("logging.level.root", "WARN");
+
+        assertEquals(Map.of("logging.level", "INFO", "logging.level.root", "WARN"), trie.subtree("logging.level"));
+        assertEquals("WARN", trie.get("logging.level.root"));
+    }
+
+    @Test
+    public void testRemovePrunesEmptyBranches() {
+        trie.put("a.b.c", "1");
+        trie.put("a.d", "2");
+
+        assertEquals("1", trie.remove("a.b.c"));
+        assertNull(trie.remove("a.b.c"));
+        assertNull(trie.get("a.b.c"));
+        assertEquals(Map.of("a.d", "2"), trie.subtree("a"));
+        assertEquals(1, trie.size());
+    }
+
+    @Test
+    public void testResultSubtreeKeepsRevision() {
+        ConfigurationResult result = new ConfigurationResult("orders", "dev", "master", "1.0.0",
+            Map.of("db.host", "localhost", "db.port", 5432, "server.port", 8080), null, 7L);
+
+        ConfigurationResult subtree = result.subtree("db");
+
+        assertEquals(Map.of("db.host", "localhost", "db.port", 5432), subtree.getProperties());
+        assertEquals(7L, subtree.getRevision());
+    }
+}
@@ -0,0 +1,94 @@
+package com.gogidix.centralconfiguration.configserver.infrastructure.metrics;
+
+import com.gogidix.centralconfiguration.configserver.application.cache.NegativeLookupCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ConfigurationRequestMetricsFilterTest {
+
+    private static final String PROPERTIES = "/api/config/properties/{application}";
+
+    @Mock
+    private NegativeLookupCache negativeLookupCache;
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private ConfigurationRequestMetricsFilter filter;
+
+    @BeforeEach
+    public void setUp() {
+        filter = new ConfigurationRequestMetricsFilter();
+        ReflectionTestUtils.setField(filter, "meterRegistry", registry);
+        ReflectionTestUtils.setField(filter, "negativeLookupCache", negativeLookupCache);
+        ReflectionTestUtils.setField(filter, "maxApplicationTags", 2);
+    }
+
+    @Test
+    public void testApplicationTagsAreBounded() throws Exception {
+        when(negativeLookupCache.mightExist(anyString())).thenAnswer(invocation -> !"scanner".equals(invocation.getArgument(0)));
+
+        for (String application : new String[] {"orders", "billing", "orders", "shipping", "audit", "scanner"}) {
+            request(PROPERTIES, application, 0);
+        }
+
+        assertEquals(2, count("orders"));
+        assertEquals(1, count("billing"));
+        assertEquals(2, count(ConfigurationRequestMetricsFilter.OTHER));
+        assertEquals(1, count(ConfigurationRequestMetricsFilter.UNKNOWN));
+        assertEquals(4, registry.find("config.requests").counters().size());
+    }
+
+    @Test
+    public void testPayloadSizesAreRecordedPerEndpoint() throws Exception {
+        when(negativeLookupCache.mightExist("orders")).thenReturn(true);
+
+        request(PROPERTIES, "orders", 2048);
+        request(PROPERTIES, "orders", 1024);
+        request("/api/config/applications", null, 64);
+
+        assertEquals(3072, registry.get("config.response.size").tag("uri", PROPERTIES).summary().totalAmount());
+        assertEquals(1, registry.get("config.response.size").tag("uri", "/api/config/applications").summary().count());
+    }
+
+    private void request(String pattern, String application, int length) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain() {
+            @Override
+            public void doFilter(ServletRequest req, ServletResponse res) {
+                // As the dispatcher servlet does once a handler is mapped
+                req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+                req.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE,
+                    application != null ? Map.of("application", application) : Map.of());
+                if (length > 0) {
+
+                    response.setHeader(HttpHeaders.CONTENT_LENGTH, String.valueOf(length));
+                }
+            }
+        };
+        filter.doFilter(request, response, chain);
+    }
+
+    private double count(String application) {
+        return registry.get("config.requests").tag("application", application).counter().count();
+    }
+}
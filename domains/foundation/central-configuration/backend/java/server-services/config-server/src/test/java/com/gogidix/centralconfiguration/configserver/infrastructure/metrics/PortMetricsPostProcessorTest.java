@@ -0,0 +1,111 @@
+package com.gogidix.centralconfiguration.configserver.infrastructure.metrics;
+
+import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationData;
+import com.gogidix.centralconfiguration.configserver.domain.port.ConfigurationPort;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PortMetricsPostProcessorTest {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private PortMetricsPostProcessor postProcessor;
+
+    @BeforeEach
+    public void setUp() {
+        postProcessor = new PortMetricsPostProcessor(
+            new StaticListableBeanFactory(Map.of("meterRegistry", registry)).getBeanProvider(MeterRegistry.class), false);
+    }
+
+    @Test
+    public void testPortCallsAreTimedByMethodAndOutcome() {
+        StubPort port = (StubPort) postProcessor.postProcessAfterInitialization(new StubPort(), "stubPort");
+        assertTrue(AopUtils.isCglibProxy(port));
+
+        port.exists("orders", "dev");
+        assertNull(registry.find(PortTimingInterceptor.METER_NAME).timer(), "not timed before the context started");
+
+        postProcessor.afterSingletonsInstantiated();
+        port.exists("orders", "dev");
+        port.exists("billing", "dev");
+        assertThrows(IllegalStateException.class, port::clearCache);
+        port.helper();
+
+        Timer exists = registry.get(PortTimingInterceptor.METER_NAME)
+            .tags("port", "ConfigurationPort", "method", "exists", "outcome", "success").timer();
+        assertEquals(2, exists.count());
+        assertEquals(1, registry.get(PortTimingInterceptor.METER_NAME)
+            .tags("method", "clearCache", "outcome", "error").timer().count());
+        assertNull(registry.find(PortTimingInterceptor.METER_NAME).tags("method", "helper").timer());
+    }
+
+    @Test
+    public void testOtherBeansAreLeftAlone() {
+        Object bean = new Object();
+
+        assertFalse(AopUtils.isAopProxy(postProcessor.postProcessAfterInitialization(bean, "other")));
+    }
+
+    static class StubPort implements ConfigurationPort {
+
+        @Override
+        public Optional<ConfigurationData> findByApplicationAndProfile(String application, String profile) {
+            return Optional.empty();
+        }
+
+        @Override
+        public List<ConfigurationData> findByApplication(String application) {
+            return List.of();
+        }
+
+        @Override
+        public void save(ConfigurationData configurationData) {
+        }
+
+        @Override
+        public long compareAndSave(ConfigurationData configurationData, long expectedRevision) {
+            return 1L;
+        }
+
+        @Override
+        public void delete(String application, String profile) {
+        }
+
+        @Override
+        public List<String> getAllApplications() {
+            return List.of();
+        }
+
+        @Override
+        public List<String> getProfilesForApplication(String application) {
+            return List.of();
+        }
+
+        @Override
+        public void clearCache() {
+            throw new IllegalStateException("Backend down");
+        }
+
+        @Override
+        public boolean exists(String application, String profile) {
+            return true;
+        }
+
+        public void helper() {
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.gogidix.centralconfiguration.configserver.load;
+
+import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationData;
+import com.gogidix.centralconfiguration.configserver.domain.port.ConfigurationPort;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Load harness for {@code /api/config/properties}: starts the server on a random port with an in-memory backend and
+ * drives it with an open-model mix of reads, writes and refreshes, writing HdrHistogram reports to
+ * {@code target/load-reports}. Skipped in normal builds; run it with
+ * {@code mvn test -Dtest=ConfigServerLoadTest -Dload.enabled=true -Dload.rate=5000 -Dload.duration=60s}.
+ */
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = {
+        "eureka.client.enabled=false",
+        "spring.cloud.config.server.git.clone-on-start=false",
+        "spring.cloud.config.server.health.enabled=false",
+        // One node without a broker; request logging would measure the console rather than the server
+        "spring.cloud.bus.enabled=false",
+        // The harness measures the server, not admission control: its refresh mix alone exceeds the refresh budget
+        "config-server.admission.enabled=false",
+        "logging.level.com.gogidix=WARN",
+        "logging.level.org.springframework=WARN",
+        "logging.level.org.springframework.web=WARN",
+        "logging.level.org.springframework.security=WARN",
+        "logging.level.org.springframework.cloud.config=WARN",
+        "logging.level.org.springframework.boot.actuate=WARN"
+    }
+)
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "load.enabled", matches = "true")
+public class ConfigServerLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ConfigServerLoadTest.class);
+
+    static final String USER = "load";
+    static final String PASSWORD = "load";
+    static final String[] PROFILES = {"default", "dev", "prod"};
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    public void testSustainedMixedLoad() throws Exception {
+        LoadProfile profile = LoadProfile.fromSystemProperties();
+        String authorization = "Basic " + Base64.getEncoder()
+            .encodeToString((USER + ":" + PASSWORD).getBytes(StandardCharsets.UTF_8));
+        OpenModelLoad load = new OpenModelLoad(profile, URI.create("http://localhost:" + port), authorization);
+
+        load.run();
+        log.warn("Load run finished:\n{}", load.writeReports());
+
+        assertTrue(load.getCount(OpenModelLoad.Operation.READ) > 0, "no read completed");
+    }
+
+    static String application(int index) {
+        return "service-" + index;
+    }
+
+    @TestConfiguration
+    static class InMemoryBackendConfig {
+
+        /**
+         * Every application stored with all profiles before the server starts, so warm-up and lookups see them.
+         */
+        @Bean
+        @Primary
+        public ConfigurationPort inMemoryConfigurationPort() {
+            LoadProfile profile = LoadProfile.fromSystemProperties();
+            InMemoryConfigurationPort configurationPort = new InMemoryConfigurationPort();
+            for (int i = 0; i < profile.getApplications(); i++) {
+                for (String profileName : PROFILES) {
+                    Map<String, Object> properties = new HashMap<>();
+                    for (int key = 0; key < profile.getPropertiesPerLayer(); key++) {
+                        properties.put("group" + (key % 8) + ".setting" + key, profileName + "-" + key);
+                    }
+                    configurationPort.save(new ConfigurationData(application(i), profileName, properties));
+                }
+            }
+            return configurationPort;
+        }
+
+        /**
+         * Plain-text credentials without password upgrades; the default user store re-hashes the password with
+         * bcrypt, and a bcrypt check on every request would dominate the measurement.
+         */
+        @Bean
+        public UserDetailsService loadUserDetailsService() {
+            UserDetails user = User.withUsername(USER).password("{noop}" + PASSWORD).roles("USER").build();
+            return username -> {
+                if (!USER.equals(username)) {
+
+                    throw new UsernameNotFoundException(username);
+                }
+                return User.withUserDetails(user).build();
+            };
+        }
+    }
+}
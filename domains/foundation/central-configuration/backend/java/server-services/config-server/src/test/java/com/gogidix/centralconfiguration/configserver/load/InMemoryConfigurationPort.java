@@ -0,0 +1,83 @@
+package com.gogidix.centralconfiguration.configserver.load;
+
+import com.gogidix.centralconfiguration.configserver.domain.exception.ConfigurationConflictException;
+import com.gogidix.centralconfiguration.configserver.domain.model.ConfigurationData;
+import com.gogidix.centralconfiguration.configserver.domain.port.ConfigurationPort;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Backend kept in a map, so load runs measure the server rather than a database.
+ * Revisions come from one counter and grow with every write, as the port contract requires.
+ */
+class InMemoryConfigurationPort implements ConfigurationPort {
+
+    private final ConcurrentMap<String, ConfigurationData> stored = new ConcurrentHashMap<>();
+    private final AtomicLong revisions = new AtomicLong();
+
+    @Override
+    public Optional<ConfigurationData> findByApplicationAndProfile(String application, String profile) {
+        return Optional.ofNullable(stored.get(keyOf(application, profile)));
+    }
+
+    @Override
+    public List<ConfigurationData> findByApplication(String application) {
+        return stored.values().stream()
+            .filter(data -> data.getApplication().equals(application))
+            .toList();
+    }
+
+    @Override
+    public void save(ConfigurationData configurationData) {
+        compareAndSave(configurationData, ConfigurationData.ANY_REVISION);
+    }
+
+    @Override
+    public long compareAndSave(ConfigurationData configurationData, long expectedRevision) {
+        String key = keyOf(configurationData.getApplication(), configurationData.getProfile());
+        ConfigurationData saved = stored.compute(key, (k, current) -> {
+            long currentRevision = current != null ? current.getRevision() : ConfigurationData.NO_REVISION;
+            if (expectedRevision != ConfigurationData.ANY_REVISION && expectedRevision != currentRevision) {
+
+                throw new ConfigurationConflictException(k, expectedRevision, currentRevision);
+            }
+            ConfigurationData copy = new ConfigurationData(configurationData.getApplication(),
+                configurationData.getProfile(), configurationData.getProperties());
+            copy.setRevision(revisions.incrementAndGet());
+            return copy;
+        });
+        return saved.getRevision();
+    }
+
+    @Override
+    public void delete(String application, String profile) {
+        stored.remove(keyOf(application, profile));
+    }
+
+    @Override
+    public List<String> getAllApplications() {
+        return stored.values().stream().map(ConfigurationData::getApplication).distinct().sorted().toList();
+    }
+
+    @Override
+    public List<String> getProfilesForApplication(String application) {
+        return findByApplication(application).stream().map(ConfigurationData::getProfile).sorted().toList();
+    }
+
+    @Override
+    public void clearCache() {
+    }
+
+    @Override
+    public boolean exists(String application, String profile) {
+        return stored.containsKey(keyOf(application, profile));
+    }
+
+    private static String keyOf(String application, String profile) {
+        return application + ":" + profile;
+    }
+}
@@ -0,0 +1,108 @@
+package com.gogidix.centralconfiguration.configserver.load;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Settings of a load run, read from {@code load.*} system properties so a run is configured from the command line.
+ * The defaults describe a short smoke run; real measurements raise rate and duration.
+ */
+final class LoadProfile {
+
+    private final double rate;
+    private final Duration warmup;
+    private final Duration duration;
+    private final int clients;
+    private final int applications;
+    private final int propertiesPerLayer;
+    private final double writeRatio;
+    private final double refreshRatio;
+    private final Path reportDirectory;
+
+    // Constructor
+    private LoadProfile(double rate, Duration warmup, Duration duration, int clients, int applications,
+                        int propertiesPerLayer, double writeRatio, double refreshRatio, Path reportDirectory) {
+        this.rate = rate;
+        this.warmup = warmup;
+        this.duration = duration;
+        this.clients = clients;
+        this.applications = applications;
+        this.propertiesPerLayer = propertiesPerLayer;
+        this.writeRatio = writeRatio;
+        this.refreshRatio = refreshRatio;
+        this.reportDirectory = reportDirectory;
+    }
+
+    static LoadProfile fromSystemProperties() {
+        return new LoadProfile(
+            Double.parseDouble(System.getProperty("load.rate", "2000")),
+            DurationStyle.detectAndParse(System.getProperty("load.warmup", "10s")),
+            DurationStyle.detectAndParse(System.getProperty("load.duration", "30s")),
+            Integer.getInteger("load.clients", 5000),
+            Integer.getInteger("load.applications", 500),
+            Integer.getInteger("load.properties", 50),
+            Double.parseDouble(System.getProperty("load.write-ratio", "0.01")),
+            Double.parseDouble(System.getProperty("load.refresh-ratio", "0.0005")),
+            Path.of(System.getProperty("load.report-dir", "target/load-reports"))
+        );
+    }
+
+    // Getters (immutable)
+    /**
+     * Requests started per second, whatever the response times; the open model keeps arrivals independent of the server.
+     */
+    double getRate() {
+        return rate;
+    }
+
+    Duration getWarmup() {
+        return warmup;
+    }
+
+    Duration getDuration() {
+        return duration;
+    }
+
+    /**
+     * Simulated clients; each polls one application and profile and remembers the ETag it last saw.
+     */
+    int getClients() {
+        return clients;
+    }
+
+    int getApplications() {
+        return applications;
+    }
+
+    int getPropertiesPerLayer() {
+        return propertiesPerLayer;
+    }
+
+    double getWriteRatio() {
+        return writeRatio;
+    }
+
+    double getRefreshRatio() {
+        return refreshRatio;
+    }
+
+    Path getReportDirectory() {
+        return reportDirectory;
+    }
+
+    @Override
+    public String toString() {
+        return "LoadProfile{" +
+                "rate=" + rate +
+                ", warmup=" + warmup +
+                ", duration=" + duration +
+                ", clients=" + clients +
+                ", applications=" + applications +
+                ", propertiesPerLayer=" + propertiesPerLayer +
+                ", writeRatio=" + writeRatio +
+                ", refreshRatio=" + refreshRatio +
+                '}';
+    }
+}
@@ -0,0 +1,192 @@
+package com.gogidix.centralconfiguration.configserver.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load generator: requests start on a fixed schedule whatever the server's response times, and each
+ * latency is measured from the request's scheduled start, so a stalled server shows up in the tail instead of
+ * slowing the load down (no coordinated omission). Reads, writes and refreshes are mixed by the profile's ratios.
+ */
+final class OpenModelLoad {
+
+    enum Operation { READ, WRITE, REFRESH }
+
+    private static final long HIGHEST_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final LoadProfile profile;
+    private final URI baseUri;
+    private final String authorization;
+    private final Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+    private final AtomicReferenceArray<String> lastEtags;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+
+    // Constructor
+    OpenModelLoad(LoadProfile profile, URI baseUri, String authorization) {
+        this.profile = profile;
+        this.baseUri = baseUri;
+        this.authorization = authorization;
+        this.lastEtags = new AtomicReferenceArray<>(profile.getClients());
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new OperationStats());
+        }
+    }
+
+    /**
+     * Run the warm-up and the measured phase, then wait for the requests still in flight.
+     */
+    void run() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors()));
+        HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(executor)
+            .build();
+        SplittableRandom random = new SplittableRandom(42);
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / profile.getRate());
+        long started = System.nanoTime();
+        long measureFrom = started + profile.getWarmup().toNanos();
+        long end = measureFrom + profile.getDuration().toNanos();
+        try {
+            for (long i = 0; ; i++) {
+                long scheduled = started + i * intervalNanos;
+                if (scheduled >= end) {
+
+                    break;
+                }
+                long wait = scheduled - System.nanoTime();
+                if (wait > 0) {
+
+                    LockSupport.parkNanos(wait);
+                }
+                int clientId = (int) (i % profile.getClients());
+                Operation operation = pick(random.nextDouble());
+                send(client, operation, clientId, random.nextInt(1_000_000), scheduled, scheduled >= measureFrom);
+            }
+            long deadline = System.nanoTime() + REQUEST_TIMEOUT.toNanos();
+            while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Write one HdrHistogram percentile file per operation and a summary; returns the summary text.
+     */
+    String writeReports() throws IOException {
+        Path directory = profile.getReportDirectory();
+        Files.createDirectories(directory);
+        double seconds = profile.getDuration().toNanos() / 1e9;
+        StringBuilder summary = new StringBuilder()
+            .append(profile).append('\n')
+            .append(String.format(Locale.ROOT, "peak in flight: %d%n", peakInFlight.get()))
+            .append(String.format(Locale.ROOT, "%-8s %10s %10s %8s %10s %10s %10s %10s%n",
+                "op", "count", "rps", "errors", "p50 ms", "p99 ms", "p999 ms", "max ms"));
+        for (Map.Entry<Operation, OperationStats> entry : stats.entrySet()) {
+            Histogram histogram = entry.getValue().latencies;
+            String name = entry.getKey().name().toLowerCase(Locale.ROOT);
+            try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(name + ".hgrm")))) {
+                // Recorded in microseconds, reported in milliseconds
+                histogram.outputPercentileDistribution(out, 1000.0);
+            }
+            summary.append(String.format(Locale.ROOT, "%-8s %10d %10.1f %8d %10.2f %10.2f %10.2f %10.2f%n",
+                name, histogram.getTotalCount(), histogram.getTotalCount() / seconds, entry.getValue().errors.sum(),
+                millis(histogram, 50.0), millis(histogram, 99.0), millis(histogram, 99.9), histogram.getMaxValue() / 1000.0));
+        }
+        Files.writeString(directory.resolve("summary.txt"), summary);
+        return summary.toString();
+    }
+
+    long getCount(Operation operation) {
+        return stats.get(operation).latencies.getTotalCount();
+    }
+
+    long getErrors(Operation operation) {
+        return stats.get(operation).errors.sum();
+    }
+
+    private Operation pick(double draw) {
+        if (draw < profile.getRefreshRatio()) {
+
+            return Operation.REFRESH;
+        }
+        return draw < profile.getRefreshRatio() + profile.getWriteRatio() ? Operation.WRITE : Operation.READ;
+    }
+
+    private void send(HttpClient client, Operation operation, int clientId, int value, long scheduled, boolean measured) {
+        String application = ConfigServerLoadTest.application(clientId % profile.getApplications());
+        String profileName = ConfigServerLoadTest.PROFILES[clientId % ConfigServerLoadTest.PROFILES.length];
+        HttpRequest.Builder request = HttpRequest.newBuilder()
+            .timeout(REQUEST_TIMEOUT)
+            .header("Authorization", authorization);
+        switch (operation) {
+            case READ -> {
+                request.uri(baseUri.resolve("/api/config/properties/" + application + "?profile=" + profileName)).GET();
+                String etag = lastEtags.get(clientId);
+                if (etag != null) {
+
+                    request.header("If-None-Match", etag);
+                }
+            }
+            case WRITE -> request.uri(baseUri.resolve("/api/config/properties/" + application + "/" + profileName))
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString("{\"application\":\"" + application + "\",\"profile\":\"" +
+                    profileName + "\",\"properties\":{\"load.value\":" + value + "}}"));
+            case REFRESH -> request.uri(baseUri.resolve("/api/config/refresh")).POST(HttpRequest.BodyPublishers.noBody());
+        }
+
+        peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        client.sendAsync(request.build(), HttpResponse.BodyHandlers.discarding())
+            .whenComplete((response, error) -> {
+                inFlight.decrementAndGet();
+                if (!measured) {
+
+                    return;
+                }
+                OperationStats operationStats = stats.get(operation);
+                long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - scheduled);
+                operationStats.latencies.recordValue(Math.min(micros, HIGHEST_LATENCY_MICROS));
+                if (error != null || response.statusCode() >= 400) {
+
+                    operationStats.errors.increment();
+                } else if (operation == Operation.READ) {
+                    response.headers().firstValue("ETag").ifPresent(etag -> lastEtags.set(clientId, etag));
+                }
+            });
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    private static final class OperationStats {
+
+        private final Histogram latencies = new ConcurrentHistogram(HIGHEST_LATENCY_MICROS, 3);
+        private final LongAdder errors = new LongAdder();
+    }
+}